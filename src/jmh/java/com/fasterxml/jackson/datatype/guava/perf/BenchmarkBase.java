@@ -0,0 +1,96 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+
+/**
+ * Base class for benchmarks that measure serialization of Guava types,
+ * using either JSON or Smile as the data format. Sub-classes define
+ * the value to serialize (and its declared type) based on
+ * {@link #size} and any other parameters they declare.
+ *<p>
+ * Allocation rates are best measured by running with "-prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class BenchmarkBase
+{
+    @Param({ "json", "smile" })
+    public String format;
+
+    /**
+     * Number of logical entries (elements, Multimap/Table entries, or
+     * scalar values) in the value being processed.
+     */
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    protected ObjectMapper mapper;
+
+    protected JavaType valueType;
+
+    protected Object value;
+
+    protected ObjectWriter writer;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        mapper = "smile".equals(format) ? new ObjectMapper(new SmileFactory()) : new ObjectMapper();
+        mapper.registerModule(new GuavaModule());
+        valueType = createType(mapper.getTypeFactory());
+        value = createValue();
+        writer = mapper.writerFor(valueType);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    protected abstract JavaType createType(TypeFactory tf);
+
+    protected abstract Object createValue();
+
+    /*
+    /**********************************************************
+    /* Helper methods for sub-classes
+    /**********************************************************
+     */
+
+    protected static String key(int index) {
+        return "key" + index;
+    }
+
+    protected static Class<?> guavaClass(String simpleName)
+    {
+        for (String pkg : new String[] { "com.google.common.collect.", "com.google.common.base.",
+                "com.google.common.hash.", "com.google.common.net." }) {
+            try {
+                return Class.forName(pkg + simpleName);
+            } catch (ClassNotFoundException e) { }
+        }
+        throw new IllegalArgumentException("Unknown Guava type '" + simpleName + "'");
+    }
+
+    /**
+     * Number of distinct keys to use for a container with {@link #size} entries,
+     * giving an average of 4 values per key.
+     */
+    protected int keyCount() {
+        return Math.max(1, size / 4);
+    }
+}
@@ -0,0 +1,66 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.collect.*;
+
+/**
+ * Benchmark for immutable collection and {@link Multiset} types, with
+ * {@code String} elements.
+ */
+@State(Scope.Benchmark)
+public class CollectionBenchmark extends RoundTripBenchmarkBase
+{
+    @Param({ "ImmutableList", "ImmutableSet", "ImmutableSortedSet",
+        "ImmutableMultiset", "ImmutableSortedMultiset",
+        "HashMultiset", "LinkedHashMultiset", "TreeMultiset" })
+    public String type;
+
+    @Override
+    protected JavaType createType(TypeFactory tf) {
+        return tf.constructCollectionType(_collectionClass(), String.class);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        List<String> elems = new ArrayList<String>(size);
+        for (int i = 0; i < size; ++i) {
+            elems.add(key(i));
+        }
+        if ("ImmutableList".equals(type)) {
+            return ImmutableList.copyOf(elems);
+        }
+        if ("ImmutableSet".equals(type)) {
+            return ImmutableSet.copyOf(elems);
+        }
+        if ("ImmutableSortedSet".equals(type)) {
+            return ImmutableSortedSet.copyOf(elems);
+        }
+        if ("ImmutableMultiset".equals(type)) {
+            return ImmutableMultiset.copyOf(elems);
+        }
+        if ("ImmutableSortedMultiset".equals(type)) {
+            return ImmutableSortedMultiset.copyOf(elems);
+        }
+        if ("HashMultiset".equals(type)) {
+            return HashMultiset.create(elems);
+        }
+        if ("LinkedHashMultiset".equals(type)) {
+            return LinkedHashMultiset.create(elems);
+        }
+        return TreeMultiset.create(elems);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends Collection<?>> _collectionClass() {
+        return (Class<? extends Collection<?>>) guavaClass(type);
+    }
+}
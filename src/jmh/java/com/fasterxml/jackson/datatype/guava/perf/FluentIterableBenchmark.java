@@ -0,0 +1,34 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.collect.FluentIterable;
+
+/**
+ * Benchmark for {@link FluentIterable} of {@code String}s; serialization only
+ * since there is no deserializer for the type.
+ */
+@State(Scope.Benchmark)
+public class FluentIterableBenchmark extends BenchmarkBase
+{
+    @Override
+    protected JavaType createType(TypeFactory tf) {
+        return tf.constructParametricType(FluentIterable.class, String.class);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        List<String> elems = new ArrayList<String>(size);
+        for (int i = 0; i < size; ++i) {
+            elems.add(key(i));
+        }
+        return FluentIterable.from(elems);
+    }
+}
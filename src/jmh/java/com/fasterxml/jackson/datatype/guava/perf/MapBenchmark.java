@@ -0,0 +1,45 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.collect.*;
+
+/**
+ * Benchmark for immutable {@link Map} types, with {@code String} keys and
+ * {@code Integer} values.
+ */
+@State(Scope.Benchmark)
+public class MapBenchmark extends RoundTripBenchmarkBase
+{
+    @Param({ "ImmutableMap", "ImmutableSortedMap", "ImmutableBiMap" })
+    public String type;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected JavaType createType(TypeFactory tf) {
+        return tf.constructMapType((Class<? extends Map<?,?>>) guavaClass(type),
+                String.class, Integer.class);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        Map<String,Integer> entries = new LinkedHashMap<String,Integer>(size);
+        for (int i = 0; i < size; ++i) {
+            entries.put(key(i), Integer.valueOf(i));
+        }
+        if ("ImmutableSortedMap".equals(type)) {
+            return ImmutableSortedMap.copyOf(entries);
+        }
+        if ("ImmutableBiMap".equals(type)) {
+            return ImmutableBiMap.copyOf(entries);
+        }
+        return ImmutableMap.copyOf(entries);
+    }
+}
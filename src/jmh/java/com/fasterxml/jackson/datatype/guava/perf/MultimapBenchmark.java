@@ -0,0 +1,59 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.collect.*;
+
+/**
+ * Benchmark for {@link Multimap} types, with {@code String} keys and
+ * {@code Integer} values.
+ */
+@State(Scope.Benchmark)
+public class MultimapBenchmark extends RoundTripBenchmarkBase
+{
+    @Param({ "ArrayListMultimap", "LinkedListMultimap", "HashMultimap", "LinkedHashMultimap",
+        "TreeMultimap", "ImmutableListMultimap", "ImmutableSetMultimap" })
+    public String type;
+
+    @Override
+    protected JavaType createType(TypeFactory tf) {
+        return tf.constructParametricType(guavaClass(type), String.class, Integer.class);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        Multimap<String,Integer> mmap = _createMultimap();
+        final int keys = keyCount();
+        for (int i = 0; i < size; ++i) {
+            mmap.put(key(i % keys), Integer.valueOf(i));
+        }
+        if ("ImmutableListMultimap".equals(type)) {
+            return ImmutableListMultimap.copyOf(mmap);
+        }
+        if ("ImmutableSetMultimap".equals(type)) {
+            return ImmutableSetMultimap.copyOf(mmap);
+        }
+        return mmap;
+    }
+
+    private Multimap<String,Integer> _createMultimap()
+    {
+        if ("ArrayListMultimap".equals(type) || "ImmutableListMultimap".equals(type)) {
+            return ArrayListMultimap.create();
+        }
+        if ("LinkedListMultimap".equals(type)) {
+            return LinkedListMultimap.create();
+        }
+        if ("HashMultimap".equals(type)) {
+            return HashMultimap.create();
+        }
+        if ("TreeMultimap".equals(type)) {
+            return TreeMultimap.create();
+        }
+        return LinkedHashMultimap.create();
+    }
+}
@@ -0,0 +1,34 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Base class for benchmarks of types that can be both serialized and
+ * deserialized: reads back the serialized form of the value created by
+ * sub-class.
+ */
+@State(Scope.Benchmark)
+public abstract class RoundTripBenchmarkBase extends BenchmarkBase
+{
+    protected ObjectReader reader;
+
+    protected byte[] encoded;
+
+    @Setup
+    @Override
+    public void setup() throws IOException
+    {
+        super.setup();
+        reader = mapper.readerFor(valueType);
+        encoded = writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
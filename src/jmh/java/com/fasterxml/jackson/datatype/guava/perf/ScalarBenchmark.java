@@ -0,0 +1,65 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Range;
+import com.google.common.hash.HashCode;
+import com.google.common.net.HostAndPort;
+import com.google.common.net.InternetDomainName;
+
+/**
+ * Benchmark for "scalar" Guava types: value is a {@link List} containing
+ * {@link #size} instances of the type.
+ */
+@State(Scope.Benchmark)
+public class ScalarBenchmark extends RoundTripBenchmarkBase
+{
+    @Param({ "Range", "Optional", "HashCode", "HostAndPort", "InternetDomainName" })
+    public String type;
+
+    @Override
+    protected JavaType createType(TypeFactory tf)
+    {
+        JavaType elemType;
+        if ("Range".equals(type) || "Optional".equals(type)) {
+            elemType = tf.constructParametricType(guavaClass(type), Integer.class);
+        } else {
+            elemType = tf.constructType(guavaClass(type));
+        }
+        return tf.constructCollectionType(List.class, elemType);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        List<Object> values = new ArrayList<Object>(size);
+        for (int i = 0; i < size; ++i) {
+            values.add(_createScalar(i));
+        }
+        return values;
+    }
+
+    private Object _createScalar(int i)
+    {
+        if ("Range".equals(type)) {
+            return Range.closedOpen(Integer.valueOf(i), Integer.valueOf(i + 10));
+        }
+        if ("Optional".equals(type)) {
+            return ((i & 1) == 0) ? Optional.of(Integer.valueOf(i)) : Optional.absent();
+        }
+        if ("HashCode".equals(type)) {
+            return HashCode.fromLong(0x1234567890abcdefL + i);
+        }
+        if ("HostAndPort".equals(type)) {
+            return HostAndPort.fromParts("host" + i + ".example.com", 1024 + (i & 0x7FFF));
+        }
+        return InternetDomainName.from("host" + i + ".example.com");
+    }
+}
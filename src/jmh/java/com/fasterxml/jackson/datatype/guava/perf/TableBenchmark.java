@@ -0,0 +1,51 @@
+package com.fasterxml.jackson.datatype.guava.perf;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import com.google.common.collect.*;
+
+/**
+ * Benchmark for {@link Table} types, with {@code String} row and column
+ * keys and {@code Integer} values. Tables are dense: {@link #size}
+ * cells are spread over rows of 10 columns each.
+ */
+@State(Scope.Benchmark)
+public class TableBenchmark extends RoundTripBenchmarkBase
+{
+    private final static int COLUMNS = 10;
+
+    @Param({ "HashBasedTable", "TreeBasedTable", "ImmutableTable", "ArrayTable" })
+    public String type;
+
+    @Override
+    protected JavaType createType(TypeFactory tf) {
+        return tf.constructParametricType(guavaClass(type),
+                String.class, String.class, Integer.class);
+    }
+
+    @Override
+    protected Object createValue()
+    {
+        final int rows = Math.max(1, size / COLUMNS);
+        Table<String,String,Integer> table = TreeBasedTable.create();
+        for (int r = 0; r < rows; ++r) {
+            for (int c = 0; c < COLUMNS; ++c) {
+                table.put(key(r), "col" + c, Integer.valueOf(r * COLUMNS + c));
+            }
+        }
+        if ("HashBasedTable".equals(type)) {
+            return HashBasedTable.create(table);
+        }
+        if ("ImmutableTable".equals(type)) {
+            return ImmutableTable.copyOf(table);
+        }
+        if ("ArrayTable".equals(type)) {
+            return ArrayTable.create(table);
+        }
+        return table;
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.fasterxml.jackson.datatype.guava;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
 import com.google.common.base.Optional;
 import com.google.common.collect.*;
 import com.google.common.hash.HashCode;
@@ -7,6 +11,8 @@ import com.google.common.net.HostAndPort;
 import com.google.common.net.InternetDomainName;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.databind.type.MapLikeType;
@@ -14,9 +20,24 @@ import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.databind.type.ReferenceType;
 import com.fasterxml.jackson.datatype.guava.deser.*;
 import com.fasterxml.jackson.datatype.guava.deser.multimap.list.ArrayListMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.list.ForwardingListMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.list.ImmutableListMultimapDeserializer;
 import com.fasterxml.jackson.datatype.guava.deser.multimap.list.LinkedListMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.set.ForwardingSetMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.set.ForwardingSortedSetMultimapDeserializer;
 import com.fasterxml.jackson.datatype.guava.deser.multimap.set.HashMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.set.ImmutableSetMultimapDeserializer;
 import com.fasterxml.jackson.datatype.guava.deser.multimap.set.LinkedHashMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.set.TreeMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.table.ArrayTableDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.table.HashBasedTableDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.table.ImmutableTableDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.table.TreeBasedTableDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.EnumKeys;
+import com.fasterxml.jackson.datatype.guava.deser.util.InterningKeyDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.KeyShapes;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 
 /**
  * Custom deserializers module offers.
@@ -26,14 +47,142 @@ public class GuavaDeserializers
 {
     protected BoundType _defaultBoundType;
 
+    /**
+     * Shape of {@link Table}s that do not specify one with
+     * <code>@JsonFormat</code>; null for default ({@link TableShape#ROWS}).
+     *
+     * @since 2.7.4
+     */
+    protected TableShape _defaultTableShape;
+
+    /**
+     * Expected sizes of containers, for properties that do not specify them
+     * with {@link JsonExpectedSize}.
+     *
+     * @since 2.7.4
+     */
+    protected SizeHints _defaultSizeHints;
+
+    /**
+     * Whether <code>List</code>s of <code>Integer</code>s, <code>Long</code>s and
+     * <code>Double</code>s are deserialized as Lists backed by primitive arrays.
+     *
+     * @since 2.7.4
+     */
+    protected boolean _cfgPrimitiveLists;
+
+    /**
+     * Comparators to use for ordering elements of sorted immutable collections,
+     * and keys of sorted immutable maps, by (exact) element or key type; types
+     * with no comparator use natural ordering. Null if none registered.
+     *
+     * @since 2.7.4
+     */
+    protected Map<Class<?>, Comparator<?>> _comparators;
+
+    /**
+     * Interner for canonicalizing deserialized immutable containers (and Strings
+     * they contain, if so configured); null if interning is not enabled.
+     *
+     * @since 2.7.4
+     */
+    protected ValueInterner _interner;
+
+    /**
+     * Registry of shared key sets for deserializing plain <code>Map</code>s as
+     * compact immutable maps, if enabled; null if not.
+     *
+     * @since 2.7.4
+     */
+    protected KeyShapes _keyShapes;
+
     public GuavaDeserializers() {
-        this(null);
+        this((BoundType) null);
     }
 
     public GuavaDeserializers(BoundType defaultBoundType) {
         _defaultBoundType = defaultBoundType;
     }
 
+    /**
+     * Copy-constructor used by "with" methods.
+     *
+     * @since 2.7.4
+     */
+    protected GuavaDeserializers(GuavaDeserializers src) {
+        _defaultBoundType = src._defaultBoundType;
+        _defaultTableShape = src._defaultTableShape;
+        _defaultSizeHints = src._defaultSizeHints;
+        _cfgPrimitiveLists = src._cfgPrimitiveLists;
+        _comparators = src._comparators;
+        _interner = src._interner;
+        _keyShapes = src._keyShapes;
+    }
+
+    /**
+     * Method for creating a copy of this instance, to be modified by "with" methods;
+     * sub-classes need to override it to retain their type.
+     *
+     * @since 2.7.4
+     */
+    protected GuavaDeserializers _copy() {
+        return new GuavaDeserializers(this);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withDefaultTableShape(TableShape shape) {
+        GuavaDeserializers d = _copy();
+        d._defaultTableShape = shape;
+        return d;
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withDefaultSizeHints(SizeHints hints) {
+        GuavaDeserializers d = _copy();
+        d._defaultSizeHints = hints;
+        return d;
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withPrimitiveLists(boolean state) {
+        GuavaDeserializers d = _copy();
+        d._cfgPrimitiveLists = state;
+        return d;
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withComparators(Map<Class<?>, Comparator<?>> comparators) {
+        GuavaDeserializers d = _copy();
+        d._comparators = comparators;
+        return d;
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withInterner(ValueInterner interner) {
+        GuavaDeserializers d = _copy();
+        d._interner = interner;
+        return d;
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaDeserializers withKeyShapes(KeyShapes keyShapes) {
+        GuavaDeserializers d = _copy();
+        d._keyShapes = keyShapes;
+        return d;
+    }
+
     /**
      * We have plenty of collection types to support...
      */
@@ -49,35 +198,40 @@ public class GuavaDeserializers
         if (ImmutableCollection.class.isAssignableFrom(raw)) {
             if (ImmutableList.class.isAssignableFrom(raw)) {
                 return new ImmutableListDeserializer(type,
-                        elementTypeDeserializer, elementDeserializer);
+                        elementTypeDeserializer, elementDeserializer, _interner);
             }
             if (ImmutableMultiset.class.isAssignableFrom(raw)) {
                 // sorted one?
                 if (ImmutableSortedMultiset.class.isAssignableFrom(raw)) {
                     /* See considerations for ImmutableSortedSet below. */
-                    requireCollectionOfComparableElements(type, "ImmutableSortedMultiset");
+                    Comparator<?> comparator = findComparator(type.getContentType());
+                    if (comparator == null) {
+                        requireCollectionOfComparableElements(type, "ImmutableSortedMultiset");
+                    }
                     return new ImmutableSortedMultisetDeserializer(type,
-                            elementTypeDeserializer, elementDeserializer);
+                            elementTypeDeserializer, elementDeserializer, comparator, _interner);
                 }
                 // nah, just regular one
-                return new ImmutableMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer);
+                return new ImmutableMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer,
+                        _interner);
             }
             if (ImmutableSet.class.isAssignableFrom(raw)) {
                 // sorted one?
                 if (ImmutableSortedSet.class.isAssignableFrom(raw)) {
-                    /* 28-Nov-2010, tatu: With some more work would be able to use other things
-                     *   than natural ordering; but that'll have to do for now...
-                     */
-                    requireCollectionOfComparableElements(type, "ImmutableSortedSet");
+                    // Natural ordering, unless a comparator is registered for element type
+                    Comparator<?> comparator = findComparator(type.getContentType());
+                    if (comparator == null) {
+                        requireCollectionOfComparableElements(type, "ImmutableSortedSet");
+                    }
                     return new ImmutableSortedSetDeserializer(type,
-                            elementTypeDeserializer, elementDeserializer);
+                            elementTypeDeserializer, elementDeserializer, comparator, _interner);
                 }
                 // nah, just regular one
                 return new ImmutableSetDeserializer(type,
-                        elementTypeDeserializer, elementDeserializer);
+                        elementTypeDeserializer, elementDeserializer, _interner);
             }
             // TODO: make configurable (for now just default blindly to a list)
-            return new ImmutableListDeserializer(type, elementTypeDeserializer, elementDeserializer);
+            return new ImmutableListDeserializer(type, elementTypeDeserializer, elementDeserializer, _interner);
         }
 
         // Multi-xxx collections?
@@ -93,19 +247,27 @@ public class GuavaDeserializers
 
             // Quite a few variations...
             if (LinkedHashMultiset.class.isAssignableFrom(raw)) {
-                return new LinkedHashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer);
+                return new LinkedHashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer,
+                        _defaultSizeHints);
             }
             if (HashMultiset.class.isAssignableFrom(raw)) {
-                return new HashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer);
+                return new HashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer,
+                        _defaultSizeHints);
             }
             if (EnumMultiset.class.isAssignableFrom(raw)) {
                 // !!! TODO
             }
 
             // TODO: make configurable (for now just default blindly)
-            return new HashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer);
+            return new HashMultisetDeserializer(type, elementTypeDeserializer, elementDeserializer,
+                        _defaultSizeHints);
         }
 
+        // Lists of numbers as primitive arrays, if enabled (and no custom handling of elements)
+        if (_cfgPrimitiveLists && raw == List.class
+                && elementTypeDeserializer == null && elementDeserializer == null) {
+            return PrimitiveListDeserializer.forElementType(type.getContentType().getRawClass());
+        }
         return null;
     }
 
@@ -117,6 +279,50 @@ public class GuavaDeserializers
         }
     }
 
+    private void requireEnumType(JavaType actualType, String targetType, String what) {
+        if (!actualType.isEnumType()) {
+            throw new IllegalArgumentException("Can not handle " + targetType
+                    + " with " + what + " that are not Enums (" + actualType.getRawClass().getName() + ")");
+        }
+    }
+
+    /**
+     * Helper method for constructing lookup for Enum-valued keys of given type,
+     * if keys are Enums handled by name (that is, without creator methods, and
+     * without <code>@JsonValue</code> method, which standard key deserializer uses).
+     *
+     * @since 2.7.4
+     */
+    protected EnumKeys findEnumKeys(JavaType keyType, DeserializationConfig config) {
+        if (!keyType.isEnumType()) {
+            return null;
+        }
+        final AnnotationIntrospector intr = config.getAnnotationIntrospector();
+        final BeanDescription beanDesc = config.introspectForCreation(keyType);
+        if (beanDesc.findJsonValueMethod() != null) {
+            return null;
+        }
+        for (AnnotatedMethod factory : beanDesc.getFactoryMethods()) {
+            if (intr.hasCreatorAnnotation(factory)) {
+                return null;
+            }
+        }
+        return EnumKeys.construct(keyType.getRawClass(), intr);
+    }
+
+    /**
+     * Helper method for finding registered comparator for given element (or key)
+     * type, if any.
+     *
+     * @since 2.7.4
+     */
+    protected Comparator<?> findComparator(JavaType type) {
+        if (_comparators == null || type == null) {
+            return null;
+        }
+        return _comparators.get(type.getRawClass());
+    }
+
     /**
      * A few Map types to support.
      */
@@ -133,28 +339,44 @@ public class GuavaDeserializers
         if (ImmutableMap.class.isAssignableFrom(raw)) {
             if (ImmutableSortedMap.class.isAssignableFrom(raw)) {
                 return new ImmutableSortedMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
-                        elementDeserializer);
+                        elementDeserializer, findComparator(type.getKeyType()), _interner);
             }
             if (ImmutableBiMap.class.isAssignableFrom(raw)) {
                 return new ImmutableBiMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
-                        elementDeserializer);
+                        elementDeserializer, _interner);
             }
             // Otherwise, plain old ImmutableMap...
-            return new ImmutableMapDeserializer(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+            return new ImmutableMapDeserializer(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
+                    _interner);
         }
 
         // XxxBiMap types?
         if (BiMap.class.isAssignableFrom(raw)) {
+            // Enum keys (with standard handling) may be resolved by ordinal
+            EnumKeys enumKeys = (keyDeserializer == null) ? findEnumKeys(type.getKeyType(), config) : null;
             if (EnumBiMap.class.isAssignableFrom(raw)) {
-                // !!! TODO
+                requireEnumType(type.getKeyType(), "EnumBiMap", "keys");
+                requireEnumType(type.getContentType(), "EnumBiMap", "values");
+                return new EnumBiMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
+                        elementDeserializer, enumKeys);
             }
             if (EnumHashBiMap.class.isAssignableFrom(raw)) {
-                // !!! TODO
+                requireEnumType(type.getKeyType(), "EnumHashBiMap", "keys");
+                return new EnumHashBiMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
+                        elementDeserializer, enumKeys);
             }
-            if (HashBiMap.class.isAssignableFrom(raw)) {
-                // !!! TODO
+            // HashBiMap is also the default for BiMap (but can not be used for other implementations)
+            if (raw.isAssignableFrom(HashBiMap.class)) {
+                return new HashBiMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
+                        elementDeserializer, enumKeys);
             }
-            // !!! TODO default
+        }
+
+        // Plain Maps as compact immutable maps with shared keys, if enabled (only for
+        // properties with @JsonCompactMap; others get default handling when contextualized)
+        if (_keyShapes != null && raw == Map.class) {
+            return new CompactMapDeserializer(type, keyDeserializer, elementTypeDeserializer,
+                    elementDeserializer, _keyShapes, _interner);
         }
 
 
@@ -170,26 +392,34 @@ public class GuavaDeserializers
     {
         Class<?> raw = type.getRawClass();
 
+        // Canonical String keys, if interning of Strings is enabled
+        if (_interner != null && _interner.internsStrings() && Multimap.class.isAssignableFrom(raw)
+                && (keyDeserializer != null || type.getKeyType().hasRawClass(String.class))) {
+            keyDeserializer = new InterningKeyDeserializer(type.getKeyType(), keyDeserializer, _interner);
+        }
+
         // ListMultimaps
         if (ListMultimap.class.isAssignableFrom(raw)) {
             if (ImmutableListMultimap.class.isAssignableFrom(raw)) {
-                // TODO
+                return new ImmutableListMultimapDeserializer(type, keyDeserializer,
+                        elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
             }
             if (ArrayListMultimap.class.isAssignableFrom(raw)) {
                 return new ArrayListMultimapDeserializer(type, keyDeserializer,
-                        elementTypeDeserializer, elementDeserializer);
+                        elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
             }
             if (LinkedListMultimap.class.isAssignableFrom(raw)) {
                 return new LinkedListMultimapDeserializer(type, keyDeserializer,
-                        elementTypeDeserializer, elementDeserializer);
+                        elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
             }
             if (ForwardingListMultimap.class.isAssignableFrom(raw)) {
-                // TODO
+                return new ForwardingListMultimapDeserializer(type, keyDeserializer,
+                        elementTypeDeserializer, elementDeserializer);
             }
 
             // TODO: Remove the default fall-through once all implementations are in place.
             return new ArrayListMultimapDeserializer(type, keyDeserializer,
-                    elementTypeDeserializer, elementDeserializer);
+                    elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
         }
 
         // SetMultimaps
@@ -198,43 +428,51 @@ public class GuavaDeserializers
             // SortedSetMultimap
             if (SortedSetMultimap.class.isAssignableFrom(raw)) {
                 if (TreeMultimap.class.isAssignableFrom(raw)) {
-                    // TODO
+                    return new TreeMultimapDeserializer(type, keyDeserializer,
+                            elementTypeDeserializer, elementDeserializer);
                 }
                 if (ForwardingSortedSetMultimap.class.isAssignableFrom(raw)) {
-                    // TODO
+                    return new ForwardingSortedSetMultimapDeserializer(type, keyDeserializer,
+                            elementTypeDeserializer, elementDeserializer);
                 }
+                // TreeMultimap is the only standard implementation, so:
+                return new TreeMultimapDeserializer(type, keyDeserializer,
+                        elementTypeDeserializer, elementDeserializer);
             }
 
             if (ImmutableSetMultimap.class.isAssignableFrom(raw)) {
-                // [Issue#67]: Preserve order of entries
-                return new LinkedHashMultimapDeserializer(type, keyDeserializer,
-                        elementTypeDeserializer, elementDeserializer);
+                // [Issue#67]: Preserve order of entries (builder does that)
+                return new ImmutableSetMultimapDeserializer(type, keyDeserializer,
+                        elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
             }
             if (HashMultimap.class.isAssignableFrom(raw)) {
                 return new HashMultimapDeserializer(type, keyDeserializer, elementTypeDeserializer,
-                        elementDeserializer);
+                        elementDeserializer, _defaultSizeHints);
             }
             if (LinkedHashMultimap.class.isAssignableFrom(raw)) {
                 return new LinkedHashMultimapDeserializer(type, keyDeserializer,
-                        elementTypeDeserializer, elementDeserializer);
+                        elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
             }
             if (ForwardingSetMultimap.class.isAssignableFrom(raw)) {
-                // TODO
+                return new ForwardingSetMultimapDeserializer(type, keyDeserializer,
+                        elementTypeDeserializer, elementDeserializer);
             }
 
             // TODO: Remove the default fall-through once all implementations are covered.
             return new HashMultimapDeserializer(type, keyDeserializer, elementTypeDeserializer,
-                    elementDeserializer);
+                    elementDeserializer, _defaultSizeHints);
+        }
+
+        // Plain ImmutableMultimap: ImmutableListMultimap is the default implementation
+        if (ImmutableMultimap.class.isAssignableFrom(raw)) {
+            return new ImmutableListMultimapDeserializer(type, keyDeserializer,
+                    elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
         }
 
         // Handle the case where nothing more specific was provided.
         if (Multimap.class.isAssignableFrom(raw)) {
             return new LinkedListMultimapDeserializer(type, keyDeserializer,
-                    elementTypeDeserializer, elementDeserializer);
-        }
-
-        if (Table.class.isAssignableFrom(raw)) {
-            // !!! TODO
+                    elementTypeDeserializer, elementDeserializer, _defaultSizeHints);
         }
 
         return null;
@@ -270,6 +508,51 @@ public class GuavaDeserializers
         if (type.hasRawClass(HashCode.class)) {
             return HashCodeDeserializer.std;
         }
+        // Tables are not Map-like (3 type parameters), so they come here
+        if (Table.class.isAssignableFrom(type.getRawClass())) {
+            // class annotations override module default; property annotations are
+            // checked during contextualization
+            TableShape shape = TableShape.from(beanDesc.findExpectedFormat(null));
+            return findTableDeserializer(type, (shape == null) ? _defaultTableShape : shape);
+        }
+        // Immutable primitive arrays (Guava 22+) are read as primitive arrays
+        ImmutablePrimitiveArrays arrays = ImmutablePrimitiveArrays.forType(type.getRawClass());
+        if (arrays != null) {
+            return new StdDelegatingDeserializer<Object>(arrays.fromArrayConverter());
+        }
         return null;
     }
+
+    protected JsonDeserializer<?> findTableDeserializer(JavaType type, TableShape shape)
+    {
+        final Class<?> raw = type.getRawClass();
+        final JavaType tableType = type.findSuperType(Table.class);
+        if (tableType == null) { // should never happen but
+            return null;
+        }
+        if (ImmutableTable.class.isAssignableFrom(raw)) {
+            return new ImmutableTableDeserializer(tableType, shape, null, null, null, null, null, null);
+        }
+        if (ArrayTable.class.isAssignableFrom(raw)) {
+            return new ArrayTableDeserializer(tableType, shape, null, null, null, null, null, null);
+        }
+        if (TreeBasedTable.class.isAssignableFrom(raw) || (raw == RowSortedTable.class)) {
+            requireComparableKeys(tableType, "TreeBasedTable");
+            return new TreeBasedTableDeserializer(tableType, shape, null, null, null, null, null, null);
+        }
+        if (HashBasedTable.class.isAssignableFrom(raw) || (raw == Table.class)) {
+            return new HashBasedTableDeserializer(tableType, shape, null, null, null, null, null, null);
+        }
+        return null;
+    }
+
+    private void requireComparableKeys(JavaType tableType, String targetType) {
+        for (int i = 0; i < 2; ++i) {
+            Class<?> keyType = tableType.containedTypeOrUnknown(i).getRawClass();
+            if (!Comparable.class.isAssignableFrom(keyType)) {
+                throw new IllegalArgumentException("Can not handle " + targetType
+                        + " with keys that are not Comparable<?> (" + keyType.getName() + ")");
+            }
+        }
+    }
 }
@@ -1,8 +1,17 @@
 package com.fasterxml.jackson.datatype.guava;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.Version;
 
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.datatype.guava.deser.util.KeyShapes;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeEstimators;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.fasterxml.jackson.datatype.guava.ser.GuavaBeanSerializerModifier;
 import com.google.common.collect.BoundType;
 
@@ -20,6 +29,51 @@ import static com.google.common.base.Preconditions.checkNotNull;
  *     Note that the defaults for other "Optional" types are different; Guava setting is chosen solely
  *     for backwards compatibility.
  *  </li>
+ * <li><code>defaultMultimapShape</code> (default: <code>OBJECT</code>):
+ *    Determines whether {@link com.google.common.collect.Multimap}s are serialized as JSON Objects
+ *    (keys as field names), or as JSON Arrays of <code>[key, [values]]</code> pairs;
+ *    may be overridden for individual properties with <code>@JsonFormat</code>.
+ *  </li>
+ * <li><code>defaultTableShape</code> (default: {@link TableShape#ROWS}):
+ *    Determines structure used for serializing and deserializing
+ *    {@link com.google.common.collect.Table}s; may be overridden for individual
+ *    properties with <code>@JsonFormat(pattern="...")</code>.
+ *  </li>
+ * <li><code>defaultExpectedSize</code> (default: Guava defaults):
+ *    Determines initial capacity of deserialized Multimaps and Multisets;
+ *    may be overridden for individual properties with {@link JsonExpectedSize}.
+ *  </li>
+ * <li><code>configureTrimToSize</code> (default: <code>false</code>):
+ *    Determines whether excess capacity of deserialized containers is trimmed
+ *    (where supported); may be overridden for individual properties with
+ *    {@link JsonExpectedSize}.
+ *  </li>
+ * <li><code>configureSizeLearning</code> (default: <code>false</code>):
+ *    Determines whether deserializers of Multimaps and Multisets learn sizes of
+ *    containers they produce, to use as expected sizes where none are specified;
+ *    learned sizes may be inspected with {@link #getSizeEstimators()}.
+ *  </li>
+ * <li><code>configurePrimitiveLists</code> (default: <code>false</code>):
+ *    Determines whether <code>List&lt;Integer&gt;</code>, <code>List&lt;Long&gt;</code>
+ *    and <code>List&lt;Double&gt;</code> values are deserialized as fixed-size Lists
+ *    backed by primitive arrays (see {@link com.google.common.primitives.Ints#asList}).
+ *  </li>
+ * <li><code>addComparator</code> (default: natural ordering):
+ *    Determines ordering of elements of deserialized
+ *    {@link com.google.common.collect.ImmutableSortedSet}s and
+ *    {@link com.google.common.collect.ImmutableSortedMultiset}s, and keys of
+ *    {@link com.google.common.collect.ImmutableSortedMap}s, of given type.
+ *  </li>
+ * <li><code>configureInterning</code> (default: <code>false</code>):
+ *    Determines whether equal deserialized immutable collections and maps (up to given
+ *    size) resolve to a single shared instance, and optionally also whether Strings
+ *    they contain (and keys of Multimaps) are canonicalized.
+ *  </li>
+ * <li><code>configureCompactMaps</code> (default: <code>false</code>):
+ *    Determines whether values of <code>Map</code>-valued properties annotated with
+ *    {@link JsonCompactMap} are deserialized as compact immutable maps that share keys
+ *    with other maps with same keys.
+ *  </li>
  *</ul>
  */
 public class GuavaModule extends Module // can't use just SimpleModule, due to generic types
@@ -41,7 +95,46 @@ public class GuavaModule extends Module // can't use just SimpleModule, due to g
      */
     protected boolean _cfgHandleAbsentAsNull = true;
     protected BoundType _defaultBoundType;
-    
+    protected JsonFormat.Shape _defaultMultimapShape;
+    protected TableShape _defaultTableShape;
+    protected int _defaultExpectedEntries = -1;
+    protected int _defaultExpectedValuesPerKey = -1;
+    protected boolean _cfgTrimToSize = false;
+
+    /**
+     * Estimators of learned sizes, if size learning is enabled; null if not.
+     *
+     * @since 2.7.4
+     */
+    protected SizeEstimators _sizeEstimators;
+
+    /**
+     * @since 2.7.4
+     */
+    protected boolean _cfgPrimitiveLists = false;
+
+    /**
+     * Comparators registered with {@link #addComparator}, if any; null if none.
+     *
+     * @since 2.7.4
+     */
+    protected Map<Class<?>, Comparator<?>> _comparators;
+
+    /**
+     * Interner for deserialized immutable containers, if interning is enabled;
+     * null if not.
+     *
+     * @since 2.7.4
+     */
+    protected ValueInterner _valueInterner;
+
+    /**
+     * Registry of shared key sets of compact maps, if enabled; null if not.
+     *
+     * @since 2.7.4
+     */
+    protected KeyShapes _keyShapes;
+
     public GuavaModule() {
         super();
     }
@@ -52,8 +145,17 @@ public class GuavaModule extends Module // can't use just SimpleModule, due to g
     @Override
     public void setupModule(SetupContext context)
     {
-        context.addDeserializers(new GuavaDeserializers(_defaultBoundType));
-        context.addSerializers(new GuavaSerializers());
+        SizeHints sizeHints = SizeHints.construct(_defaultExpectedEntries, _defaultExpectedValuesPerKey,
+                _cfgTrimToSize).withSizeLearning(_sizeEstimators);
+        context.addDeserializers(new GuavaDeserializers(_defaultBoundType)
+                .withDefaultTableShape(_defaultTableShape)
+                .withDefaultSizeHints(sizeHints)
+                .withPrimitiveLists(_cfgPrimitiveLists)
+                .withComparators((_comparators == null) ? null
+                        : new LinkedHashMap<Class<?>, Comparator<?>>(_comparators))
+                .withInterner(_valueInterner)
+                .withKeyShapes(_keyShapes));
+        context.addSerializers(new GuavaSerializers(_defaultMultimapShape, _defaultTableShape));
         context.addTypeModifier(new GuavaTypeModifier());
 
         // 28-Apr-2015, tatu: Allow disabling "treat Optional.absent() like Java nulls"
@@ -97,6 +199,236 @@ public class GuavaModule extends Module // can't use just SimpleModule, due to g
         _defaultBoundType = boundType;
         return this;
     }
+
+    /**
+     * Configuration method that may be used to change the default shape of serialized
+     * {@link com.google.common.collect.Multimap}s: either {@link JsonFormat.Shape#OBJECT}
+     * (the default), or {@link JsonFormat.Shape#ARRAY} for writing entries as
+     * <code>[key, [values]]</code> pairs, with keys as regular values instead of
+     * field names. Deserializers accept both shapes regardless of this setting.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule defaultMultimapShape(JsonFormat.Shape shape) {
+        checkNotNull(shape);
+        if (shape != JsonFormat.Shape.OBJECT && shape != JsonFormat.Shape.ARRAY) {
+            throw new IllegalArgumentException("Unsupported Multimap shape: "+shape);
+        }
+        _defaultMultimapShape = shape;
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to change the default shape that
+     * {@link com.google.common.collect.Table}s are serialized as, and expected
+     * to be deserialized from; see {@link TableShape} for details.
+     * Default is {@link TableShape#ROWS}.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule defaultTableShape(TableShape shape) {
+        checkNotNull(shape);
+        _defaultTableShape = shape;
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to change the expected size of
+     * deserialized containers, used as their initial capacity: number of keys
+     * and values per key for {@link com.google.common.collect.Multimap}s, and number
+     * of distinct elements (and "values per key" is ignored) for
+     * {@link com.google.common.collect.Multiset}s. Negative value means "not specified",
+     * that is, use Guava defaults.
+     * Sizes may be overridden for individual properties with {@link JsonExpectedSize}.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule defaultExpectedSize(int expectedEntries, int expectedValuesPerKey) {
+        _defaultExpectedEntries = expectedEntries;
+        _defaultExpectedValuesPerKey = expectedValuesPerKey;
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to enable trimming of excess capacity of
+     * deserialized containers (currently only {@link com.google.common.collect.ArrayListMultimap}),
+     * once all values have been read. This reduces memory usage of retained containers,
+     * at the cost of copying their contents; so it mostly makes sense along with
+     * {@link #defaultExpectedSize}, when sizes vary a lot.
+     * May be overridden for individual properties with {@link JsonExpectedSize}.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configureTrimToSize(boolean state) {
+        _cfgTrimToSize = state;
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to enable learning of expected sizes:
+     * if enabled, each deserializer of mutable {@link com.google.common.collect.Multimap}s
+     * and {@link com.google.common.collect.Multiset}s (and immutable Multimaps, with
+     * Guava versions that support pre-sized builders) keeps a running estimate of the
+     * sizes of containers it has produced, and uses it as initial capacity of the
+     * next one, unless sizes are specified with {@link #defaultExpectedSize} or
+     * {@link JsonExpectedSize}. Estimates are kept per property (and per type for
+     * root values), and are bounded so that occasional big containers do not lead
+     * to over-allocation; they can be inspected with {@link #getSizeEstimators()}.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configureSizeLearning(boolean state) {
+        if (!state) {
+            _sizeEstimators = null;
+        } else if (_sizeEstimators == null) {
+            _sizeEstimators = new SizeEstimators();
+        }
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to enable deserialization of
+     * <code>List&lt;Integer&gt;</code>, <code>List&lt;Long&gt;</code> and
+     * <code>List&lt;Double&gt;</code> values as Lists backed by primitive arrays,
+     * as constructed by {@link com.google.common.primitives.Ints#asList} (and
+     * its <code>Longs</code> and <code>Doubles</code> counterparts), to avoid boxing
+     * of elements. Such Lists are fixed-size, and can not contain nulls: as with
+     * primitive arrays, JSON nulls are deserialized as zeroes.
+     * Lists backed by primitive arrays are always serialized without boxing,
+     * regardless of this setting.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configurePrimitiveLists(boolean state) {
+        _cfgPrimitiveLists = state;
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to specify ordering of deserialized
+     * sorted immutable containers with elements (or keys) of given type:
+     * elements of {@link com.google.common.collect.ImmutableSortedSet}s and
+     * {@link com.google.common.collect.ImmutableSortedMultiset}s, and keys of
+     * {@link com.google.common.collect.ImmutableSortedMap}s. Type must match the
+     * declared element or key type exactly; for types without a registered
+     * comparator, natural ordering is used (and they must be {@link Comparable}).
+     *<p>
+     * Containers are serialized in their iteration order; values that are
+     * already ordered are not sorted again on deserialization.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public <T> GuavaModule addComparator(Class<T> type, Comparator<? super T> comparator) {
+        checkNotNull(type);
+        checkNotNull(comparator);
+        if (_comparators == null) {
+            _comparators = new LinkedHashMap<Class<?>, Comparator<?>>();
+        }
+        _comparators.put(type, comparator);
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to enable interning of deserialized
+     * immutable collections and maps (<code>ImmutableList</code>, <code>ImmutableSet</code>,
+     * <code>ImmutableMap</code> and so on) of up to {@link ValueInterner#DEFAULT_MAX_SIZE}
+     * elements or entries, but not of Strings they contain; see
+     * {@link #configureInterning(int, boolean)} for details.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configureInterning(boolean state) {
+        return configureInterning(state ? ValueInterner.DEFAULT_MAX_SIZE : 0, false);
+    }
+
+    /**
+     * Configuration method that may be used to enable interning ("hash-consing")
+     * of deserialized immutable collections and maps: if enabled, each one with at
+     * most <code>maxSize</code> elements (or entries) is replaced by a previously
+     * deserialized equal instance of the same declared type, if one is still in use,
+     * so that values repeated across documents are only retained once. Interned
+     * instances are weakly referenced, so the interner does not keep them alive.
+     * If <code>internStrings</code> is enabled, <code>String</code> elements, keys
+     * and values of these containers, as well as <code>String</code> keys of
+     * {@link com.google.common.collect.Multimap}s, are interned similarly.
+     *<p>
+     * Interning costs a hash lookup per container (and String) and should only be
+     * enabled for containers of immutable values: mutable values with value-based
+     * <code>equals()</code> would become shared between containers.
+     *
+     * @param maxSize Maximum number of elements (or entries) of containers to intern;
+     *    0 or less to disable interning
+     * @param internStrings Whether Strings are also interned
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configureInterning(int maxSize, boolean internStrings) {
+        _valueInterner = (maxSize <= 0) ? null : new ValueInterner(maxSize, internStrings);
+        return this;
+    }
+
+    /**
+     * Configuration method that may be used to enable deserialization of values
+     * of properties declared as <code>java.util.Map</code> (but not its sub-types),
+     * and annotated with {@link JsonCompactMap}, as
+     * {@link com.fasterxml.jackson.datatype.guava.deser.util.CompactImmutableMap}s:
+     * immutable maps that only store their values, and share keys (and the index
+     * for finding values by key) with all other maps that have same keys in same
+     * order. This greatly reduces memory usage of big numbers of record-like maps,
+     * compared to general-purpose maps. Maps with too many keys, or encountered
+     * after too many distinct key sets (see
+     * {@link com.fasterxml.jackson.datatype.guava.deser.util.KeyShapes}), are
+     * deserialized as {@link com.google.common.collect.ImmutableMap}s instead.
+     *<p>
+     * Note that unlike default <code>LinkedHashMap</code>s, resulting maps
+     * can not be modified, and (as with other immutable maps) entries with null
+     * values are skipped; and duplicate keys are reported as errors. Other Maps,
+     * including root values, Maps nested within untyped values (<code>Object</code>),
+     * and properties declared as <code>ImmutableMap</code> (since Guava does not
+     * allow custom implementations of it) are not affected.
+     *
+     * @return This module instance, useful for chaining calls
+     *
+     * @since 2.7.4
+     */
+    public GuavaModule configureCompactMaps(boolean state) {
+        if (!state) {
+            _keyShapes = null;
+        } else if (_keyShapes == null) {
+            _keyShapes = new KeyShapes();
+        }
+        return this;
+    }
+
+    /**
+     * Accessor for estimators of learned sizes, if size learning is enabled
+     * (see {@link #configureSizeLearning}).
+     *
+     * @return Estimators of learned sizes; null if size learning is not enabled
+     *
+     * @since 2.7.4
+     */
+    public SizeEstimators getSizeEstimators() {
+        return _sizeEstimators;
+    }
     
     @Override
     public int hashCode() {
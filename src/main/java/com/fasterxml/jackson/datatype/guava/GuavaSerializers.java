@@ -2,11 +2,13 @@ package com.fasterxml.jackson.datatype.guava;
 
 import java.util.HashSet;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.Serializers;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
 import com.fasterxml.jackson.databind.type.MapLikeType;
 import com.fasterxml.jackson.databind.type.ReferenceType;
 import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
@@ -24,6 +26,7 @@ import com.google.common.net.HostAndPort;
 import com.google.common.net.InternetDomainName;
 import com.fasterxml.jackson.datatype.guava.ser.GuavaOptionalSerializer;
 import com.fasterxml.jackson.datatype.guava.ser.MultimapSerializer;
+import com.fasterxml.jackson.datatype.guava.ser.PrimitiveListSerializer;
 import com.fasterxml.jackson.datatype.guava.ser.RangeSerializer;
 import com.fasterxml.jackson.datatype.guava.ser.TableSerializer;
 
@@ -38,6 +41,36 @@ public class GuavaSerializers extends Serializers.Base
         }
     }
 
+    /**
+     * Shape to use for {@link Multimap}s that do not specify one with
+     * <code>@JsonFormat</code>; null to use the default (Object) shape.
+     */
+    protected JsonFormat.Shape _defaultMultimapShape;
+
+    /**
+     * Shape to use for {@link Table}s that do not specify one with
+     * <code>@JsonFormat</code>; null for default ({@link TableShape#ROWS}).
+     *
+     * @since 2.7.4
+     */
+    protected TableShape _defaultTableShape;
+
+    public GuavaSerializers() {
+        this(null);
+    }
+
+    public GuavaSerializers(JsonFormat.Shape defaultMultimapShape) {
+        this(defaultMultimapShape, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaSerializers(JsonFormat.Shape defaultMultimapShape, TableShape defaultTableShape) {
+        _defaultMultimapShape = defaultMultimapShape;
+        _defaultTableShape = defaultTableShape;
+    }
+
     @Override
     public JsonSerializer<?> findReferenceSerializer(SerializationConfig config, 
             ReferenceType refType, BeanDescription beanDesc,
@@ -58,7 +91,9 @@ public class GuavaSerializers extends Serializers.Base
             return new RangeSerializer(_findDeclared(type, Range.class));
         }
         if (Table.class.isAssignableFrom(raw)) {
-            return new TableSerializer(_findDeclared(type, Table.class));
+            TableShape shape = TableShape.from(beanDesc.findExpectedFormat(null));
+            return new TableSerializer(_findDeclared(type, Table.class),
+                    (shape == null) ? _defaultTableShape : shape);
         }
 
         // since 2.4
@@ -79,9 +114,28 @@ public class GuavaSerializers extends Serializers.Base
             JavaType iterableType = _findDeclared(type, Iterable.class);
             return new StdDelegatingSerializer(FluentConverter.instance, iterableType, null);
         }
+        // Immutable primitive arrays (Guava 22+) are written as primitive arrays
+        ImmutablePrimitiveArrays arrays = ImmutablePrimitiveArrays.forType(raw);
+        if (arrays != null) {
+            return new StdDelegatingSerializer(arrays.toArrayConverter(),
+                    config.getTypeFactory().constructType(arrays.getArrayType()), null);
+        }
         return super.findSerializer(config, type, beanDesc);
     }
 
+    @Override
+    public JsonSerializer<?> findCollectionSerializer(SerializationConfig config,
+            CollectionType type, BeanDescription beanDesc,
+            TypeSerializer elementTypeSerializer, JsonSerializer<Object> elementValueSerializer)
+    {
+        // Lists backed by primitive arrays can be written without boxing; unless
+        // custom handling is needed for elements
+        if (elementTypeSerializer == null && elementValueSerializer == null) {
+            return PrimitiveListSerializer.find(type.getRawClass());
+        }
+        return null;
+    }
+
     @Override
     public JsonSerializer<?> findMapLikeSerializer(SerializationConfig config,
             MapLikeType type, BeanDescription beanDesc, JsonSerializer<Object> keySerializer,
@@ -93,9 +147,14 @@ public class GuavaSerializers extends Serializers.Base
             String[] ignored = intr.findPropertiesToIgnore(beanDesc.getClassInfo(), true);
             HashSet<String> ignoredEntries = (ignored == null || ignored.length == 0)
                     ? null : ArrayBuilders.arrayToSet(ignored);
-
+            // class annotations override module default; property annotations are
+            // checked during contextualization
+            JsonFormat.Value format = beanDesc.findExpectedFormat(null);
+            JsonFormat.Shape shape = (format == null || !format.hasShape())
+                    ? _defaultMultimapShape : format.getShape();
             return new MultimapSerializer(type, beanDesc,
-                    keySerializer, elementTypeSerializer, elementValueSerializer, ignoredEntries, filterId);
+                    keySerializer, elementTypeSerializer, elementValueSerializer, ignoredEntries, filterId,
+                    shape == JsonFormat.Shape.ARRAY);
         }
         return null;
     }
@@ -0,0 +1,166 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.Converter;
+
+/**
+ * Helper class for handling immutable primitive arrays added in Guava 22
+ * (<code>ImmutableIntArray</code>, <code>ImmutableLongArray</code> and
+ * <code>ImmutableDoubleArray</code>): since the module is built against an older
+ * Guava version, types and their methods are looked up reflectively, once.
+ * Values are converted to and from matching primitive arrays, which are then
+ * handled by standard primitive array (de)serializers, without boxing.
+ *
+ * @since 2.7.4
+ */
+final class ImmutablePrimitiveArrays
+{
+    private final static String PACKAGE_NAME = "com.google.common.primitives.";
+
+    final static ImmutablePrimitiveArrays INT = _find("ImmutableIntArray", int[].class);
+    final static ImmutablePrimitiveArrays LONG = _find("ImmutableLongArray", long[].class);
+    final static ImmutablePrimitiveArrays DOUBLE = _find("ImmutableDoubleArray", double[].class);
+
+    private final Class<?> _type;
+
+    private final Class<?> _arrayType;
+
+    /**
+     * Static factory method for constructing instances from primitive arrays
+     * (<code>copyOf(int[])</code> etc).
+     */
+    private final Method _fromArray;
+
+    /**
+     * Method for accessing contents as primitive arrays (<code>toArray()</code>).
+     */
+    private final Method _toArray;
+
+    private ImmutablePrimitiveArrays(Class<?> type, Class<?> arrayType,
+            Method fromArray, Method toArray) {
+        _type = type;
+        _arrayType = arrayType;
+        _fromArray = fromArray;
+        _toArray = toArray;
+    }
+
+    // returns null if the type is not available (or does not have expected methods)
+    private static ImmutablePrimitiveArrays _find(String simpleName, Class<?> arrayType)
+    {
+        try {
+            Class<?> type = Class.forName(PACKAGE_NAME + simpleName, false,
+                    ImmutablePrimitiveArrays.class.getClassLoader());
+            return forClass(type, arrayType);
+        } catch (ClassNotFoundException e) {
+        } catch (LinkageError e) {
+        }
+        return null;
+    }
+
+    /**
+     * Factory method for constructing handler for given immutable array type, which
+     * must have a static <code>copyOf</code> method that takes a primitive array of given
+     * type, and a <code>toArray()</code> method that returns one; returns null if not.
+     */
+    static ImmutablePrimitiveArrays forClass(Class<?> type, Class<?> arrayType)
+    {
+        try {
+            Method fromArray = type.getMethod("copyOf", arrayType);
+            Method toArray = type.getMethod("toArray");
+            if (fromArray.getReturnType() != type || toArray.getReturnType() != arrayType
+                    || !Modifier.isStatic(fromArray.getModifiers())) {
+                return null;
+            }
+            return new ImmutablePrimitiveArrays(type, arrayType, fromArray, toArray);
+        } catch (NoSuchMethodException e) {
+        } catch (SecurityException e) {
+        }
+        return null;
+    }
+
+    /**
+     * Method for finding handler for given type, if it is one of supported
+     * immutable primitive array types; returns null if not.
+     */
+    public static ImmutablePrimitiveArrays forType(Class<?> raw)
+    {
+        if (INT != null && raw == INT._type) {
+            return INT;
+        }
+        if (LONG != null && raw == LONG._type) {
+            return LONG;
+        }
+        if (DOUBLE != null && raw == DOUBLE._type) {
+            return DOUBLE;
+        }
+        return null;
+    }
+
+    public Class<?> getType() { return _type; }
+
+    public Class<?> getArrayType() { return _arrayType; }
+
+    /**
+     * Converter for serialization: from immutable array into primitive array.
+     */
+    public Converter<Object, Object> toArrayConverter() {
+        return new ArrayConverter(this, false);
+    }
+
+    /**
+     * Converter for deserialization: from primitive array into immutable array.
+     */
+    public Converter<Object, Object> fromArrayConverter() {
+        return new ArrayConverter(this, true);
+    }
+
+    Object _invoke(Method method, Object target, Object arg)
+    {
+        try {
+            return (arg == null) ? method.invoke(target) : method.invoke(target, arg);
+        } catch (InvocationTargetException e) {
+            Throwable t = e.getCause();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            throw new IllegalArgumentException("Failed to convert "+_type.getName()+": "+t.getMessage(), t);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Failed to convert "+_type.getName()+": "+e.getMessage(), e);
+        }
+    }
+
+    static class ArrayConverter implements Converter<Object, Object>
+    {
+        private final ImmutablePrimitiveArrays _arrays;
+
+        private final boolean _fromArray;
+
+        ArrayConverter(ImmutablePrimitiveArrays arrays, boolean fromArray) {
+            _arrays = arrays;
+            _fromArray = fromArray;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            if (_fromArray) {
+                return _arrays._invoke(_arrays._fromArray, null, value);
+            }
+            return _arrays._invoke(_arrays._toArray, value, null);
+        }
+
+        @Override
+        public JavaType getInputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(_fromArray ? _arrays._arrayType : _arrays._type);
+        }
+
+        @Override
+        public JavaType getOutputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(_fromArray ? _arrays._type : _arrays._arrayType);
+        }
+    }
+}
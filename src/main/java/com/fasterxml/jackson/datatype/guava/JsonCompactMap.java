@@ -0,0 +1,31 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+
+/**
+ * Annotation that can be used on properties declared as <code>java.util.Map</code>
+ * to indicate that values are to be deserialized as compact immutable maps that
+ * share keys with other maps with same keys; see
+ * {@link GuavaModule#configureCompactMaps} (which must be enabled for annotation
+ * to have effect). For example:
+ *<pre>
+ *  &#64;JsonCompactMap
+ *  public List&lt;Map&lt;String, Object&gt;&gt; rows;
+ *</pre>
+ * Annotation applies to the Map value of the property, as well as Maps contained
+ * in typed Collections, arrays and Maps that are values of the property
+ * (but not Maps within untyped values, declared as <code>Object</code>).
+ *
+ * @since 2.7.4
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonCompactMap
+{
+}
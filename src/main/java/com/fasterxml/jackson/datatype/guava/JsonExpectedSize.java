@@ -0,0 +1,55 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.annotation.OptBoolean;
+
+/**
+ * Annotation that can be used on properties of Guava container types to indicate
+ * expected size of deserialized values, so that containers can be created with
+ * sufficient initial capacity, instead of having to grow (and rehash) as values
+ * are added. Overrides defaults set with {@link GuavaModule#defaultExpectedSize}.
+ * For example:
+ *<pre>
+ *  &#64;JsonExpectedSize(value=1000, valuesPerKey=10, trimToSize=OptBoolean.TRUE)
+ *  public ArrayListMultimap&lt;String, Long&gt; idsByName;
+ *</pre>
+ * Currently used for {@link com.google.common.collect.ArrayListMultimap},
+ * {@link com.google.common.collect.HashMultimap},
+ * {@link com.google.common.collect.LinkedHashMultimap},
+ * {@link com.google.common.collect.LinkedListMultimap},
+ * {@link com.google.common.collect.HashMultiset} and
+ * {@link com.google.common.collect.LinkedHashMultiset}; as well as immutable
+ * Multimaps if the Guava version in use supports pre-sized builders for them.
+ * Other immutable containers are always created with exact size.
+ *
+ * @since 2.7.4
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotation
+public @interface JsonExpectedSize
+{
+    /**
+     * Expected number of entries: distinct keys for Multimaps, distinct
+     * elements for Multisets. Negative value means "not specified".
+     */
+    int value() default -1;
+
+    /**
+     * Expected number of values per key of Multimaps. Negative value
+     * means "not specified".
+     */
+    int valuesPerKey() default -1;
+
+    /**
+     * Whether excess capacity should be trimmed after all values have been read,
+     * for containers that support it (currently only
+     * {@link com.google.common.collect.ArrayListMultimap}).
+     */
+    OptBoolean trimToSize() default OptBoolean.DEFAULT;
+}
@@ -0,0 +1,119 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Enumeration of alternative JSON structures that {@link com.google.common.collect.Table}s
+ * may be serialized as, and deserialized from. Default shape for all Tables may be
+ * changed with {@link GuavaModule#defaultTableShape}, and for individual classes
+ * and properties using <code>@JsonFormat(pattern="...")</code> with name of the
+ * shape (case-insensitive).
+ *
+ * @since 2.7.4
+ */
+public enum TableShape
+{
+    /**
+     * Default shape: JSON Object with row keys as field names, and rows as
+     * values, each of which is a JSON Object with column keys as field names
+     * and cell values as values:
+     *<pre>
+     *  { "row1" : { "col1" : 1, "col2" : 2 }, "row2" : { "col1" : 3 } }
+     *</pre>
+     */
+    ROWS,
+
+    /**
+     * "Column-major" shape, same as {@link #ROWS} but with column keys as outer
+     * field names, and row keys as field names of inner JSON Objects,
+     * as if {@link com.google.common.collect.Table#columnMap()} was serialized:
+     *<pre>
+     *  { "col1" : { "row1" : 1, "row2" : 3 }, "col2" : { "row1" : 2 } }
+     *</pre>
+     * Useful for processing contents one column at a time.
+     */
+    COLUMNS,
+
+    /**
+     * Dense "matrix" shape, in which row and column keys are listed just once,
+     * as regular (non-String) JSON values, followed by a JSON Array of rows,
+     * each of which is a JSON Array of cell values in order of column keys;
+     * missing cells are written as nulls:
+     *<pre>
+     *  { "rowKeys" : [ "row1", "row2" ],
+     *    "columnKeys" : [ "col1", "col2" ],
+     *    "values" : [ [ 1, 2 ], [ 3, null ] ] }
+     *</pre>
+     * Useful for Tables where most cells are set (like
+     * {@link com.google.common.collect.ArrayTable}), as column keys are not
+     * repeated for every row.
+     */
+    MATRIX,
+
+    /**
+     * Sparse "cell list" shape, in which each cell is written as a JSON Array of
+     * row key, column key and value, with keys as regular (non-String) JSON values:
+     *<pre>
+     *  [ [ "row1", "col1", 1 ], [ "row1", "col2", 2 ], [ "row2", "col1", 3 ] ]
+     *</pre>
+     * Useful for Tables where only a small fraction of cells are set, and for keys
+     * that are not Strings (like numbers), as they need not be converted to and
+     * from field names. May also be selected using
+     * <code>@JsonFormat(shape=JsonFormat.Shape.ARRAY)</code>.
+     */
+    CELLS
+    ;
+
+    /**
+     * Name of the property that contains row keys, for {@link #MATRIX} shape.
+     */
+    public final static String PROP_ROW_KEYS = "rowKeys";
+
+    /**
+     * Name of the property that contains column keys, for {@link #MATRIX} shape.
+     */
+    public final static String PROP_COLUMN_KEYS = "columnKeys";
+
+    /**
+     * Name of the property that contains cell values, for {@link #MATRIX} shape.
+     */
+    public final static String PROP_VALUES = "values";
+
+    /**
+     * Helper method for finding the shape indicated by given format definition
+     * (usually from <code>@JsonFormat</code> annotation), if any:
+     * pattern is used as the name of the shape; and without pattern,
+     * {@link JsonFormat.Shape#OBJECT} means {@link #ROWS} and
+     * {@link JsonFormat.Shape#ARRAY} {@link #CELLS}.
+     *
+     * @return Shape indicated, or null if none
+     *
+     * @throws IllegalArgumentException If pattern does not name a shape
+     */
+    public static TableShape from(JsonFormat.Value format)
+    {
+        if (format == null) {
+            return null;
+        }
+        final String pattern = format.getPattern();
+        if (pattern != null && pattern.length() > 0) {
+            for (TableShape shape : values()) {
+                if (shape.name().equalsIgnoreCase(pattern)) {
+                    return shape;
+                }
+            }
+            throw new IllegalArgumentException("Unrecognized Table shape '"+pattern
+                    +"': expected one of "+Arrays.asList(values()).toString().toLowerCase(Locale.ENGLISH));
+        }
+        if (format.getShape() == JsonFormat.Shape.OBJECT) {
+            return ROWS;
+        }
+        if (format.getShape() == JsonFormat.Shape.ARRAY) {
+            return CELLS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.std.MapDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.JsonCompactMap;
+import com.fasterxml.jackson.datatype.guava.deser.util.CompactImmutableMap;
+import com.fasterxml.jackson.datatype.guava.deser.util.ImmutableBuilderFactory;
+import com.fasterxml.jackson.datatype.guava.deser.util.KeyShape;
+import com.fasterxml.jackson.datatype.guava.deser.util.KeyShapes;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Deserializer for <code>Map</code>s that produces {@link CompactImmutableMap}s,
+ * which share keys with other maps that have same keys (in same order), for
+ * record-like maps; and {@link ImmutableMap}s for maps that do not fit
+ * (see {@link KeyShapes} for limits). Since <code>ImmutableMap</code> can not be
+ * sub-classed, this is only used for properties declared as <code>Map</code>;
+ * and only for ones annotated with {@link JsonCompactMap}: for others (as well as
+ * root values, and Maps within untyped values), contextualization returns a
+ * standard {@link MapDeserializer} for <code>LinkedHashMap</code>s instead.
+ *<p>
+ * As with other immutable maps, entries with null values are skipped.
+ *
+ * @since 2.7.4
+ */
+public class CompactMapDeserializer
+    extends GuavaImmutableMapDeserializer<Map<Object, Object>>
+{
+    protected final KeyShapes _shapes;
+
+    /**
+     * Shape of the latest map deserialized, checked first since consecutive
+     * records usually have same keys.
+     */
+    protected volatile KeyShape _lastShape;
+
+    public CompactMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            KeyShapes shapes, ValueInterner interner)
+    {
+        super(type, keyDeser, typeDeser, deser, interner);
+        _shapes = shapes;
+    }
+
+    @Override
+    public CompactMapDeserializer withResolved(KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
+        return new CompactMapDeserializer(_mapType, keyDeser,
+                typeDeser, valueDeser, _shapes, _interner);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        if ((property == null) || (property.getAnnotation(JsonCompactMap.class) == null)) {
+            return _createDefaultDeserializer(ctxt, property);
+        }
+        return super.createContextual(ctxt, property);
+    }
+
+    /**
+     * Helper method for constructing deserializer databind would use for
+     * <code>Map</code>s by default, for values not to be deserialized as compact maps.
+     */
+    @SuppressWarnings("unchecked")
+    protected JsonDeserializer<?> _createDefaultDeserializer(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        final DeserializationConfig config = ctxt.getConfig();
+        MapType type = (MapType) config.constructSpecializedType(_mapType, LinkedHashMap.class);
+        BeanDescription beanDesc = config.introspectForCreation(type);
+        MapDeserializer deser = new MapDeserializer(type,
+                ctxt.getFactory().findValueInstantiator(ctxt, beanDesc),
+                _keyDeserializer, (JsonDeserializer<Object>) _valueDeserializer, _typeDeserializerForValue);
+        deser.resolve(ctxt);
+        return deser.createContextual(ctxt, property);
+    }
+
+    @Override
+    protected ImmutableMap.Builder<Object, Object> createBuilder() {
+        return ImmutableMap.builder();
+    }
+
+    @Override
+    protected Map<Object, Object> _createFromEntries(Object[] kv, int count) {
+        if (count == 0) {
+            return ImmutableMap.of();
+        }
+        KeyShape shape = _lastShape;
+        if (shape == null || !shape.matches(kv, count)) {
+            shape = _shapes.find(kv, count);
+            if (shape == null) { // no shape (too many keys or shapes, or duplicate keys)
+                ImmutableMap.Builder<Object, Object> builder = ImmutableBuilderFactory.mapBuilder(count);
+                _putEntries(builder, kv, count);
+                return builder.build();
+            }
+            _lastShape = shape;
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; ++i) {
+            values[i] = kv[i+i+1];
+        }
+        return new CompactImmutableMap<Object, Object>(shape, values);
+    }
+}
@@ -0,0 +1,44 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.EnumKeys;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.EnumBiMap;
+
+/**
+ * Deserializer for {@link EnumBiMap}s: keys are resolved by ordinal (see
+ * {@link EnumKeys}), and both keys and values are stored in arrays indexed by ordinal.
+ *
+ * @since 2.7.4
+ */
+public class EnumBiMapDeserializer
+    extends GuavaBiMapDeserializer<BiMap<Object, Object>>
+{
+    public EnumBiMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, EnumKeys enumKeys)
+    {
+        super(type, keyDeser, typeDeser, deser, enumKeys);
+    }
+
+    @Override
+    public EnumBiMapDeserializer withResolved(KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
+        return new EnumBiMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser, _enumKeys);
+    }
+
+    // values are Enums, so nulls are not allowed
+    @Override
+    protected boolean _acceptsNullValues() {
+        return false;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    protected BiMap<Object, Object> createBiMap() {
+        return (BiMap) EnumBiMap.create((Class) _mapType.getKeyType().getRawClass(),
+                (Class) _mapType.getContentType().getRawClass());
+    }
+}
@@ -0,0 +1,37 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.EnumKeys;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.EnumHashBiMap;
+
+/**
+ * Deserializer for {@link EnumHashBiMap}s: keys are resolved by ordinal (see
+ * {@link EnumKeys}), and stored in an array indexed by ordinal.
+ *
+ * @since 2.7.4
+ */
+public class EnumHashBiMapDeserializer
+    extends GuavaBiMapDeserializer<BiMap<Object, Object>>
+{
+    public EnumHashBiMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, EnumKeys enumKeys)
+    {
+        super(type, keyDeser, typeDeser, deser, enumKeys);
+    }
+
+    @Override
+    public EnumHashBiMapDeserializer withResolved(KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
+        return new EnumHashBiMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser, _enumKeys);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    protected BiMap<Object, Object> createBiMap() {
+        return (BiMap) EnumHashBiMap.create((Class) _mapType.getKeyType().getRawClass());
+    }
+}
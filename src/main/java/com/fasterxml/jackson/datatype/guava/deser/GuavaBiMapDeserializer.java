@@ -0,0 +1,115 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.datatype.guava.deser.util.EnumKeys;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.google.common.collect.BiMap;
+
+/**
+ * Base class for deserializers of mutable {@link BiMap}s, which read entries
+ * directly into the result. Since values must be unique, a duplicate value
+ * fails deserialization as soon as it is read.
+ *<p>
+ * Unlike with immutable maps, JSON nulls are stored as null values, if the
+ * BiMap type allows them (see {@link #_acceptsNullValues()}); since values are
+ * unique, at most one key can have a null value.
+ *
+ * @since 2.7.4
+ */
+abstract class GuavaBiMapDeserializer<T extends BiMap<Object, Object>>
+    extends GuavaMapDeserializer<T>
+{
+    /**
+     * Lookup for resolving <code>Enum</code> keys by ordinal, if keys are Enums
+     * handled by the standard key deserializer; null if not.
+     */
+    protected final EnumKeys _enumKeys;
+
+    GuavaBiMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, EnumKeys enumKeys)
+    {
+        super(type, keyDeser, typeDeser, deser);
+        // custom key deserializers must be used as is
+        _enumKeys = (keyDeser == null || ClassUtil.isJacksonStdImpl(keyDeser)) ? enumKeys : null;
+    }
+
+    protected abstract T createBiMap();
+
+    /**
+     * Variant of {@link #createBiMap()} called when the number of entries is known
+     * (from data formats that include it): default implementation ignores it,
+     * so types that can be pre-sized must override this method.
+     */
+    protected T createBiMap(int expectedSize) {
+        return createBiMap();
+    }
+
+    /**
+     * Method that specifies whether BiMaps of this type can contain null values:
+     * if not, JSON nulls (without an alternative "null value") are skipped.
+     */
+    protected boolean _acceptsNullValues() {
+        return true;
+    }
+
+    @Override
+    protected T _deserializeEntries(JsonParser p, DeserializationContext ctxt)
+        throws IOException, JsonProcessingException
+    {
+        final JsonDeserializer<?> valueDes = _valueDeserializer;
+        final TypeDeserializer typeDeser = _typeDeserializerForValue;
+        final EnumKeys enumKeys = ctxt.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+                ? null : _enumKeys;
+        final int length = (p.getCurrentToken() == JsonToken.FIELD_NAME)
+                ? LengthHints.expectedLength(p) : -1;
+        final T map = (length < 0) ? createBiMap() : createBiMap(length);
+        final boolean acceptNulls = _acceptsNullValues();
+        Object key = null;
+
+        for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+            final String fieldName = p.getCurrentName();
+            Object prevKey = key;
+            key = null;
+            if (enumKeys != null) {
+                // Enum-keyed maps are written in ordinal order, so try the one after previous key first
+                key = enumKeys.find(fieldName, (prevKey == null) ? 0 : ((Enum<?>) prevKey).ordinal() + 1);
+            }
+            if (key == null) {
+                key = (_keyDeserializer == null) ? fieldName : _keyDeserializer.deserializeKey(fieldName, ctxt);
+            }
+            JsonToken t = p.nextToken();
+            Object value;
+            if (t == JsonToken.VALUE_NULL) {
+                value = valueDes.getNullValue(ctxt);
+                if (value == null && !acceptNulls) {
+                    continue;
+                }
+            } else if (typeDeser == null) {
+                value = valueDes.deserialize(p, ctxt);
+            } else {
+                value = valueDes.deserializeWithType(p, ctxt, typeDeser);
+            }
+            // unknown Enum keys may be read as nulls; skipped, as with EnumMaps
+            if (key == null) {
+                continue;
+            }
+            try {
+                map.put(key, value);
+            } catch (IllegalArgumentException e) { // value already bound to a different key
+                throw _duplicateValueException(ctxt, key, value, map.inverse().get(value));
+            }
+        }
+        return map;
+    }
+}
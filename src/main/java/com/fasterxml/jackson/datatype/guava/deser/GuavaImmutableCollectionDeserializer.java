@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.datatype.guava.deser;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -9,6 +11,9 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueBufferRecycler;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableCollection;
 
 abstract class GuavaImmutableCollectionDeserializer<T extends ImmutableCollection<Object>>
@@ -16,22 +21,79 @@ abstract class GuavaImmutableCollectionDeserializer<T extends ImmutableCollectio
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Pool of interned collections of this type (see {@link ValueInterner}),
+     * if interning is enabled; null if not.
+     *
+     * @since 2.7.4
+     */
+    protected final ValueInterner _interner;
+
     GuavaImmutableCollectionDeserializer(CollectionType type,
             TypeDeserializer typeDeser, JsonDeserializer<?> deser) {
+        this(type, typeDeser, deser, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    GuavaImmutableCollectionDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            ValueInterner interner) {
         super(type, typeDeser, deser);
+        _interner = (interner == null) ? null : interner.forType(type, null);
     }
 
     protected abstract ImmutableCollection.Builder<Object> createBuilder();
 
+    /**
+     * Method called to construct the result collection from deserialized values:
+     * first <code>count</code> elements of given array, which must not be modified
+     * or retained. Default implementation simply adds values to a builder
+     * from {@link #createBuilder()}; sub-classes should override it to create
+     * instances of exact size directly, without builder growth.
+     *
+     * @since 2.7.4
+     */
+    protected T _createFromArray(Object[] values, int count)
+    {
+        ImmutableCollection.Builder<Object> builder = createBuilder();
+        for (int i = 0; i < count; ++i) {
+            builder.add(values[i]);
+        }
+        // No class outside of the package will be able to subclass us,
+        // and we provide the proper builder for the subclasses we implement.
+        @SuppressWarnings("unchecked")
+        T collection = (T) builder.build();
+        return collection;
+    }
+
+    /**
+     * Helper method for exposing first <code>count</code> elements of given
+     * array as a List, to be passed to <code>copyOf()</code> factory methods,
+     * which copy contents into an exact-sized array.
+     */
+    protected static List<Object> _asList(Object[] values, int count)
+    {
+        List<Object> list = Arrays.asList(values);
+        return (count == values.length) ? list : list.subList(0, count);
+    }
+
     @Override
     protected T _deserializeContents(JsonParser jp, DeserializationContext ctxt)
             throws IOException, JsonProcessingException {
         JsonDeserializer<?> valueDes = _valueDeserializer;
         JsonToken t;
         final TypeDeserializer typeDeser = _typeDeserializerForValue;
-        // No way to pass actual type parameter; but does not matter, just
-        // compiler-time fluff:
-        ImmutableCollection.Builder<Object> builder = createBuilder();
+        final ValueInterner interner = _interner;
+        // Values are collected in a recycled buffer (instead of a builder) so that
+        // the result can be constructed with exact size, or without any buffering
+        // for small collections; and if data format includes number of elements,
+        // buffer is big enough from the start
+        final ValueBufferRecycler recycler = ValueBufferRecycler.instance();
+        final int length = LengthHints.expectedLength(jp);
+        Object[] buffer = (length < 0) ? recycler.lease() : recycler.lease(length);
+        int ix = 0;
 
         while ((t = jp.nextToken()) != JsonToken.END_ARRAY) {
             Object value;
@@ -43,12 +105,16 @@ abstract class GuavaImmutableCollectionDeserializer<T extends ImmutableCollectio
             } else {
                 value = valueDes.deserializeWithType(jp, ctxt, typeDeser);
             }
-            builder.add(value);
+            if (ix >= buffer.length) {
+                buffer = recycler.expand(buffer);
+            }
+            buffer[ix++] = (interner == null) ? value : interner.internValue(value);
+        }
+        T collection = _createFromArray(buffer, ix);
+        recycler.release(buffer, ix);
+        if (interner != null) {
+            collection = interner.intern(collection, ix);
         }
-        // No class outside of the package will be able to subclass us,
-        // and we provide the proper builder for the subclasses we implement.
-        @SuppressWarnings("unchecked")
-        T collection = (T) builder.build();
         return collection;
     }
 
@@ -69,8 +135,9 @@ abstract class GuavaImmutableCollectionDeserializer<T extends ImmutableCollectio
         } else {
             value = valueDes.deserializeWithType(jp, ctxt, typeDeser);
         }
-        @SuppressWarnings("unchecked")
-        T result = (T) createBuilder().add(value).build();
-        return result;
+        if (_interner != null) {
+            return _interner.intern(_createFromArray(new Object[] { _interner.internValue(value) }, 1), 1);
+        }
+        return _createFromArray(new Object[] { value }, 1);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.fasterxml.jackson.datatype.guava.deser;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,18 +12,86 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueBufferRecycler;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableMap;
 
-abstract class GuavaImmutableMapDeserializer<T extends ImmutableMap<Object, Object>> extends
+// Note: result type is only bound to Map (instead of ImmutableMap) to also allow
+// compact immutable maps (see CompactMapDeserializer)
+abstract class GuavaImmutableMapDeserializer<T extends Map<Object, Object>> extends
         GuavaMapDeserializer<T> {
 
+    /**
+     * Pool of interned maps of this type (see {@link ValueInterner}),
+     * if interning is enabled; null if not.
+     *
+     * @since 2.7.4
+     */
+    protected final ValueInterner _interner;
+
     GuavaImmutableMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
             JsonDeserializer<?> deser) {
+        this(type, keyDeser, typeDeser, deser, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    GuavaImmutableMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
+            JsonDeserializer<?> deser, ValueInterner interner) {
         super(type, keyDeser, typeDeser, deser);
+        _interner = (interner == null) ? null : interner.forType(type, null);
     }
 
     protected abstract ImmutableMap.Builder<Object, Object> createBuilder();
 
+    /**
+     * Method called to construct the result map from deserialized entries:
+     * first <code>2 * count</code> elements of given array, alternating keys and
+     * values, which must not be modified or retained. Default implementation
+     * simply adds entries to a builder from {@link #createBuilder()};
+     * sub-classes may override it to avoid builders for small maps.
+     *
+     * @since 2.7.4
+     */
+    protected T _createFromEntries(Object[] keysAndValues, int count)
+    {
+        ImmutableMap.Builder<Object, Object> builder = createBuilder();
+        _putEntries(builder, keysAndValues, count);
+        // No class outside of the package will be able to subclass us,
+        // and we provide the proper builder for the subclasses we implement.
+        @SuppressWarnings("unchecked")
+        T map = (T) builder.build();
+        return map;
+    }
+
+    /**
+     * Helper method for adding first <code>count</code> entries of given array
+     * of alternating keys and values to given builder.
+     *
+     * @since 2.7.4
+     */
+    protected static void _putEntries(ImmutableMap.Builder<Object, Object> builder,
+            Object[] keysAndValues, int count)
+    {
+        for (int i = 0, end = count+count; i < end; i += 2) {
+            builder.put(keysAndValues[i], keysAndValues[i+1]);
+        }
+    }
+
+    /**
+     * Method that specifies whether values of maps of this type must be unique
+     * (as with <code>ImmutableBiMap</code>): if so, duplicate values are reported
+     * as soon as they are read, instead of only after all entries have been read,
+     * when the map is built.
+     *
+     * @since 2.7.4
+     */
+    protected boolean _requiresUniqueValues() {
+        return false;
+    }
+
     @Override
     protected T _deserializeEntries(JsonParser p, DeserializationContext ctxt)
         throws IOException, JsonProcessingException
@@ -29,8 +99,19 @@ abstract class GuavaImmutableMapDeserializer<T extends ImmutableMap<Object, Obje
         final KeyDeserializer keyDes = _keyDeserializer;
         final JsonDeserializer<?> valueDes = _valueDeserializer;
         final TypeDeserializer typeDeser = _typeDeserializerForValue;
-    
-        ImmutableMap.Builder<Object, Object> builder = createBuilder();
+        final ValueInterner interner = _interner;
+        // Entries are collected in a recycled buffer, as alternating keys and values,
+        // so that no builder is needed for empty and small maps
+        final ValueBufferRecycler recycler = ValueBufferRecycler.instance();
+        // (length of contents is only available within the Object, not after it)
+        final int length = (p.getCurrentToken() == JsonToken.FIELD_NAME)
+                ? LengthHints.expectedLength(p) : -1;
+        Object[] buffer = (length < 0) ? recycler.lease() : recycler.lease(length + length);
+        int ix = 0;
+        // for maps with unique values, keys of values read so far (created lazily)
+        final boolean uniqueValues = _requiresUniqueValues();
+        Map<Object, Object> keysByValue = null;
+
         for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
             // Must point to field name now
             String fieldName = p.getCurrentName();
@@ -40,20 +121,42 @@ abstract class GuavaImmutableMapDeserializer<T extends ImmutableMap<Object, Obje
             // 28-Nov-2010, tatu: Should probably support "ignorable properties" in future...
             Object value;            
             if (t == JsonToken.VALUE_NULL) {
-                _handleNull(ctxt, key, _valueDeserializer, builder);
-                continue;
-            }
-            if (typeDeser == null) {
+                value = _handleNull(ctxt, key, _valueDeserializer);
+                if (value == null) {
+                    continue;
+                }
+            } else if (typeDeser == null) {
                 value = valueDes.deserialize(p, ctxt);
             } else {
                 value = valueDes.deserializeWithType(p, ctxt, typeDeser);
             }
-            builder.put(key, value);
+            if (uniqueValues) {
+                if (keysByValue == null) {
+                    keysByValue = new HashMap<Object, Object>();
+                }
+                Object prevKey = keysByValue.put(value, key);
+                // (repeated keys are reported by the builder, as duplicate keys)
+                if (prevKey != null && !prevKey.equals(key)) {
+                    throw _duplicateValueException(ctxt, key, value, prevKey);
+                }
+            }
+            // buffer sizes are always even, so key and value fit in the same one
+            if (ix >= buffer.length) {
+                buffer = recycler.expand(buffer);
+            }
+            if (interner == null) {
+                buffer[ix++] = key;
+                buffer[ix++] = value;
+            } else {
+                buffer[ix++] = interner.internValue(key);
+                buffer[ix++] = interner.internValue(value);
+            }
+        }
+        T map = _createFromEntries(buffer, ix >> 1);
+        recycler.release(buffer, ix);
+        if (interner != null) {
+            map = interner.intern(map, ix >> 1);
         }
-        // No class outside of the package will be able to subclass us,
-        // and we provide the proper builder for the subclasses we implement.
-        @SuppressWarnings("unchecked")
-        T map = (T) builder.build();
         return map;
     }
 
@@ -62,18 +165,18 @@ abstract class GuavaImmutableMapDeserializer<T extends ImmutableMap<Object, Obje
      * Since Guava Maps typically do not allow null values, special handling
      * is needed; default is to simply ignore and skip such values, but alternative
      * could be to throw an exception.
+     *
+     * @return Value to use for the entry, if any; null to skip the entry
+     *
+     * @since 2.7.4 (replaced variant that took builder to add value to)
      */
-    protected void _handleNull(DeserializationContext ctxt, Object key,
-            JsonDeserializer<?> valueDeser,
-            ImmutableMap.Builder<Object, Object> builder) throws IOException
+    protected Object _handleNull(DeserializationContext ctxt, Object key,
+            JsonDeserializer<?> valueDeser) throws IOException
     {
         // 14-Sep-2015, tatu: As per [datatype-guava#52], avoid exception due to null
         // TODO: allow reporting problem via a feature, in future?
         
         // Actually, first, see if there's an alternative to Java null
-        Object nvl = valueDeser.getNullValue(ctxt);
-        if (nvl != null) {
-            builder.put(key, nvl);
-        }
+        return valueDeser.getNullValue(ctxt);
     }
 }
@@ -132,4 +132,18 @@ public abstract class GuavaMapDeserializer<T>
 
     protected abstract T _deserializeEntries(JsonParser jp, DeserializationContext ctxt)
         throws IOException, JsonProcessingException;
+
+    /**
+     * Helper method for constructing exception for a value that is already
+     * mapped to another key, for maps that require unique values
+     * (like {@link com.google.common.collect.BiMap}s).
+     *
+     * @since 2.7.4
+     */
+    protected JsonMappingException _duplicateValueException(DeserializationContext ctxt,
+            Object key, Object value, Object prevKey)
+    {
+        return ctxt.mappingException("Can not deserialize %s: value (%s) of key (%s) already used for key (%s)",
+                _mapType.getRawClass().getName(), value, key, prevKey);
+    }
 }
@@ -5,10 +5,14 @@ import java.io.IOException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.Multiset;
 
 abstract class GuavaMultisetDeserializer<T extends Multiset<Object>>
@@ -16,19 +20,68 @@ abstract class GuavaMultisetDeserializer<T extends Multiset<Object>>
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Expected sizes to use for constructing Multisets, for types that support it.
+     *
+     * @since 2.7.4
+     */
+    protected final SizeHints _sizeHints;
+
     GuavaMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser) {
+        this(type, typeDeser, deser, null);
+    }
+
+    GuavaMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            SizeHints sizeHints) {
         super(type, typeDeser, deser);
+        _sizeHints = (sizeHints == null) ? SizeHints.NONE : sizeHints;
+    }
+
+    /**
+     * Fluent factory method for creating instances with different expected sizes:
+     * default implementation returns this instance, so types that can use sizes
+     * must override it.
+     *
+     * @since 2.7.4
+     */
+    public GuavaMultisetDeserializer<T> withSizeHints(SizeHints sizeHints) {
+        return this;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        @SuppressWarnings("unchecked")
+        GuavaMultisetDeserializer<T> deser = (GuavaMultisetDeserializer<T>) super.createContextual(ctxt, property);
+        SizeHints hints = _sizeHints.forProperty(_containerType, property);
+        if (hints != _sizeHints) {
+            deser = deser.withSizeHints(hints);
+        }
+        return deser;
     }
 
     protected abstract T createMultiset();
 
+    /**
+     * Variant of {@link #createMultiset()} called when the number of elements
+     * is known (from data formats that include it): default implementation ignores
+     * it, so types that can be pre-sized must override this method.
+     *
+     * @since 2.7.4
+     */
+    protected T createMultiset(int expectedElements) {
+        return createMultiset();
+    }
+
     @Override
     protected T _deserializeContents(JsonParser jp, DeserializationContext ctxt) throws IOException,
             JsonProcessingException {
         JsonDeserializer<?> valueDes = _valueDeserializer;
         JsonToken t;
         final TypeDeserializer typeDeser = _typeDeserializerForValue;
-        T set = createMultiset();
+        final int length = LengthHints.expectedLength(jp);
+        T set = (length < 0) ? createMultiset() : createMultiset(length);
     
         while ((t = jp.nextToken()) != JsonToken.END_ARRAY) {
             Object value;
@@ -42,6 +95,7 @@ abstract class GuavaMultisetDeserializer<T extends Multiset<Object>>
             }
             set.add(value);
         }
+        _sizeHints.recordSize(set.elementSet().size(), -1);
         return set;
     }
 
@@ -0,0 +1,40 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.EnumKeys;
+import com.google.common.collect.HashBiMap;
+
+/**
+ * Deserializer for {@link HashBiMap}s; also used for {@link com.google.common.collect.BiMap}s
+ * in general.
+ *
+ * @since 2.7.4
+ */
+public class HashBiMapDeserializer
+    extends GuavaBiMapDeserializer<HashBiMap<Object, Object>>
+{
+    public HashBiMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, EnumKeys enumKeys)
+    {
+        super(type, keyDeser, typeDeser, deser, enumKeys);
+    }
+
+    @Override
+    public HashBiMapDeserializer withResolved(KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
+        return new HashBiMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser, _enumKeys);
+    }
+
+    @Override
+    protected HashBiMap<Object, Object> createBiMap() {
+        return HashBiMap.create();
+    }
+
+    @Override
+    protected HashBiMap<Object, Object> createBiMap(int expectedSize) {
+        return HashBiMap.create(expectedSize);
+    }
+}
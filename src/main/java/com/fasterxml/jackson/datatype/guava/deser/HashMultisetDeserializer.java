@@ -4,6 +4,7 @@ package com.fasterxml.jackson.datatype.guava.deser;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.HashMultiset;
 
 public class HashMultisetDeserializer
@@ -17,15 +18,38 @@ public class HashMultisetDeserializer
         super(type, typeDeser, deser);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    public HashMultisetDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, SizeHints sizeHints)
+    {
+        super(type, typeDeser, deser, sizeHints);
+    }
+
     @Override
     public HashMultisetDeserializer withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
         return new HashMultisetDeserializer(_containerType,
-                typeDeser, valueDeser);
+                typeDeser, valueDeser, _sizeHints);
+    }
+
+    @Override
+    public HashMultisetDeserializer withSizeHints(SizeHints sizeHints) {
+        return new HashMultisetDeserializer(_containerType,
+                _typeDeserializerForValue, _valueDeserializer, sizeHints);
     }
     
     @Override
     protected HashMultiset<Object> createMultiset() {
+        if (_sizeHints.hasEntries()) {
+            return HashMultiset.<Object> create(_sizeHints.getEntries(0));
+        }
         return HashMultiset.<Object> create();
     }
+
+    @Override
+    protected HashMultiset<Object> createMultiset(int expectedElements) {
+        return HashMultiset.<Object> create(expectedElements);
+    }
 }
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ImmutableBuilderFactory;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap.Builder;
 
@@ -13,6 +15,16 @@ public class ImmutableBiMapDeserializer extends GuavaImmutableMapDeserializer<Im
         super(type, keyDeser, typeDeser, deser);
     }
 
+    /**
+     * @param interner Interner for deserialized BiMaps, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableBiMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
+            JsonDeserializer<?> deser, ValueInterner interner) {
+        super(type, keyDeser, typeDeser, deser, interner);
+    }
+
     @Override
     protected Builder<Object, Object> createBuilder() {
         return ImmutableBiMap.builder();
@@ -21,6 +33,29 @@ public class ImmutableBiMapDeserializer extends GuavaImmutableMapDeserializer<Im
     @Override
     public GuavaMapDeserializer<ImmutableBiMap<Object, Object>> withResolved(KeyDeserializer keyDeser,
             TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
-        return new ImmutableBiMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser);
+        return new ImmutableBiMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser, _interner);
+    }
+
+    @Override
+    protected boolean _requiresUniqueValues() {
+        return true;
+    }
+
+    @Override
+    protected ImmutableBiMap<Object, Object> _createFromEntries(Object[] kv, int count) {
+        switch (count) {
+        case 0:
+            return ImmutableBiMap.of();
+        case 1:
+            return ImmutableBiMap.of(kv[0], kv[1]);
+        case 2:
+            return ImmutableBiMap.of(kv[0], kv[1], kv[2], kv[3]);
+        case 3:
+            return ImmutableBiMap.of(kv[0], kv[1], kv[2], kv[3], kv[4], kv[5]);
+        }
+        // pre-sized builder, if supported by Guava version in use
+        ImmutableBiMap.Builder<Object, Object> builder = ImmutableBuilderFactory.biMapBuilder(count);
+        _putEntries(builder, kv, count);
+        return builder.build();
     }
 }
@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableList;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 
 public class ImmutableListDeserializer extends
         GuavaImmutableCollectionDeserializer<ImmutableList<Object>>
@@ -16,11 +17,21 @@ public class ImmutableListDeserializer extends
         super(type, typeDeser, deser);
     }
 
+    /**
+     * @param interner Interner for deserialized Lists, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableListDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, ValueInterner interner) {
+        super(type, typeDeser, deser, interner);
+    }
+
     @Override
     public ImmutableListDeserializer withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
         return new ImmutableListDeserializer(_containerType, typeDeser,
-                valueDeser);
+                valueDeser, _interner);
     }
 
     /*
@@ -34,4 +45,19 @@ public class ImmutableListDeserializer extends
         ImmutableList.Builder<Object> builder = ImmutableList.builder();
         return builder;
     }
+
+    @Override
+    protected ImmutableList<Object> _createFromArray(Object[] values, int count) {
+        switch (count) {
+        case 0:
+            return ImmutableList.of();
+        case 1:
+            return ImmutableList.of(values[0]);
+        case 2:
+            return ImmutableList.of(values[0], values[1]);
+        case 3:
+            return ImmutableList.of(values[0], values[1], values[2]);
+        }
+        return ImmutableList.copyOf(_asList(values, count));
+    }
 }
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ImmutableBuilderFactory;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableMap;
 
 public class ImmutableMapDeserializer
@@ -16,11 +18,22 @@ public class ImmutableMapDeserializer
         super(type, keyDeser, typeDeser, deser);
     }
 
+    /**
+     * @param interner Interner for deserialized Maps, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableMapDeserializer(MapType type, KeyDeserializer keyDeser,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, ValueInterner interner)
+    {
+        super(type, keyDeser, typeDeser, deser, interner);
+    }
+
     @Override
     public ImmutableMapDeserializer withResolved(KeyDeserializer keyDeser,
             TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
         return new ImmutableMapDeserializer(_mapType, keyDeser,
-                typeDeser, valueDeser);
+                typeDeser, valueDeser, _interner);
     }
     
     @Override
@@ -28,4 +41,21 @@ public class ImmutableMapDeserializer
         return ImmutableMap.builder();
     }
 
+    @Override
+    protected ImmutableMap<Object, Object> _createFromEntries(Object[] kv, int count) {
+        switch (count) {
+        case 0:
+            return ImmutableMap.of();
+        case 1:
+            return ImmutableMap.of(kv[0], kv[1]);
+        case 2:
+            return ImmutableMap.of(kv[0], kv[1], kv[2], kv[3]);
+        case 3:
+            return ImmutableMap.of(kv[0], kv[1], kv[2], kv[3], kv[4], kv[5]);
+        }
+        // pre-sized builder, if supported by Guava version in use
+        ImmutableMap.Builder<Object, Object> builder = ImmutableBuilderFactory.mapBuilder(count);
+        _putEntries(builder, kv, count);
+        return builder.build();
+    }
 }
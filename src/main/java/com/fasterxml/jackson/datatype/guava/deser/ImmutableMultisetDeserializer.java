@@ -3,6 +3,7 @@ package com.fasterxml.jackson.datatype.guava.deser;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableCollection.Builder;
 import com.google.common.collect.ImmutableMultiset;
 
@@ -14,6 +15,16 @@ public class ImmutableMultisetDeserializer extends GuavaImmutableCollectionDeser
         super(type, typeDeser, deser);
     }
 
+    /**
+     * @param interner Interner for deserialized Multisets, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            ValueInterner interner) {
+        super(type, typeDeser, deser, interner);
+    }
+
     @Override
     protected Builder<Object> createBuilder() {
         return ImmutableMultiset.builder();
@@ -22,6 +33,21 @@ public class ImmutableMultisetDeserializer extends GuavaImmutableCollectionDeser
     @Override
     public GuavaCollectionDeserializer<ImmutableMultiset<Object>> withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
-        return new ImmutableMultisetDeserializer(_containerType, typeDeser, valueDeser);
+        return new ImmutableMultisetDeserializer(_containerType, typeDeser, valueDeser, _interner);
+    }
+
+    @Override
+    protected ImmutableMultiset<Object> _createFromArray(Object[] values, int count) {
+        switch (count) {
+        case 0:
+            return ImmutableMultiset.of();
+        case 1:
+            return ImmutableMultiset.of(values[0]);
+        case 2:
+            return ImmutableMultiset.of(values[0], values[1]);
+        case 3:
+            return ImmutableMultiset.of(values[0], values[1], values[2]);
+        }
+        return ImmutableMultiset.copyOf(_asList(values, count));
     }
 }
@@ -3,6 +3,7 @@ package com.fasterxml.jackson.datatype.guava.deser;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableCollection.Builder;
 import com.google.common.collect.ImmutableSet;
 
@@ -16,15 +17,41 @@ public class ImmutableSetDeserializer extends GuavaImmutableCollectionDeserializ
         super(type, typeDeser, deser);
     }
 
+    /**
+     * @param interner Interner for deserialized Sets, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSetDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser, ValueInterner interner)
+    {
+        super(type, typeDeser, deser, interner);
+    }
+
     @Override
     public ImmutableSetDeserializer withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
         return new ImmutableSetDeserializer(_containerType,
-                typeDeser, valueDeser);
+                typeDeser, valueDeser, _interner);
     }
     
     @Override
     protected Builder<Object> createBuilder() {
         return ImmutableSet.builder();
     }
+
+    @Override
+    protected ImmutableSet<Object> _createFromArray(Object[] values, int count) {
+        switch (count) {
+        case 0:
+            return ImmutableSet.of();
+        case 1:
+            return ImmutableSet.of(values[0]);
+        case 2:
+            return ImmutableSet.of(values[0], values[1]);
+        case 3:
+            return ImmutableSet.of(values[0], values[1], values[2]);
+        }
+        return ImmutableSet.copyOf(_asList(values, count));
+    }
 }
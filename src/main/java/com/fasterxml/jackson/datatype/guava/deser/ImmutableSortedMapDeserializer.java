@@ -1,36 +1,76 @@
 package com.fasterxml.jackson.datatype.guava.deser;
 
+import java.util.Comparator;
+
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.guava.deser.util.SortedViews;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Ordering;
 
 public class ImmutableSortedMapDeserializer extends GuavaImmutableMapDeserializer<ImmutableSortedMap<Object, Object>> {
 
+    /**
+     * Ordering of keys; natural ordering unless a custom comparator was
+     * registered for the key type.
+     *
+     * @since 2.7.4
+     */
+    protected final Comparator<Object> _comparator;
+
     public ImmutableSortedMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
             JsonDeserializer<?> deser) {
-        super(type, keyDeser, typeDeser, deser);
+        this(type, keyDeser, typeDeser, deser, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering keys; null for natural ordering
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
+            JsonDeserializer<?> deser, Comparator<?> comparator) {
+        this(type, keyDeser, typeDeser, deser, comparator, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering keys; null for natural ordering
+     * @param interner Interner for deserialized Maps, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedMapDeserializer(MapType type, KeyDeserializer keyDeser, TypeDeserializer typeDeser,
+            JsonDeserializer<?> deser, Comparator<?> comparator, ValueInterner interner) {
+        // Maps with different orderings must not be interned together
+        super(type, keyDeser, typeDeser, deser, (interner == null) ? null : interner.forType(type, comparator));
+        _comparator = ImmutableSortedSetDeserializer._comparatorOrNatural(comparator);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected Builder<Object, Object> createBuilder() {
-        /*
-         * Not quite sure what to do with sorting/ordering; may require better
-         * support either via annotations, or via custom serialization (bean
-         * style that includes ordering aspects)
-         */
-        @SuppressWarnings("rawtypes")
-        ImmutableSortedMap.Builder<?, Object> naturalOrder = ImmutableSortedMap.<Comparable, Object>naturalOrder();
-        ImmutableSortedMap.Builder<Object, Object> builder = (ImmutableSortedMap.Builder<Object, Object>) naturalOrder;
-        return builder;
+        return ImmutableSortedMap.orderedBy(_comparator);
     }
 
     @Override
     public GuavaMapDeserializer<ImmutableSortedMap<Object, Object>> withResolved(KeyDeserializer keyDeser,
             TypeDeserializer typeDeser, JsonDeserializer<?> valueDeser) {
-        return new ImmutableSortedMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser);
+        return new ImmutableSortedMapDeserializer(_mapType, keyDeser, typeDeser, valueDeser, _comparator, _interner);
+    }
+
+    @Override
+    protected ImmutableSortedMap<Object, Object> _createFromEntries(Object[] kv, int count) {
+        if (count == 0 && Ordering.natural().equals(_comparator)) {
+            return ImmutableSortedMap.of();
+        }
+        // Keys that are already in order (like ones we have written) need not be
+        // sorted again; if not, builder sorts them (and fails on duplicates)
+        if (SortedViews.isStrictlyOrdered(_comparator, kv, count, 2)) {
+            return ImmutableSortedMap.copyOfSorted(SortedViews.sortedMap(_comparator, kv, count));
+        }
+        return super._createFromEntries(kv, count);
     }
 }
@@ -1,30 +1,72 @@
 package com.fasterxml.jackson.datatype.guava.deser;
 
+import java.util.Comparator;
+
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
 import com.google.common.collect.ImmutableCollection.Builder;
 import com.google.common.collect.ImmutableSortedMultiset;
+import com.google.common.collect.Ordering;
 
 public class ImmutableSortedMultisetDeserializer extends GuavaImmutableCollectionDeserializer<ImmutableSortedMultiset<Object>>
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Ordering of elements; natural ordering unless a custom comparator was
+     * registered for the element type.
+     *
+     * @since 2.7.4
+     */
+    protected final Comparator<Object> _comparator;
+
     public ImmutableSortedMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser) {
-        super(type, typeDeser, deser);
+        this(type, typeDeser, deser, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering elements; null for natural ordering
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            Comparator<?> comparator) {
+        this(type, typeDeser, deser, comparator, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering elements; null for natural ordering
+     * @param interner Interner for deserialized Multisets, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            Comparator<?> comparator, ValueInterner interner) {
+        // Multisets with different orderings must not be interned together
+        super(type, typeDeser, deser, (interner == null) ? null : interner.forType(type, comparator));
+        _comparator = ImmutableSortedSetDeserializer._comparatorOrNatural(comparator);
     }
 
     @Override
     protected Builder<Object> createBuilder() {
-        /* This is suboptimal. See the considerations in ImmutableSortedSetDeserializer. */
-        @SuppressWarnings({ "rawtypes", "unchecked" })
-        Builder<Object> builder =  (Builder) ImmutableSortedMultiset.naturalOrder();
-        return builder;
+        return ImmutableSortedMultiset.orderedBy(_comparator);
     }
 
     @Override
     public GuavaCollectionDeserializer<ImmutableSortedMultiset<Object>> withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
-        return new ImmutableSortedMultisetDeserializer(_containerType, typeDeser, valueDeser);
+        return new ImmutableSortedMultisetDeserializer(_containerType, typeDeser, valueDeser, _comparator, _interner);
+    }
+
+    @Override
+    protected ImmutableSortedMultiset<Object> _createFromArray(Object[] values, int count) {
+        if (count == 0 && Ordering.natural().equals(_comparator)) {
+            return ImmutableSortedMultiset.of();
+        }
+        // Guava has no way to construct instances from sorted values without
+        // sorting them again, so no shortcut for sorted input here
+        return ImmutableSortedMultiset.copyOf(_comparator, _asList(values, count));
     }
 }
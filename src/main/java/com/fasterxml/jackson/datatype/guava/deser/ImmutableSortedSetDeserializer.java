@@ -1,38 +1,91 @@
 package com.fasterxml.jackson.datatype.guava.deser;
 
+import java.util.Comparator;
+
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
+import com.fasterxml.jackson.datatype.guava.deser.util.SortedViews;
 import com.google.common.collect.ImmutableCollection.Builder;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Ordering;
 
 public class ImmutableSortedSetDeserializer extends GuavaImmutableCollectionDeserializer<ImmutableSortedSet<Object>>
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Ordering of elements; natural ordering unless a custom comparator was
+     * registered for the element type.
+     *
+     * @since 2.7.4
+     */
+    protected final Comparator<Object> _comparator;
+
     public ImmutableSortedSetDeserializer(CollectionType type,
             TypeDeserializer typeDeser, JsonDeserializer<?> deser)
     {
-        super(type, typeDeser, deser);
+        this(type, typeDeser, deser, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering elements; null for natural ordering
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedSetDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            Comparator<?> comparator)
+    {
+        this(type, typeDeser, deser, comparator, null);
+    }
+
+    /**
+     * @param comparator Comparator for ordering elements; null for natural ordering
+     * @param interner Interner for deserialized Sets, if interning is enabled; null if not
+     *
+     * @since 2.7.4
+     */
+    public ImmutableSortedSetDeserializer(CollectionType type,
+            TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            Comparator<?> comparator, ValueInterner interner)
+    {
+        // Sets with different orderings must not be interned together
+        super(type, typeDeser, deser, (interner == null) ? null : interner.forType(type, comparator));
+        _comparator = _comparatorOrNatural(comparator);
     }
 
     @Override
     public ImmutableSortedSetDeserializer withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
         return new ImmutableSortedSetDeserializer(_containerType,
-                typeDeser, valueDeser);
+                typeDeser, valueDeser, _comparator, _interner);
     }
-    
+
     @SuppressWarnings("unchecked")
+    static Comparator<Object> _comparatorOrNatural(Comparator<?> comparator) {
+        if (comparator == null) {
+            return (Ordering<Object>) (Ordering<?>) Ordering.natural();
+        }
+        return (Comparator<Object>) comparator;
+    }
+    
     @Override
     protected Builder<Object> createBuilder() {
-        /* Not quite sure what to do with sorting/ordering; may require better support either
-         * via annotations, or via custom serialization (bean style that includes ordering
-         * aspects)
-         */
-        @SuppressWarnings("rawtypes")
-        ImmutableSortedSet.Builder<?> builderComp = ImmutableSortedSet.<Comparable> naturalOrder();
-        ImmutableSortedSet.Builder<Object> builder = (ImmutableSortedSet.Builder<Object>) builderComp;
-        return builder;
+        return ImmutableSortedSet.orderedBy(_comparator);
+    }
+
+    @Override
+    protected ImmutableSortedSet<Object> _createFromArray(Object[] values, int count) {
+        if (count == 0 && Ordering.natural().equals(_comparator)) {
+            return ImmutableSortedSet.of();
+        }
+        // Values that are already in order (like ones we have written) need not
+        // be sorted again; if not, need to sort (and remove duplicates)
+        if (SortedViews.isStrictlyOrdered(_comparator, values, count, 1)) {
+            return ImmutableSortedSet.copyOfSorted(SortedViews.sortedSet(_comparator, values, count));
+        }
+        return ImmutableSortedSet.copyOf(_comparator, _asList(values, count));
     }
 }
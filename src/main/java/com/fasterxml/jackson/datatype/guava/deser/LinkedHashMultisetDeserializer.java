@@ -3,6 +3,7 @@ package com.fasterxml.jackson.datatype.guava.deser;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.LinkedHashMultiset;
 
 public class LinkedHashMultisetDeserializer extends GuavaMultisetDeserializer<LinkedHashMultiset<Object>>
@@ -13,14 +14,36 @@ public class LinkedHashMultisetDeserializer extends GuavaMultisetDeserializer<Li
         super(type, typeDeser, deser);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    public LinkedHashMultisetDeserializer(CollectionType type, TypeDeserializer typeDeser, JsonDeserializer<?> deser,
+            SizeHints sizeHints) {
+        super(type, typeDeser, deser, sizeHints);
+    }
+
     @Override
     protected LinkedHashMultiset<Object> createMultiset() {
+        if (_sizeHints.hasEntries()) {
+            return LinkedHashMultiset.create(_sizeHints.getEntries(0));
+        }
         return LinkedHashMultiset.create();
     }
 
+    @Override
+    protected LinkedHashMultiset<Object> createMultiset(int expectedElements) {
+        return LinkedHashMultiset.create(expectedElements);
+    }
+
     @Override
     public GuavaCollectionDeserializer<LinkedHashMultiset<Object>> withResolved(TypeDeserializer typeDeser,
             JsonDeserializer<?> valueDeser) {
-        return new LinkedHashMultisetDeserializer(_containerType, typeDeser, valueDeser);
+        return new LinkedHashMultisetDeserializer(_containerType, typeDeser, valueDeser, _sizeHints);
+    }
+
+    @Override
+    public LinkedHashMultisetDeserializer withSizeHints(SizeHints sizeHints) {
+        return new LinkedHashMultisetDeserializer(_containerType, _typeDeserializerForValue,
+                _valueDeserializer, sizeHints);
     }
 }
@@ -0,0 +1,231 @@
+package com.fasterxml.jackson.datatype.guava.deser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.ArrayBuilders;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+
+/**
+ * Base class for deserializers that read <code>List&lt;Integer&gt;</code>,
+ * <code>List&lt;Long&gt;</code> and <code>List&lt;Double&gt;</code> values into
+ * primitive arrays, exposed as Lists with {@link Ints#asList}, {@link Longs#asList}
+ * and {@link Doubles#asList}: values are not boxed, but resulting Lists are
+ * fixed-size, and do not allow nulls. As with primitive arrays, JSON nulls
+ * become zeroes.
+ *<p>
+ * Values are collected into arrays from {@link ArrayBuilders}, same as with
+ * primitive array deserializers of databind; or, if data format includes the
+ * number of elements, into an array of exact size.
+ *
+ * @since 2.7.4
+ */
+public abstract class PrimitiveListDeserializer<T>
+    extends StdDeserializer<List<T>>
+{
+    private static final long serialVersionUID = 1L;
+
+    protected PrimitiveListDeserializer() {
+        super(List.class);
+    }
+
+    /**
+     * Factory method for finding deserializer for Lists with given element type,
+     * if it is one of supported (wrapper) types; returns null if not.
+     */
+    public static PrimitiveListDeserializer<?> forElementType(Class<?> elementType)
+    {
+        if (elementType == Integer.class) {
+            return IntListDeserializer.instance;
+        }
+        if (elementType == Long.class) {
+            return LongListDeserializer.instance;
+        }
+        if (elementType == Double.class) {
+            return DoubleListDeserializer.instance;
+        }
+        return null;
+    }
+
+    @Override
+    public List<T> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        if (p.isExpectedStartArrayToken()) {
+            return _deserializeContents(p, ctxt);
+        }
+        if (ctxt.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)) {
+            return _deserializeFromSingleValue(p, ctxt);
+        }
+        throw ctxt.mappingException(List.class);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt,
+            TypeDeserializer typeDeserializer) throws IOException
+    {
+        return typeDeserializer.deserializeTypedFromArray(p, ctxt);
+    }
+
+    protected abstract List<T> _deserializeContents(JsonParser p, DeserializationContext ctxt)
+        throws IOException;
+
+    protected abstract List<T> _deserializeFromSingleValue(JsonParser p, DeserializationContext ctxt)
+        throws IOException;
+
+    /*
+    /**********************************************************
+    /* Concrete deserializers
+    /**********************************************************
+     */
+
+    public final static class IntListDeserializer extends PrimitiveListDeserializer<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static IntListDeserializer instance = new IntListDeserializer();
+
+        @Override
+        protected List<Integer> _deserializeContents(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            final int length = LengthHints.expectedLength(p);
+            ArrayBuilders.IntBuilder builder = null;
+            int[] chunk;
+            if (length > 0) {
+                chunk = new int[length];
+            } else {
+                builder = ctxt.getArrayBuilders().getIntBuilder();
+                chunk = builder.resetAndStart();
+            }
+            int ix = 0;
+
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                int value = _parseIntPrimitive(p, ctxt);
+                if (ix >= chunk.length) {
+                    if (builder == null) { // more values than expected
+                        builder = ctxt.getArrayBuilders().getIntBuilder();
+                        builder.resetAndStart();
+                    }
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                chunk[ix++] = value;
+            }
+            if (builder != null) {
+                return Ints.asList(builder.completeAndClearBuffer(chunk, ix));
+            }
+            return Ints.asList((ix == chunk.length) ? chunk : Arrays.copyOf(chunk, ix));
+        }
+
+        @Override
+        protected List<Integer> _deserializeFromSingleValue(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            return Ints.asList(_parseIntPrimitive(p, ctxt));
+        }
+    }
+
+    public final static class LongListDeserializer extends PrimitiveListDeserializer<Long>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static LongListDeserializer instance = new LongListDeserializer();
+
+        @Override
+        protected List<Long> _deserializeContents(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            final int length = LengthHints.expectedLength(p);
+            ArrayBuilders.LongBuilder builder = null;
+            long[] chunk;
+            if (length > 0) {
+                chunk = new long[length];
+            } else {
+                builder = ctxt.getArrayBuilders().getLongBuilder();
+                chunk = builder.resetAndStart();
+            }
+            int ix = 0;
+
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                long value = _parseLongPrimitive(p, ctxt);
+                if (ix >= chunk.length) {
+                    if (builder == null) { // more values than expected
+                        builder = ctxt.getArrayBuilders().getLongBuilder();
+                        builder.resetAndStart();
+                    }
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                chunk[ix++] = value;
+            }
+            if (builder != null) {
+                return Longs.asList(builder.completeAndClearBuffer(chunk, ix));
+            }
+            return Longs.asList((ix == chunk.length) ? chunk : Arrays.copyOf(chunk, ix));
+        }
+
+        @Override
+        protected List<Long> _deserializeFromSingleValue(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            return Longs.asList(_parseLongPrimitive(p, ctxt));
+        }
+    }
+
+    public final static class DoubleListDeserializer extends PrimitiveListDeserializer<Double>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static DoubleListDeserializer instance = new DoubleListDeserializer();
+
+        @Override
+        protected List<Double> _deserializeContents(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            final int length = LengthHints.expectedLength(p);
+            ArrayBuilders.DoubleBuilder builder = null;
+            double[] chunk;
+            if (length > 0) {
+                chunk = new double[length];
+            } else {
+                builder = ctxt.getArrayBuilders().getDoubleBuilder();
+                chunk = builder.resetAndStart();
+            }
+            int ix = 0;
+
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                double value = _parseDoublePrimitive(p, ctxt);
+                if (ix >= chunk.length) {
+                    if (builder == null) { // more values than expected
+                        builder = ctxt.getArrayBuilders().getDoubleBuilder();
+                        builder.resetAndStart();
+                    }
+                    chunk = builder.appendCompletedChunk(chunk, ix);
+                    ix = 0;
+                }
+                chunk[ix++] = value;
+            }
+            if (builder != null) {
+                return Doubles.asList(builder.completeAndClearBuffer(chunk, ix));
+            }
+            return Doubles.asList((ix == chunk.length) ? chunk : Arrays.copyOf(chunk, ix));
+        }
+
+        @Override
+        protected List<Double> _deserializeFromSingleValue(JsonParser p, DeserializationContext ctxt)
+            throws IOException
+        {
+            return Doubles.asList(_parseDoublePrimitive(p, ctxt));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ImmutableMultimap;
+
+import java.io.IOException;
+
+/**
+ * Base class for deserializers of immutable Guava Multimaps: entries are added
+ * directly into an {@link ImmutableMultimap.Builder}, instead of first reading
+ * them into a mutable Multimap and copying that.
+ */
+public abstract class GuavaImmutableMultimapDeserializer<T extends ImmutableMultimap<Object, Object>>
+        extends GuavaMultimapDeserializer<T> {
+
+    public GuavaImmutableMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaImmutableMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, null, sizeHints,
+                property);
+    }
+
+    protected abstract ImmutableMultimap.Builder<Object, Object> createBuilder();
+
+    /**
+     * Variant of {@link #createBuilder()} called when the number of keys is known
+     * (from data formats that include it): default implementation ignores it.
+     *
+     * @since 2.7.4
+     */
+    protected ImmutableMultimap.Builder<Object, Object> createBuilder(int expectedKeys) {
+        return createBuilder();
+    }
+
+    @Override
+    protected T _deserializeContents(JsonParser jp, DeserializationContext ctxt)
+            throws IOException, JsonProcessingException {
+        final int length = LengthHints.expectedLength(jp);
+        ImmutableMultimap.Builder<Object, Object> builder = (length < 0) ? createBuilder()
+                : createBuilder(length);
+
+        final JsonDeserializer<Object> keyValueDeser = _findKeyValueDeserializer(jp, ctxt);
+        Object key;
+        int keyCount = 0;
+        int valueCount = 0;
+
+        while ((key = _nextKey(jp, ctxt, keyValueDeser)) != NO_MORE_ENTRIES) {
+            ++keyCount;
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                Object value = _deserializeValue(jp, ctxt);
+                // Immutable Multimaps do not allow nulls: same as with ImmutableMaps,
+                // use "null value" of deserializer if there is one, otherwise skip
+                if (value == null) {
+                    value = elementDeserializer.getNullValue(ctxt);
+                    if (value == null) {
+                        continue;
+                    }
+                }
+                builder.put(key, value);
+                ++valueCount;
+            }
+            _finishEntry(jp, keyValueDeser);
+        }
+        sizeHints.recordSize(keyCount, valueCount);
+        // Builders of sub-classes produce instances of the expected type
+        @SuppressWarnings("unchecked")
+        T multimap = (T) builder.build();
+        return multimap;
+    }
+}
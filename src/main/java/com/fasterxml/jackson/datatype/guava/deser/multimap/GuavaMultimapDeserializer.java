@@ -9,16 +9,26 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,17 +38,44 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
         Object>> extends JsonDeserializer<T> implements ContextualDeserializer {
 
     private static final List<String> METHOD_NAMES = ImmutableList.of("copyOf", "create");
-    private final MapLikeType type;
-    private final KeyDeserializer keyDeserializer;
-    private final TypeDeserializer elementTypeDeserializer;
-    private final JsonDeserializer<?> elementDeserializer;
+
+    /**
+     * Marker returned by {@link #_nextKey} when all entries have been read.
+     */
+    protected static final Object NO_MORE_ENTRIES = new Object();
+
+    protected final MapLikeType type;
+    protected final KeyDeserializer keyDeserializer;
+    protected final TypeDeserializer elementTypeDeserializer;
+    protected final JsonDeserializer<?> elementDeserializer;
     /**
      * Since we have to use a method to transform from a known multi-map type into actual one, we'll
-     * resolve method just once, use it. Note that if this is set to null, we can just construct a
-     * {@link com.google.common.collect.LinkedListMultimap} instance and be done with it.
+     * resolve method just once, use it. Note that if this is set to null, instance constructed
+     * by sub-class is returned as is.
      */
     private final Method creatorMethod;
 
+    /**
+     * Expected sizes to use for constructing Multimaps, for types that support it.
+     *
+     * @since 2.7.4
+     */
+    protected final SizeHints sizeHints;
+
+    /**
+     * Property this deserializer was contextualized for (if any), needed for
+     * resolving deserializer for keys written as regular values.
+     *
+     * @since 2.7.4
+     */
+    protected final BeanProperty property;
+
+    /**
+     * Deserializer for keys written as regular values (with the Array shape),
+     * resolved lazily when that shape is first encountered; null if not (yet) resolved.
+     */
+    private volatile JsonDeserializer<Object> _keyValueDeserializer;
+
     public GuavaMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
             TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
         this(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
@@ -48,11 +85,33 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
     public GuavaMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
             TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
             Method creatorMethod) {
+        this(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
+                creatorMethod, null, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, SizeHints sizeHints, BeanProperty property) {
         this.type = type;
         this.keyDeserializer = keyDeserializer;
         this.elementTypeDeserializer = elementTypeDeserializer;
         this.elementDeserializer = elementDeserializer;
         this.creatorMethod = creatorMethod;
+        this.sizeHints = (sizeHints == null) ? SizeHints.NONE : sizeHints;
+        this.property = property;
+    }
+
+    /**
+     * Helper method for sub-classes that need to find the creator method
+     * to pass to constructor.
+     *
+     * @since 2.7.4
+     */
+    protected static Method _findTransformer(MapLikeType type) {
+        return findTransformer(type.getRawClass());
     }
 
     private static Method findTransformer(Class<?> rawType) {
@@ -61,6 +120,16 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
                 Multimap.class) {
             return null;
         }
+        // Similarly for types that our deserializers construct directly; no need to copy
+        if (rawType == ArrayListMultimap.class || rawType == HashMultimap.class
+                || rawType == LinkedHashMultimap.class || rawType == SetMultimap.class
+                || rawType == TreeMultimap.class || rawType == SortedSetMultimap.class) {
+            return null;
+        }
+        // and immutable variants are built using builders, not copied
+        if (ImmutableMultimap.class.isAssignableFrom(rawType)) {
+            return null;
+        }
 
         // First, check type itself for matching methods
         for (String methodName : METHOD_NAMES) {
@@ -91,8 +160,6 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
         return null;
     }
 
-    protected abstract T createMultimap();
-
     /**
      * We need to use this method to properly handle possible contextual variants of key and value
      * deserializers, as well as type deserializers.
@@ -103,6 +170,8 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
         KeyDeserializer kd = keyDeserializer;
         if (kd == null) {
             kd = ctxt.findKeyDeserializer(type.getKeyType(), property);
+        } else if (kd instanceof ContextualKeyDeserializer) {
+            kd = ((ContextualKeyDeserializer) kd).createContextual(ctxt, property);
         }
         JsonDeserializer<?> ed = elementDeserializer;
         if (ed == null) {
@@ -113,45 +182,53 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
         if (etd != null && property != null) {
             etd = etd.forProperty(property);
         }
-        return (_createContextual(type, kd, etd, ed, creatorMethod));
+        return (_createContextual(type, kd, etd, ed, creatorMethod, sizeHints.forProperty(type, property),
+                property));
     }
 
     protected abstract JsonDeserializer<?> _createContextual(MapLikeType t,
             KeyDeserializer kd, TypeDeserializer typeDeserializer,
             JsonDeserializer<?> ed, Method method);
 
+    /**
+     * Variant of {@link #_createContextual(MapLikeType, KeyDeserializer, TypeDeserializer, JsonDeserializer, Method)}
+     * that also gets expected sizes and the property (needed for resolving deserializer
+     * for keys written as values): default implementation ignores them, so types that
+     * can use them must override this method.
+     *
+     * @since 2.7.4
+     */
+    protected JsonDeserializer<?> _createContextual(MapLikeType t,
+            KeyDeserializer kd, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> ed, Method method, SizeHints hints,
+            BeanProperty property) {
+        return _createContextual(t, kd, typeDeserializer, ed, method);
+    }
+
     @Override
     public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException,
             JsonProcessingException {
+        _expectContentsStart(jp);
+        return _deserializeContents(jp, ctxt);
+    }
 
-        T multimap = createMultimap();
-
-        expect(jp, JsonToken.START_OBJECT);
-
-        while (jp.nextToken() != JsonToken.END_OBJECT) {
-            final Object key;
-            if (keyDeserializer != null) {
-                key = keyDeserializer.deserializeKey(jp.getCurrentName(), ctxt);
-            } else {
-                key = jp.getCurrentName();
-            }
-
-            jp.nextToken();
-            expect(jp, JsonToken.START_ARRAY);
+    /**
+     * Method called to read all entries of the Multimap, when parser points to
+     * the START_OBJECT token (or START_ARRAY, for entries written as
+     * <code>[key, [values]]</code> pairs): mutable Multimaps are filled directly
+     * (see {@link GuavaMutableMultimapDeserializer}), immutable ones using builders
+     * (see {@link GuavaImmutableMultimapDeserializer}).
+     *
+     * @since 2.7.4
+     */
+    protected abstract T _deserializeContents(JsonParser jp, DeserializationContext ctxt)
+            throws IOException, JsonProcessingException;
 
-            while (jp.nextToken() != JsonToken.END_ARRAY) {
-                final Object value;
-                if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
-                    value = null;
-                } else if (elementTypeDeserializer != null) {
-                    value = elementDeserializer.deserializeWithType(jp, ctxt,
-                            elementTypeDeserializer);
-                } else {
-                    value = elementDeserializer.deserialize(jp, ctxt);
-                }
-                multimap.put(key, value);
-            }
-        }
+    /**
+     * Helper method for converting Multimap constructed by sub-class
+     * into actual result type, if (and only if) a creator method was found for it.
+     */
+    protected T _convertMultimap(JsonParser jp, T multimap) throws JsonMappingException {
         if (creatorMethod == null) {
             return multimap;
         }
@@ -167,7 +244,136 @@ public abstract class GuavaMultimapDeserializer<T extends Multimap<Object,
         }
     }
 
-    private void expect(JsonParser jp, JsonToken token) throws IOException {
+    /**
+     * Alternative to {@link #deserialize} that does not construct a Multimap; instead,
+     * values of each key are passed to given handler as they are read, and are not
+     * retained afterwards. Keys with no values are skipped; null values are passed as is.
+     * Parser must point to the START_OBJECT (or START_ARRAY) token; when method returns,
+     * it points to the matching END_OBJECT (or END_ARRAY).
+     *
+     * @param batchSize Maximum number of values to pass to handler with one call;
+     *    0 or negative to pass all values of a key with one call
+     */
+    public void deserializeEntries(JsonParser jp, DeserializationContext ctxt,
+            MultimapEntryHandler<Object, Object> handler, int batchSize) throws IOException {
+        _expectContentsStart(jp);
+        final List<Object> values = new ArrayList<Object>();
+        final JsonDeserializer<Object> keyValueDeser = _findKeyValueDeserializer(jp, ctxt);
+        Object key;
+
+        while ((key = _nextKey(jp, ctxt, keyValueDeser)) != NO_MORE_ENTRIES) {
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                values.add(_deserializeValue(jp, ctxt));
+                if (values.size() == batchSize) {
+                    handler.handleValues(key, values);
+                    values.clear();
+                }
+            }
+            if (!values.isEmpty()) {
+                handler.handleValues(key, values);
+                values.clear();
+            }
+            _finishEntry(jp, keyValueDeser);
+        }
+    }
+
+    /**
+     * Helper method for finding deserializer for keys written as regular values,
+     * which is the case if contents are written as a JSON Array of
+     * <code>[key, [values]]</code> pairs; parser must point to the first token
+     * of contents. Returns null for the usual JSON Object shape. Deserializer is
+     * resolved (contextually) only when needed, since key types need not have value
+     * deserializers unless the Array shape is used.
+     */
+    protected final JsonDeserializer<Object> _findKeyValueDeserializer(JsonParser jp,
+            DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            return null;
+        }
+        JsonDeserializer<Object> deser = _keyValueDeserializer;
+        if (deser == null) {
+            deser = ctxt.findContextualValueDeserializer(type.getKeyType(), property);
+            _keyValueDeserializer = deser;
+        }
+        return deser;
+    }
+
+    /**
+     * Helper method for advancing to the next entry: returns its key (leaving parser
+     * pointing to the START_ARRAY of values), or {@link #NO_MORE_ENTRIES} if the end
+     * of contents was reached.
+     *
+     * @param keyValueDeser Deserializer for keys written as values (Array shape);
+     *    null for the Object shape
+     */
+    protected final Object _nextKey(JsonParser jp, DeserializationContext ctxt,
+            JsonDeserializer<Object> keyValueDeser) throws IOException {
+        JsonToken t = jp.nextToken();
+        final Object key;
+        if (keyValueDeser == null) {
+            if (t == JsonToken.END_OBJECT) {
+                return NO_MORE_ENTRIES;
+            }
+            key = _deserializeKey(jp, ctxt);
+        } else {
+            if (t == JsonToken.END_ARRAY) {
+                return NO_MORE_ENTRIES;
+            }
+            expect(jp, JsonToken.START_ARRAY);
+            t = jp.nextToken();
+            key = (t == JsonToken.VALUE_NULL) ? null : keyValueDeser.deserialize(jp, ctxt);
+        }
+        jp.nextToken();
+        expect(jp, JsonToken.START_ARRAY);
+        return key;
+    }
+
+    /**
+     * Helper method called after values of an entry have been read: with the Array
+     * shape, skips the END_ARRAY that closes the key/values pair.
+     */
+    protected final void _finishEntry(JsonParser jp, JsonDeserializer<Object> keyValueDeser)
+            throws IOException {
+        if (keyValueDeser != null) {
+            jp.nextToken();
+            expect(jp, JsonToken.END_ARRAY);
+        }
+    }
+
+    /**
+     * Helper method for deserializing key of the current entry; parser must
+     * point to the FIELD_NAME token.
+     */
+    protected final Object _deserializeKey(JsonParser jp, DeserializationContext ctxt)
+            throws IOException {
+        if (keyDeserializer != null) {
+            return keyDeserializer.deserializeKey(jp.getCurrentName(), ctxt);
+        }
+        return jp.getCurrentName();
+    }
+
+    /**
+     * Helper method for deserializing a single value of the current entry; parser
+     * must point to the first token of the value.
+     */
+    protected final Object _deserializeValue(JsonParser jp, DeserializationContext ctxt)
+            throws IOException {
+        if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (elementTypeDeserializer != null) {
+            return elementDeserializer.deserializeWithType(jp, ctxt, elementTypeDeserializer);
+        }
+        return elementDeserializer.deserialize(jp, ctxt);
+    }
+
+    protected void _expectContentsStart(JsonParser jp) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            expect(jp, JsonToken.START_OBJECT);
+        }
+    }
+
+    protected void expect(JsonParser jp, JsonToken token) throws IOException {
         if (jp.getCurrentToken() != token) {
             throw new JsonMappingException(jp, "Expecting " + token + ", found " + jp.getCurrentToken(),
                     jp.getCurrentLocation());
@@ -0,0 +1,80 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.util.LengthHints;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.Multimap;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * Base class for deserializers of mutable Guava Multimaps: entries are added
+ * into a Multimap constructed by {@link #createMultimap}, which is then
+ * converted to the actual type, if necessary.
+ *
+ * @since 2.7.4
+ */
+public abstract class GuavaMutableMultimapDeserializer<T extends Multimap<Object, Object>>
+        extends GuavaMultimapDeserializer<T> {
+
+    public GuavaMutableMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    public GuavaMutableMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
+    }
+
+    public GuavaMutableMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                sizeHints, property);
+    }
+
+    protected abstract T createMultimap();
+
+    /**
+     * Variant of {@link #createMultimap()} called when the number of keys is known
+     * (from data formats that include it): default implementation ignores it,
+     * so types that can be pre-sized must override this method.
+     */
+    protected T createMultimap(int expectedKeys) {
+        return createMultimap();
+    }
+
+    @Override
+    protected T _deserializeContents(JsonParser jp, DeserializationContext ctxt)
+            throws IOException, JsonProcessingException {
+        final int length = LengthHints.expectedLength(jp);
+        T multimap = (length < 0) ? createMultimap() : createMultimap(length);
+
+        final JsonDeserializer<Object> keyValueDeser = _findKeyValueDeserializer(jp, ctxt);
+        Object key;
+        int keyCount = 0;
+        int valueCount = 0;
+
+        while ((key = _nextKey(jp, ctxt, keyValueDeser)) != NO_MORE_ENTRIES) {
+            ++keyCount;
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                multimap.put(key, _deserializeValue(jp, ctxt));
+                ++valueCount;
+            }
+            _finishEntry(jp, keyValueDeser);
+        }
+        sizeHints.recordSize(keyCount, valueCount);
+        return _convertMultimap(jp, multimap);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Callback interface used with {@link MultimapStreamReader} (and
+ * {@link GuavaMultimapDeserializer#deserializeEntries}) for receiving
+ * deserialized Multimap entries one key at a time, without constructing
+ * the Multimap itself.
+ *
+ * @param <K> Type of Multimap keys
+ * @param <V> Type of Multimap values
+ */
+public interface MultimapEntryHandler<K, V>
+{
+    /**
+     * Method called with values of given key. If batching is used, this method may
+     * be called more than once for a key, with consecutive batches of values;
+     * otherwise it is called exactly once per key entry in content.
+     *<p>
+     * NOTE: the <code>values</code> List is reused for subsequent calls, so
+     * implementations must copy its contents if they need to retain them
+     * after returning.
+     *
+     * @param key Deserialized key
+     * @param values Deserialized values of the key; never empty
+     */
+    public void handleValues(K key, List<V> values) throws IOException;
+}
@@ -0,0 +1,90 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.google.common.collect.Multimap;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helper class for reading Multimap content in streaming fashion: instead of
+ * constructing a {@link Multimap}, values of each key are passed to a
+ * {@link MultimapEntryHandler}, optionally in bounded batches. This allows
+ * processing of content much bigger than available memory; only values of
+ * the current key (or batch) are retained.
+ *<p>
+ * Keys and values are deserialized exactly as they would be for the Multimap
+ * type given, using deserializers {@link ObjectMapper} has (so
+ * {@link com.fasterxml.jackson.datatype.guava.GuavaModule} must be registered). Usage:
+ *<pre>
+ *  JavaType type = mapper.getTypeFactory().constructType(
+ *      new TypeReference&lt;ListMultimap&lt;String,Long&gt;&gt;() { });
+ *  new MultimapStreamReader(mapper, type).read(in, handler, 1000);
+ *</pre>
+ * Instances are immutable and thereby thread-safe.
+ */
+public class MultimapStreamReader
+{
+    protected final ObjectMapper _mapper;
+
+    protected final JavaType _type;
+
+    public MultimapStreamReader(ObjectMapper mapper, JavaType multimapType)
+    {
+        if (!Multimap.class.isAssignableFrom(multimapType.getRawClass())) {
+            throw new IllegalArgumentException("Type "+multimapType+" is not a Multimap type");
+        }
+        _mapper = mapper;
+        _type = multimapType;
+    }
+
+    /**
+     * Method for reading Multimap content from given stream; stream is closed
+     * once content has been read.
+     *
+     * @param batchSize Maximum number of values to pass to handler at a time;
+     *   0 or negative to pass all values of a key with one call
+     */
+    public <K, V> void read(InputStream in, MultimapEntryHandler<K, V> handler, int batchSize)
+        throws IOException
+    {
+        JsonParser p = _mapper.getFactory().createParser(in);
+        try {
+            read(p, handler, batchSize);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for reading Multimap content using given parser, which must either
+     * point to the START_OBJECT (or START_ARRAY) token of content, or not yet point
+     * to any token. Once method returns, parser points to the matching END_OBJECT
+     * (or END_ARRAY).
+     *
+     * @param batchSize Maximum number of values to pass to handler at a time;
+     *   0 or negative to pass all values of a key with one call
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> void read(JsonParser p, MultimapEntryHandler<K, V> handler, int batchSize)
+        throws IOException
+    {
+        DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) _mapper.getDeserializationContext())
+                .createInstance(_mapper.getDeserializationConfig(), p, _mapper.getInjectableValues());
+        JsonDeserializer<Object> deser = ctxt.findRootValueDeserializer(_type);
+        if (!(deser instanceof GuavaMultimapDeserializer<?>)) {
+            throw JsonMappingException.from(p, "No Multimap deserializer found for type "+_type
+                    +" (is GuavaModule registered?)");
+        }
+        if (p.getCurrentToken() == null) {
+            p.nextToken();
+        }
+        ((GuavaMultimapDeserializer<?>) deser).deserializeEntries(p, ctxt,
+                (MultimapEntryHandler<Object, Object>) handler, batchSize);
+    }
+}
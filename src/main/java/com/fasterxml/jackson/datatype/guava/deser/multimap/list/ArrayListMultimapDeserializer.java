@@ -1,10 +1,14 @@
 package com.fasterxml.jackson.datatype.guava.deser.multimap.list;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapLikeType;
-import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.ArrayListMultimap;
 
 import java.lang.reflect.Method;
@@ -14,9 +18,15 @@ import java.lang.reflect.Method;
  *
  * @author mvolkhart
  */
-public class ArrayListMultimapDeserializer extends GuavaMultimapDeserializer<ArrayListMultimap<Object,
+public class ArrayListMultimapDeserializer extends GuavaMutableMultimapDeserializer<ArrayListMultimap<Object,
         Object>> {
 
+    /**
+     * Defaults used by Guava, for sizes not specified by {@link SizeHints}.
+     */
+    private final static int DEFAULT_KEY_CAPACITY = 16;
+    private final static int DEFAULT_VALUES_PER_KEY = 3;
+
     public ArrayListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
             TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
         super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
@@ -28,16 +38,63 @@ public class ArrayListMultimapDeserializer extends GuavaMultimapDeserializer<Arr
         super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    public ArrayListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
+                _findTransformer(type), sizeHints, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ArrayListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                sizeHints, property);
+    }
+
     @Override
     protected ArrayListMultimap<Object, Object> createMultimap() {
+        if (sizeHints.hasEntries() || sizeHints.hasValuesPerKey()) {
+            return ArrayListMultimap.create(sizeHints.getEntries(DEFAULT_KEY_CAPACITY),
+                    sizeHints.getValuesPerKey(DEFAULT_VALUES_PER_KEY));
+        }
         return ArrayListMultimap.create();
     }
 
+    @Override
+    protected ArrayListMultimap<Object, Object> createMultimap(int expectedKeys) {
+        return ArrayListMultimap.create(expectedKeys, sizeHints.getValuesPerKey(DEFAULT_VALUES_PER_KEY));
+    }
+
+    @Override
+    protected ArrayListMultimap<Object, Object> _convertMultimap(JsonParser jp,
+            ArrayListMultimap<Object, Object> multimap) throws JsonMappingException {
+        if (sizeHints.shouldTrimToSize()) {
+            multimap.trimToSize();
+        }
+        return super._convertMultimap(jp, multimap);
+    }
+
     @Override
     protected JsonDeserializer<?> _createContextual(MapLikeType type,
             KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
             JsonDeserializer<?> elementDeserializer, Method method) {
         return new ArrayListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
-                elementDeserializer, method);
+                elementDeserializer, method, sizeHints, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new ArrayListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, hints, property);
     }
 }
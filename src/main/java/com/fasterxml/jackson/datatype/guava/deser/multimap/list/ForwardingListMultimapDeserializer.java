@@ -0,0 +1,73 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap.list;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ForwardingListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import java.lang.reflect.Method;
+
+/**
+ * Provides deserialization for the Guava ForwardingListMultimap class:
+ * result forwards to an {@link ArrayListMultimap}.
+ * Sub-classes can be deserialized if they have a static <code>copyOf</code>
+ * or <code>create</code> method that takes a Multimap.
+ */
+public class ForwardingListMultimapDeserializer
+    extends GuavaMutableMultimapDeserializer<ForwardingListMultimap<Object, Object>>
+{
+    public ForwardingListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    public ForwardingListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ForwardingListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                null, property);
+    }
+
+    @Override
+    protected ForwardingListMultimap<Object, Object> createMultimap() {
+        final ListMultimap<Object, Object> delegate = ArrayListMultimap.create();
+        return new ForwardingListMultimap<Object, Object>() {
+            @Override
+            protected ListMultimap<Object, Object> delegate() {
+                return delegate;
+            }
+        };
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method) {
+        return new ForwardingListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new ForwardingListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap.list;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaImmutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.ImmutableBuilderFactory;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMultimap;
+
+import java.lang.reflect.Method;
+
+/**
+ * Provides deserialization for the Guava ImmutableListMultimap class (and
+ * ImmutableMultimap, for which it is the default implementation).
+ */
+public class ImmutableListMultimapDeserializer
+    extends GuavaImmutableMultimapDeserializer<ImmutableListMultimap<Object, Object>>
+{
+    public ImmutableListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ImmutableListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints) {
+        this(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, sizeHints, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ImmutableListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, sizeHints,
+                property);
+    }
+
+    @Override
+    protected ImmutableMultimap.Builder<Object, Object> createBuilder() {
+        // pre-sized if hints are given, and supported by Guava version in use
+        return ImmutableBuilderFactory.listMultimapBuilder(sizeHints.getEntries(-1),
+                sizeHints.getValuesPerKey(-1));
+    }
+
+    @Override
+    protected ImmutableMultimap.Builder<Object, Object> createBuilder(int expectedKeys) {
+        return ImmutableBuilderFactory.listMultimapBuilder(expectedKeys,
+                sizeHints.getValuesPerKey(-1));
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method) {
+        return new ImmutableListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, sizeHints, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new ImmutableListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, hints, property);
+    }
+}
@@ -1,10 +1,12 @@
 package com.fasterxml.jackson.datatype.guava.deser.multimap.list;
 
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapLikeType;
-import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.LinkedListMultimap;
 
 import java.lang.reflect.Method;
@@ -15,8 +17,13 @@ import java.lang.reflect.Method;
  * @author mvolkhart
  */
 public class LinkedListMultimapDeserializer
-    extends GuavaMultimapDeserializer<LinkedListMultimap<Object,Object>>
+    extends GuavaMutableMultimapDeserializer<LinkedListMultimap<Object,Object>>
 {
+    /**
+     * Defaults used by Guava, for sizes not specified by {@link SizeHints}.
+     */
+    private final static int DEFAULT_KEY_CAPACITY = 16;
+
     public LinkedListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
             TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
         super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
@@ -28,16 +35,53 @@ public class LinkedListMultimapDeserializer
         super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    public LinkedListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
+                _findTransformer(type), sizeHints, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public LinkedListMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                sizeHints, property);
+    }
+
     @Override
     protected LinkedListMultimap<Object, Object> createMultimap() {
+        if (sizeHints.hasEntries()) {
+            return LinkedListMultimap.create(sizeHints.getEntries(DEFAULT_KEY_CAPACITY));
+        }
         return LinkedListMultimap.create();
     }
 
+    @Override
+    protected LinkedListMultimap<Object, Object> createMultimap(int expectedKeys) {
+        return LinkedListMultimap.create(expectedKeys);
+    }
+
     @Override
     protected JsonDeserializer<?> _createContextual(MapLikeType type,
             KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
             JsonDeserializer<?> elementDeserializer, Method method) {
         return new LinkedListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
-                elementDeserializer, method);
+                elementDeserializer, method, sizeHints, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new LinkedListMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, hints, property);
     }
 }
@@ -0,0 +1,73 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap.set;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ForwardingSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+
+import java.lang.reflect.Method;
+
+/**
+ * Provides deserialization for the Guava ForwardingSetMultimap class:
+ * result forwards to a {@link LinkedHashMultimap}, to retain ordering of entries.
+ * Sub-classes can be deserialized if they have a static <code>copyOf</code>
+ * or <code>create</code> method that takes a Multimap.
+ */
+public class ForwardingSetMultimapDeserializer
+    extends GuavaMutableMultimapDeserializer<ForwardingSetMultimap<Object, Object>>
+{
+    public ForwardingSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    public ForwardingSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ForwardingSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                null, property);
+    }
+
+    @Override
+    protected ForwardingSetMultimap<Object, Object> createMultimap() {
+        final SetMultimap<Object, Object> delegate = LinkedHashMultimap.create();
+        return new ForwardingSetMultimap<Object, Object>() {
+            @Override
+            protected SetMultimap<Object, Object> delegate() {
+                return delegate;
+            }
+        };
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method) {
+        return new ForwardingSetMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new ForwardingSetMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+}
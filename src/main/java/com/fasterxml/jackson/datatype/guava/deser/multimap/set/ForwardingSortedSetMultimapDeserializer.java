@@ -0,0 +1,74 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap.set;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+import com.google.common.collect.ForwardingSortedSetMultimap;
+import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
+
+import java.lang.reflect.Method;
+
+/**
+ * Provides deserialization for the Guava ForwardingSortedSetMultimap class:
+ * result forwards to a {@link TreeMultimap} (using natural ordering).
+ * Sub-classes can be deserialized if they have a static <code>copyOf</code>
+ * or <code>create</code> method that takes a Multimap.
+ */
+public class ForwardingSortedSetMultimapDeserializer
+    extends GuavaSortedSetMultimapDeserializer<ForwardingSortedSetMultimap<Object, Object>>
+{
+    public ForwardingSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    public ForwardingSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public ForwardingSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                property);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    protected ForwardingSortedSetMultimap<Object, Object> createMultimap() {
+        TreeMultimap<?, ?> naturalOrder = TreeMultimap.<Comparable, Comparable>create();
+        final SortedSetMultimap<Object, Object> delegate = (SortedSetMultimap<Object, Object>) naturalOrder;
+        return new ForwardingSortedSetMultimap<Object, Object>() {
+            @Override
+            protected SortedSetMultimap<Object, Object> delegate() {
+                return delegate;
+            }
+        };
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method) {
+        return new ForwardingSortedSetMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new ForwardingSortedSetMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, property);
+    }
+}
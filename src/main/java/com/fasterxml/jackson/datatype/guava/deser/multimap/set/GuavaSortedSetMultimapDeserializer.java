@@ -0,0 +1,153 @@
+package com.fasterxml.jackson.datatype.guava.deser.multimap.set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.google.common.collect.SortedSetMultimap;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Base class for deserializers of {@link SortedSetMultimap}s backed by a
+ * {@link com.google.common.collect.TreeMultimap}. Values of each key are first
+ * collected; if they turn out to be in strictly ascending order (as is the case
+ * with serialized sorted Multimaps), they are handed to the value set as a
+ * {@link SortedSet}, which lets {@link java.util.TreeSet} build its tree in linear
+ * time instead of inserting (and rebalancing) one value at a time.
+ */
+public abstract class GuavaSortedSetMultimapDeserializer<T extends SortedSetMultimap<Object, Object>>
+        extends GuavaMutableMultimapDeserializer<T> {
+
+    public GuavaSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer);
+    }
+
+    public GuavaSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public GuavaSortedSetMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                null, property);
+    }
+
+    @Override
+    protected T _deserializeContents(JsonParser jp, DeserializationContext ctxt)
+            throws IOException, JsonProcessingException {
+        T multimap = createMultimap();
+        final Comparator<Object> comparator = multimap.valueComparator();
+        final List<Object> values = new ArrayList<Object>();
+
+        final JsonDeserializer<Object> keyValueDeser = _findKeyValueDeserializer(jp, ctxt);
+        Object key;
+
+        while ((key = _nextKey(jp, ctxt, keyValueDeser)) != NO_MORE_ENTRIES) {
+            boolean sorted = true;
+            Object prev = null;
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                Object value = _deserializeValue(jp, ctxt);
+                // Sorted sets can not contain nulls; skip unless there is a replacement
+                if (value == null) {
+                    value = elementDeserializer.getNullValue(ctxt);
+                    if (value == null) {
+                        continue;
+                    }
+                }
+                if (sorted && (prev != null) && comparator.compare(prev, value) >= 0) {
+                    sorted = false;
+                }
+                values.add(value);
+                prev = value;
+            }
+            if (!values.isEmpty()) {
+                if (sorted) {
+                    multimap.get(key).addAll(new SortedValues(values, comparator));
+                } else {
+                    multimap.putAll(key, values);
+                }
+                values.clear();
+            }
+            _finishEntry(jp, keyValueDeser);
+        }
+        return _convertMultimap(jp, multimap);
+    }
+
+    /**
+     * Read-only {@link SortedSet} view of a List of values known to be in strictly
+     * ascending order; only iteration and size are needed for bulk-adding
+     * to a {@link java.util.TreeSet}.
+     */
+    private static final class SortedValues extends AbstractSet<Object>
+        implements SortedSet<Object>
+    {
+        private final List<Object> _values;
+        private final Comparator<Object> _comparator;
+
+        SortedValues(List<Object> values, Comparator<Object> comparator) {
+            _values = values;
+            _comparator = comparator;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return _values.iterator();
+        }
+
+        @Override
+        public int size() {
+            return _values.size();
+        }
+
+        @Override
+        public Comparator<? super Object> comparator() {
+            return _comparator;
+        }
+
+        @Override
+        public Object first() {
+            return _values.get(0);
+        }
+
+        @Override
+        public Object last() {
+            return _values.get(_values.size() - 1);
+        }
+
+        @Override
+        public SortedSet<Object> subSet(Object fromElement, Object toElement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedSet<Object> headSet(Object toElement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedSet<Object> tailSet(Object fromElement) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.fasterxml.jackson.datatype.guava.deser.multimap.set;
 
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapLikeType;
-import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.GuavaMutableMultimapDeserializer;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
 import com.google.common.collect.LinkedHashMultimap;
 
 import java.lang.reflect.Method;
@@ -15,7 +17,13 @@ import java.lang.reflect.Method;
  * @author mvolkhart
  */
 public class LinkedHashMultimapDeserializer extends
-        GuavaMultimapDeserializer<LinkedHashMultimap<Object, Object>> {
+        GuavaMutableMultimapDeserializer<LinkedHashMultimap<Object, Object>> {
+
+    /**
+     * Defaults used by Guava, for sizes not specified by {@link SizeHints}.
+     */
+    private final static int DEFAULT_KEY_CAPACITY = 16;
+    private final static int DEFAULT_VALUES_PER_KEY = 2;
 
     public LinkedHashMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
             TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
@@ -28,16 +36,54 @@ public class LinkedHashMultimapDeserializer extends
         super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    public LinkedHashMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            SizeHints sizeHints) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer,
+                _findTransformer(type), sizeHints, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public LinkedHashMultimapDeserializer(MapLikeType type, KeyDeserializer keyDeserializer,
+            TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer,
+            Method creatorMethod, SizeHints sizeHints, BeanProperty property) {
+        super(type, keyDeserializer, elementTypeDeserializer, elementDeserializer, creatorMethod,
+                sizeHints, property);
+    }
+
     @Override
     protected LinkedHashMultimap<Object, Object> createMultimap() {
+        if (sizeHints.hasEntries() || sizeHints.hasValuesPerKey()) {
+            return LinkedHashMultimap.create(sizeHints.getEntries(DEFAULT_KEY_CAPACITY),
+                    sizeHints.getValuesPerKey(DEFAULT_VALUES_PER_KEY));
+        }
         return LinkedHashMultimap.create();
     }
 
+    @Override
+    protected LinkedHashMultimap<Object, Object> createMultimap(int expectedKeys) {
+        return LinkedHashMultimap.create(expectedKeys, sizeHints.getValuesPerKey(DEFAULT_VALUES_PER_KEY));
+    }
+
     @Override
     protected JsonDeserializer<?> _createContextual(MapLikeType type,
             KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
             JsonDeserializer<?> elementDeserializer, Method method) {
         return new LinkedHashMultimapDeserializer(type, keyDeserializer, typeDeserializer,
-                elementDeserializer, method);
+                elementDeserializer, method, sizeHints, property);
+    }
+
+    @Override
+    protected JsonDeserializer<?> _createContextual(MapLikeType type,
+            KeyDeserializer keyDeserializer, TypeDeserializer typeDeserializer,
+            JsonDeserializer<?> elementDeserializer, Method method, SizeHints hints,
+            BeanProperty property) {
+        return new LinkedHashMultimapDeserializer(type, keyDeserializer, typeDeserializer,
+                elementDeserializer, method, hints, property);
     }
 }
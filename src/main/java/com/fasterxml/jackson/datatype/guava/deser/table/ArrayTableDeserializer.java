@@ -0,0 +1,127 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.ArrayTable;
+
+/**
+ * Provides deserialization for the Guava {@link ArrayTable} class. Since the
+ * backing array of an <code>ArrayTable</code> is sized by its row and column keys,
+ * which must be known when it is created, cells are first collected (as a flat
+ * list of row key, column key and value), and then set into a table created
+ * with exactly the row and column keys seen, in order of first appearance;
+ * except with {@link com.fasterxml.jackson.datatype.guava.TableShape#MATRIX} shape,
+ * in which keys precede values, so that table is created first and values set
+ * directly by index.
+ *<p>
+ * Note that null values are retained (<code>ArrayTable</code> serializes unset
+ * cells as nulls), and that empty tables can not be deserialized, as
+ * <code>ArrayTable</code> does not support them.
+ */
+public class ArrayTableDeserializer
+    extends GuavaTableDeserializer<ArrayTable<Object, Object, Object>>
+{
+    public ArrayTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, rowKeyDeser, columnKeyDeser, valueTypeDeser, valueDeser);
+    }
+
+    public ArrayTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected ArrayTableDeserializer withResolved(TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        return new ArrayTableDeserializer(_tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected CellCollector<ArrayTable<Object, Object, Object>> _createCollector(
+            DeserializationContext ctxt, List<Object> rowKeys, List<Object> columnKeys)
+        throws JsonMappingException
+    {
+        if (rowKeys != null && columnKeys != null) { // can create table right away
+            final ArrayTable<Object, Object, Object> table = _create(ctxt, rowKeys, columnKeys);
+            return new CellCollector<ArrayTable<Object, Object, Object>>() {
+                @Override
+                public void put(Object rowKey, Object columnKey, Object value) {
+                    table.put(rowKey, columnKey, value);
+                }
+
+                @Override
+                public void putAt(int rowIndex, int columnIndex, Object rowKey, Object columnKey,
+                        Object value) {
+                    table.set(rowIndex, columnIndex, value);
+                }
+
+                @Override
+                public ArrayTable<Object, Object, Object> build(DeserializationContext ctxt) {
+                    return table;
+                }
+            };
+        }
+        return new CellCollector<ArrayTable<Object, Object, Object>>() {
+            private final Set<Object> _rowKeys = new LinkedHashSet<Object>();
+            private final Set<Object> _columnKeys = new LinkedHashSet<Object>();
+            // triplets of row key, column key, value
+            private final List<Object> _cells = new ArrayList<Object>();
+
+            @Override
+            public void put(Object rowKey, Object columnKey, Object value) {
+                _rowKeys.add(rowKey);
+                _columnKeys.add(columnKey);
+                _cells.add(rowKey);
+                _cells.add(columnKey);
+                _cells.add(value);
+            }
+
+            @Override
+            public ArrayTable<Object, Object, Object> build(DeserializationContext ctxt)
+                throws JsonMappingException
+            {
+                final ArrayTable<Object, Object, Object> table = _create(ctxt, _rowKeys, _columnKeys);
+                for (int i = 0, end = _cells.size(); i < end; i += 3) {
+                    table.put(_cells.get(i), _cells.get(i+1), _cells.get(i+2));
+                }
+                return table;
+            }
+        };
+    }
+
+    private ArrayTable<Object, Object, Object> _create(DeserializationContext ctxt,
+            Iterable<Object> rowKeys, Iterable<Object> columnKeys)
+        throws JsonMappingException
+    {
+        if (!rowKeys.iterator().hasNext() || !columnKeys.iterator().hasNext()) {
+            throw ctxt.mappingException("Can not deserialize an empty ArrayTable: needs at least one row and column");
+        }
+        try {
+            return ArrayTable.create(rowKeys, columnKeys);
+        } catch (IllegalArgumentException e) { // duplicate keys
+            throw JsonMappingException.from(ctxt, e.getMessage(), e);
+        }
+    }
+}
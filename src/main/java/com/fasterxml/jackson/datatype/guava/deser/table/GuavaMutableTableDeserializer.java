@@ -0,0 +1,62 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.Table;
+
+/**
+ * Base class for deserializers of mutable Guava {@link Table}s: cells are added
+ * directly into the table constructed by {@link #createTable}, skipping null values.
+ */
+public abstract class GuavaMutableTableDeserializer<T extends Table<Object, Object, Object>>
+    extends GuavaTableDeserializer<T>
+{
+    protected GuavaMutableTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, rowKeyDeser, columnKeyDeser, valueTypeDeser, valueDeser);
+    }
+
+    protected GuavaMutableTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    /**
+     * Factory method for constructing an empty table to add cells to.
+     */
+    protected abstract T createTable();
+
+    @Override
+    protected CellCollector<T> _createCollector(DeserializationContext ctxt,
+            List<Object> rowKeys, List<Object> columnKeys)
+    {
+        final T table = createTable();
+        return new CellCollector<T>() {
+            @Override
+            public void put(Object rowKey, Object columnKey, Object value) {
+                // Most Table implementations do not allow nulls
+                if (value != null) {
+                    table.put(rowKey, columnKey, value);
+                }
+            }
+
+            @Override
+            public T build(DeserializationContext ctxt) {
+                return table;
+            }
+        };
+    }
+}
@@ -0,0 +1,515 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.Table;
+
+/**
+ * Base class for deserializers of Guava {@link Table}s. Expected input is one of
+ * shapes enumerated by {@link TableShape} (by default, the "row map" shape that
+ * {@link com.google.common.collect.Table#rowMap()} would produce);
+ * cells are passed to a {@link CellCollector} created by sub-classes,
+ * to be added directly into the table being built.
+ */
+public abstract class GuavaTableDeserializer<T extends Table<Object, Object, Object>>
+    extends JsonDeserializer<T>
+    implements ContextualDeserializer
+{
+    /**
+     * Declared {@link Table} type, with row key, column key and value
+     * types as type parameters.
+     */
+    protected final JavaType _tableType;
+
+    protected final KeyDeserializer _rowKeyDeserializer;
+
+    protected final KeyDeserializer _columnKeyDeserializer;
+
+    protected final TypeDeserializer _valueTypeDeserializer;
+
+    protected final JsonDeserializer<?> _valueDeserializer;
+
+    /**
+     * Shape of expected input; null for default ({@link TableShape#ROWS}).
+     */
+    protected final TableShape _shape;
+
+    /**
+     * Value deserializers for row and column keys, used with shapes that
+     * have keys as regular values instead of field names.
+     */
+    protected final JsonDeserializer<Object> _rowKeyValueDeserializer, _columnKeyValueDeserializer;
+
+    /*
+    /**********************************************************
+    /* Life-cycle
+    /**********************************************************
+     */
+
+    protected GuavaTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        this(tableType, null, rowKeyDeser, columnKeyDeser, null, null, valueTypeDeser, valueDeser);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected GuavaTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        _tableType = tableType;
+        _shape = shape;
+        _rowKeyDeserializer = rowKeyDeser;
+        _columnKeyDeserializer = columnKeyDeser;
+        _rowKeyValueDeserializer = (JsonDeserializer<Object>) rowKeyValueDeser;
+        _columnKeyValueDeserializer = (JsonDeserializer<Object>) columnKeyValueDeser;
+        _valueTypeDeserializer = valueTypeDeser;
+        _valueDeserializer = valueDeser;
+    }
+
+    /**
+     * Overridable fluent factory method used for creating contextual
+     * instances.
+     */
+    protected abstract GuavaTableDeserializer<T> withResolved(TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser);
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        KeyDeserializer rowKeyDeser = _rowKeyDeserializer;
+        KeyDeserializer columnKeyDeser = _columnKeyDeserializer;
+        JsonDeserializer<?> valueDeser = _valueDeserializer;
+        TypeDeserializer valueTypeDeser = _valueTypeDeserializer;
+        if (rowKeyDeser == null) {
+            rowKeyDeser = ctxt.findKeyDeserializer(_tableType.containedTypeOrUnknown(0), property);
+        }
+        if (columnKeyDeser == null) {
+            columnKeyDeser = ctxt.findKeyDeserializer(_tableType.containedTypeOrUnknown(1), property);
+        }
+        if (valueDeser == null) {
+            final JavaType valueType = _tableType.containedTypeOrUnknown(2);
+            valueDeser = ctxt.findContextualValueDeserializer(valueType, property);
+            // values may also be polymorphic
+            if (valueTypeDeser == null) {
+                valueTypeDeser = ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), valueType);
+            }
+        }
+        if (valueTypeDeser != null) {
+            valueTypeDeser = valueTypeDeser.forProperty(property);
+        }
+
+        // Shape may be overridden by property annotations
+        TableShape shape = _shape;
+        if (property != null) {
+            JsonFormat.Value format = property.findPropertyFormat(ctxt.getConfig(), Table.class);
+            try {
+                TableShape overrideShape = TableShape.from(format);
+                if (overrideShape != null) {
+                    shape = overrideShape;
+                }
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(ctxt, e.getMessage());
+            }
+        }
+        // and if keys are regular values, need value deserializers for them
+        JsonDeserializer<?> rowKeyValueDeser = _rowKeyValueDeserializer;
+        JsonDeserializer<?> columnKeyValueDeser = _columnKeyValueDeserializer;
+        if (_hasKeysAsValues(shape)) {
+            if (rowKeyValueDeser == null) {
+                rowKeyValueDeser = ctxt.findContextualValueDeserializer(_tableType.containedTypeOrUnknown(0), property);
+            }
+            if (columnKeyValueDeser == null) {
+                columnKeyValueDeser = ctxt.findContextualValueDeserializer(_tableType.containedTypeOrUnknown(1), property);
+            }
+        }
+        return withResolved(shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    private static boolean _hasKeysAsValues(TableShape shape) {
+        return (shape == TableShape.MATRIX) || (shape == TableShape.CELLS);
+    }
+
+    /*
+    /**********************************************************
+    /* Deserialization
+    /**********************************************************
+     */
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt,
+            TypeDeserializer typeDeserializer)
+        throws IOException, JsonProcessingException
+    {
+        if (_shape == TableShape.CELLS) {
+            return typeDeserializer.deserializeTypedFromArray(p, ctxt);
+        }
+        return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException, JsonProcessingException
+    {
+        return _deserializeContents(p, ctxt, null);
+    }
+
+    /**
+     * Method for reading Table contents without constructing the Table: instead,
+     * each cell is passed to given handler, in order of content. Cells with null
+     * values are skipped (unless value deserializer has a "null value"), same as
+     * when constructing most Table types. Parser must point to the first token
+     * of contents; once method returns, it points to the matching last token.
+     */
+    public void deserializeCells(JsonParser p, DeserializationContext ctxt,
+            final TableCellHandler<Object, Object, Object> handler)
+        throws IOException
+    {
+        _deserializeContents(p, ctxt, new CellCollector<T>() {
+            @Override
+            public void put(Object rowKey, Object columnKey, Object value) throws IOException {
+                if (value != null) {
+                    handler.handleCell(rowKey, columnKey, value);
+                }
+            }
+
+            @Override
+            public T build(DeserializationContext ctxt) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Method that reads contents using the expected shape, passing cells
+     * to given collector if one is passed; or, if null, to collector
+     * constructed using {@link #_createCollector}.
+     */
+    protected T _deserializeContents(JsonParser p, DeserializationContext ctxt,
+            CellCollector<T> cells)
+        throws IOException, JsonProcessingException
+    {
+        if (_shape == TableShape.CELLS) {
+            return _deserializeCellList(p, ctxt, cells);
+        }
+        JsonToken t = p.getCurrentToken();
+        if (t == JsonToken.START_OBJECT) { // If START_OBJECT, move to next; may also be END_OBJECT
+            t = p.nextToken();
+        }
+        if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(_tableType.getRawClass());
+        }
+        if (_shape == TableShape.MATRIX) {
+            return _deserializeMatrix(p, ctxt, cells);
+        }
+        return _deserializeCells(p, ctxt, cells);
+    }
+
+    /**
+     * Method called to read all cells using the default {@link TableShape#ROWS} shape,
+     * or {@link TableShape#COLUMNS}; parser points to the FIELD_NAME of the first
+     * row or column (or END_OBJECT for empty tables).
+     */
+    protected T _deserializeCells(JsonParser p, DeserializationContext ctxt,
+            CellCollector<T> cells)
+        throws IOException, JsonProcessingException
+    {
+        if (cells == null) {
+            cells = _createCollector(ctxt, null, null);
+        }
+        if (_shape == TableShape.COLUMNS) {
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final Object columnKey = _deserializeColumnKey(p, ctxt);
+                _expectRowStart(p, ctxt);
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    final Object rowKey = _deserializeRowKey(p, ctxt);
+                    p.nextToken();
+                    cells.put(rowKey, columnKey, _deserializeCellValue(p, ctxt));
+                }
+            }
+        } else {
+            for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+                final Object rowKey = _deserializeRowKey(p, ctxt);
+                _expectRowStart(p, ctxt);
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    final Object columnKey = _deserializeColumnKey(p, ctxt);
+                    p.nextToken();
+                    cells.put(rowKey, columnKey, _deserializeCellValue(p, ctxt));
+                }
+            }
+        }
+        return cells.build(ctxt);
+    }
+
+    /**
+     * Method called to read all cells using {@link TableShape#CELLS} shape;
+     * parser points to the START_ARRAY of the cell list.
+     */
+    protected T _deserializeCellList(JsonParser p, DeserializationContext ctxt,
+            CellCollector<T> cells)
+        throws IOException, JsonProcessingException
+    {
+        if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.wrongTokenException(p, JsonToken.START_ARRAY,
+                    "Expected cells of "+_tableType.getRawClass().getName()+" as JSON Array");
+        }
+        if (cells == null) {
+            cells = _createCollector(ctxt, null, null);
+        }
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+                throw ctxt.wrongTokenException(p, JsonToken.START_ARRAY,
+                        "Expected cell of "+_tableType.getRawClass().getName()
+                        +" as JSON Array of row key, column key and value");
+            }
+            p.nextToken();
+            final Object rowKey = _deserializeKeyValue(p, ctxt, _rowKeyValueDeserializer);
+            p.nextToken();
+            final Object columnKey = _deserializeKeyValue(p, ctxt, _columnKeyValueDeserializer);
+            p.nextToken();
+            final Object value = _deserializeCellValue(p, ctxt);
+            if (p.nextToken() != JsonToken.END_ARRAY) {
+                throw ctxt.wrongTokenException(p, JsonToken.END_ARRAY,
+                        "Expected cell of "+_tableType.getRawClass().getName()
+                        +" to have exactly 3 elements");
+            }
+            cells.put(rowKey, columnKey, value);
+        }
+        return cells.build(ctxt);
+    }
+
+    /**
+     * Method called to read all cells using {@link TableShape#MATRIX} shape;
+     * parser points to the FIELD_NAME of the first property (or END_OBJECT
+     * for empty tables). Row and column keys must precede values.
+     */
+    protected T _deserializeMatrix(JsonParser p, DeserializationContext ctxt,
+            CellCollector<T> cells)
+        throws IOException, JsonProcessingException
+    {
+        List<Object> rowKeys = null;
+        List<Object> columnKeys = null;
+
+        for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+            final String propName = p.getCurrentName();
+            p.nextToken();
+            if (TableShape.PROP_ROW_KEYS.equals(propName)) {
+                rowKeys = _deserializeKeyValues(p, ctxt, _rowKeyValueDeserializer);
+            } else if (TableShape.PROP_COLUMN_KEYS.equals(propName)) {
+                columnKeys = _deserializeKeyValues(p, ctxt, _columnKeyValueDeserializer);
+            } else if (TableShape.PROP_VALUES.equals(propName)) {
+                if (rowKeys == null || columnKeys == null) {
+                    throw ctxt.mappingException("Can not deserialize "+_tableType.getRawClass().getName()
+                            +": '"+TableShape.PROP_ROW_KEYS+"' and '"+TableShape.PROP_COLUMN_KEYS
+                            +"' must precede '"+TableShape.PROP_VALUES+"'");
+                }
+                if (cells == null) {
+                    cells = _createCollector(ctxt, rowKeys, columnKeys);
+                }
+                _deserializeMatrixValues(p, ctxt, cells, rowKeys, columnKeys);
+            } else {
+                throw ctxt.mappingException("Unrecognized property '"+propName+"' for "
+                        +_tableType.getRawClass().getName()+" (expected '"+TableShape.PROP_ROW_KEYS
+                        +"', '"+TableShape.PROP_COLUMN_KEYS+"' or '"+TableShape.PROP_VALUES+"')");
+            }
+        }
+        if (cells == null) { // no values, no cells
+            cells = _createCollector(ctxt, (rowKeys == null) ? new ArrayList<Object>() : rowKeys,
+                    (columnKeys == null) ? new ArrayList<Object>() : columnKeys);
+        }
+        return cells.build(ctxt);
+    }
+
+    protected void _deserializeMatrixValues(JsonParser p, DeserializationContext ctxt,
+            CellCollector<T> cells, List<Object> rowKeys, List<Object> columnKeys)
+        throws IOException
+    {
+        if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.wrongTokenException(p, JsonToken.START_ARRAY,
+                    "Expected values of "+_tableType.getRawClass().getName()+" as JSON Array of rows");
+        }
+        final int rowCount = rowKeys.size();
+        final int columnCount = columnKeys.size();
+        int r = 0;
+        for (; p.nextToken() != JsonToken.END_ARRAY; ++r) {
+            if (r == rowCount) {
+                throw ctxt.mappingException("More rows of values than row keys ("+rowCount+")");
+            }
+            if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+                throw ctxt.wrongTokenException(p, JsonToken.START_ARRAY,
+                        "Expected row of "+_tableType.getRawClass().getName()+" as JSON Array");
+            }
+            final Object rowKey = rowKeys.get(r);
+            for (int c = 0; p.nextToken() != JsonToken.END_ARRAY; ++c) {
+                if (c == columnCount) {
+                    throw ctxt.mappingException("More values in row #"+r+" than column keys ("+columnCount+")");
+                }
+                final Object value = _deserializeCellValue(p, ctxt);
+                if (value != null) {
+                    cells.putAt(r, c, rowKey, columnKeys.get(c), value);
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Cell collection
+    /**********************************************************
+     */
+
+    /**
+     * Helper class used for adding deserialized cells into a {@link Table},
+     * or builder of one, and constructing the result.
+     */
+    protected abstract static class CellCollector<T>
+    {
+        /**
+         * Method called to add a cell; value is null if input had null
+         * and value deserializer has no "null value".
+         */
+        public abstract void put(Object rowKey, Object columnKey, Object value)
+            throws IOException;
+
+        /**
+         * Method called to add a cell when its row and column indexes (into
+         * lists of keys passed to {@link GuavaTableDeserializer#_createCollector})
+         * are also known. Default implementation simply calls {@link #put}.
+         */
+        public void putAt(int rowIndex, int columnIndex, Object rowKey, Object columnKey,
+                Object value) throws IOException {
+            put(rowKey, columnKey, value);
+        }
+
+        public abstract T build(DeserializationContext ctxt) throws JsonMappingException;
+    }
+
+    /**
+     * Factory method for constructing collector for cells: mutable tables
+     * add cells directly into the table (see {@link GuavaMutableTableDeserializer}),
+     * others into a builder, or other intermediate container.
+     *
+     * @param rowKeys Row keys, in order, if known before cells are read; null if not
+     * @param columnKeys Column keys, in order, if known before cells are read; null if not
+     */
+    protected abstract CellCollector<T> _createCollector(DeserializationContext ctxt,
+            List<Object> rowKeys, List<Object> columnKeys)
+        throws JsonMappingException;
+
+    /*
+    /**********************************************************
+    /* Helper methods for sub-classes
+    /**********************************************************
+     */
+
+    protected final Object _deserializeRowKey(JsonParser p, DeserializationContext ctxt)
+        throws IOException
+    {
+        final String name = p.getCurrentName();
+        return (_rowKeyDeserializer == null) ? name : _rowKeyDeserializer.deserializeKey(name, ctxt);
+    }
+
+    protected final Object _deserializeColumnKey(JsonParser p, DeserializationContext ctxt)
+        throws IOException
+    {
+        final String name = p.getCurrentName();
+        return (_columnKeyDeserializer == null) ? name : _columnKeyDeserializer.deserializeKey(name, ctxt);
+    }
+
+    /**
+     * Helper method for deserializing a JSON Array of keys written as regular
+     * values; parser must point to START_ARRAY.
+     */
+    protected final List<Object> _deserializeKeyValues(JsonParser p, DeserializationContext ctxt,
+            JsonDeserializer<Object> keyDeser)
+        throws IOException
+    {
+        if (p.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.wrongTokenException(p, JsonToken.START_ARRAY,
+                    "Expected keys of "+_tableType.getRawClass().getName()+" as JSON Array");
+        }
+        final List<Object> keys = new ArrayList<Object>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            keys.add(_deserializeKeyValue(p, ctxt, keyDeser));
+        }
+        return keys;
+    }
+
+    /**
+     * Helper method for deserializing a key written as regular value; parser
+     * must point to the first token of the value.
+     */
+    protected final Object _deserializeKeyValue(JsonParser p, DeserializationContext ctxt,
+            JsonDeserializer<Object> keyDeser)
+        throws IOException
+    {
+        final JsonToken t = p.getCurrentToken();
+        if (t == JsonToken.VALUE_NULL || t == JsonToken.END_ARRAY || t == null) {
+            throw ctxt.mappingException("Missing or null key for "+_tableType.getRawClass().getName());
+        }
+        return keyDeser.deserialize(p, ctxt);
+    }
+
+    /**
+     * Helper method for deserializing value of a cell; parser must point to
+     * the first token of the value. Returns Java null for JSON null.
+     */
+    protected final Object _deserializeValue(JsonParser p, DeserializationContext ctxt)
+        throws IOException
+    {
+        if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (_valueTypeDeserializer == null) {
+            return _valueDeserializer.deserialize(p, ctxt);
+        }
+        return _valueDeserializer.deserializeWithType(p, ctxt, _valueTypeDeserializer);
+    }
+
+    /**
+     * Helper method for deserializing value of a cell to add: same as
+     * {@link #_deserializeValue}, except that for JSON null, "null value"
+     * of value deserializer is returned.
+     */
+    protected final Object _deserializeCellValue(JsonParser p, DeserializationContext ctxt)
+        throws IOException
+    {
+        final Object value = _deserializeValue(p, ctxt);
+        if (value == null) {
+            return _valueDeserializer.getNullValue(ctxt);
+        }
+        return value;
+    }
+
+    /**
+     * Helper method for advancing from the row key to the start of the row
+     * (JSON Object with column keys as field names); or, with
+     * {@link TableShape#COLUMNS}, from column key to the start of the column.
+     */
+    protected final void _expectRowStart(JsonParser p, DeserializationContext ctxt)
+        throws IOException
+    {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw ctxt.wrongTokenException(p, JsonToken.START_OBJECT,
+                    "Expected "+((_shape == TableShape.COLUMNS) ? "column" : "row")
+                    +" of "+_tableType.getRawClass().getName()+" as JSON Object");
+        }
+    }
+}
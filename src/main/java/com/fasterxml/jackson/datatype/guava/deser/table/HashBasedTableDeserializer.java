@@ -0,0 +1,48 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.HashBasedTable;
+
+/**
+ * Provides deserialization for the Guava {@link HashBasedTable} class; also used
+ * as the default for plain {@link com.google.common.collect.Table}.
+ */
+public class HashBasedTableDeserializer
+    extends GuavaMutableTableDeserializer<HashBasedTable<Object, Object, Object>>
+{
+    public HashBasedTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, rowKeyDeser, columnKeyDeser, valueTypeDeser, valueDeser);
+    }
+
+    public HashBasedTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected HashBasedTableDeserializer withResolved(TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        return new HashBasedTableDeserializer(_tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected HashBasedTable<Object, Object, Object> createTable() {
+        return HashBasedTable.create();
+    }
+}
@@ -0,0 +1,68 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.ImmutableTable;
+
+/**
+ * Provides deserialization for the Guava {@link ImmutableTable} class: cells are
+ * added directly into an {@link ImmutableTable.Builder}, which retains order
+ * of rows and columns.
+ */
+public class ImmutableTableDeserializer
+    extends GuavaTableDeserializer<ImmutableTable<Object, Object, Object>>
+{
+    public ImmutableTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, rowKeyDeser, columnKeyDeser, valueTypeDeser, valueDeser);
+    }
+
+    public ImmutableTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected ImmutableTableDeserializer withResolved(TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        return new ImmutableTableDeserializer(_tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected CellCollector<ImmutableTable<Object, Object, Object>> _createCollector(
+            DeserializationContext ctxt, List<Object> rowKeys, List<Object> columnKeys)
+    {
+        final ImmutableTable.Builder<Object, Object, Object> builder = ImmutableTable.builder();
+        return new CellCollector<ImmutableTable<Object, Object, Object>>() {
+            @Override
+            public void put(Object rowKey, Object columnKey, Object value) {
+                // Immutable Tables do not allow nulls: skip, same as with ImmutableMaps
+                if (value != null) {
+                    builder.put(rowKey, columnKey, value);
+                }
+            }
+
+            @Override
+            public ImmutableTable<Object, Object, Object> build(DeserializationContext ctxt) {
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.io.IOException;
+
+/**
+ * Callback interface used with {@link TableStreamReader} (and
+ * {@link GuavaTableDeserializer#deserializeCells}) for receiving
+ * deserialized Table cells one at a time, without constructing
+ * the Table itself.
+ *
+ * @param <R> Type of Table row keys
+ * @param <C> Type of Table column keys
+ * @param <V> Type of Table values
+ *
+ * @since 2.7.4
+ */
+public interface TableCellHandler<R, C, V>
+{
+    /**
+     * Method called once for each cell in content, in order of content
+     * (which depends on the {@link com.fasterxml.jackson.datatype.guava.TableShape}
+     * used). Cells with null values are not passed.
+     *
+     * @param rowKey Deserialized row key; never null
+     * @param columnKey Deserialized column key; never null
+     * @param value Deserialized value; never null
+     */
+    public void handleCell(R rowKey, C columnKey, V value) throws IOException;
+}
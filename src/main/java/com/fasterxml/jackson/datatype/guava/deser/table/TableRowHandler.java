@@ -0,0 +1,36 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Callback interface used with {@link TableStreamReader} for receiving
+ * deserialized Table contents one row at a time, without constructing
+ * the Table itself.
+ *
+ * @param <R> Type of Table row keys
+ * @param <C> Type of Table column keys
+ * @param <V> Type of Table values
+ *
+ * @since 2.7.4
+ */
+public interface TableRowHandler<R, C, V>
+{
+    /**
+     * Method called with cells of given row. Consecutive cells with the same
+     * row key are grouped together; so with the default
+     * {@link com.fasterxml.jackson.datatype.guava.TableShape#ROWS} shape
+     * (and with {@link com.fasterxml.jackson.datatype.guava.TableShape#MATRIX})
+     * this method is called once per row entry in content, but with other
+     * shapes it may be called more than once for a row, with different cells.
+     *<p>
+     * NOTE: the <code>row</code> Map is reused for subsequent calls, so
+     * implementations must copy its contents if they need to retain them
+     * after returning.
+     *
+     * @param rowKey Deserialized row key
+     * @param row Cells of the row, from column keys to values, in order of
+     *   content; never empty
+     */
+    public void handleRow(R rowKey, Map<C, V> row) throws IOException;
+}
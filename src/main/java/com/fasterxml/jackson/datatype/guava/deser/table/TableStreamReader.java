@@ -0,0 +1,152 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.google.common.collect.Table;
+
+/**
+ * Helper class for reading Table content in streaming fashion: instead of
+ * constructing a {@link Table}, cells are passed to a {@link TableCellHandler}
+ * one at a time, or grouped by row to a {@link TableRowHandler}. This allows
+ * processing of content much bigger than available memory; only the current
+ * cell (or row) is retained, except for row and column keys of
+ * {@link com.fasterxml.jackson.datatype.guava.TableShape#MATRIX} shape.
+ *<p>
+ * Keys and values are deserialized exactly as they would be for the Table
+ * type given, using deserializers {@link ObjectMapper} has (so
+ * {@link com.fasterxml.jackson.datatype.guava.GuavaModule} must be registered),
+ * including the expected shape. Usage:
+ *<pre>
+ *  JavaType type = mapper.getTypeFactory().constructType(
+ *      new TypeReference&lt;Table&lt;String,String,Long&gt;&gt;() { });
+ *  new TableStreamReader(mapper, type).readCells(in, handler);
+ *</pre>
+ * Instances are immutable and thereby thread-safe.
+ *
+ * @since 2.7.4
+ */
+public class TableStreamReader
+{
+    protected final ObjectMapper _mapper;
+
+    protected final JavaType _type;
+
+    public TableStreamReader(ObjectMapper mapper, JavaType tableType)
+    {
+        if (!Table.class.isAssignableFrom(tableType.getRawClass())) {
+            throw new IllegalArgumentException("Type "+tableType+" is not a Table type");
+        }
+        _mapper = mapper;
+        _type = tableType;
+    }
+
+    /**
+     * Method for reading Table content from given stream, passing each cell
+     * to given handler; stream is closed once content has been read.
+     */
+    public <R, C, V> void readCells(InputStream in, TableCellHandler<R, C, V> handler)
+        throws IOException
+    {
+        JsonParser p = _mapper.getFactory().createParser(in);
+        try {
+            readCells(p, handler);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for reading Table content using given parser, passing each cell
+     * to given handler. Parser must either point to the START_OBJECT (or START_ARRAY)
+     * token of content, or not yet point to any token. Once method returns,
+     * parser points to the matching END_OBJECT (or END_ARRAY).
+     */
+    @SuppressWarnings("unchecked")
+    public <R, C, V> void readCells(JsonParser p, TableCellHandler<R, C, V> handler)
+        throws IOException
+    {
+        DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) _mapper.getDeserializationContext())
+                .createInstance(_mapper.getDeserializationConfig(), p, _mapper.getInjectableValues());
+        JsonDeserializer<Object> deser = ctxt.findRootValueDeserializer(_type);
+        if (!(deser instanceof GuavaTableDeserializer<?>)) {
+            throw JsonMappingException.from(p, "No Table deserializer found for type "+_type
+                    +" (is GuavaModule registered?)");
+        }
+        if (p.getCurrentToken() == null) {
+            p.nextToken();
+        }
+        ((GuavaTableDeserializer<?>) deser).deserializeCells(p, ctxt,
+                (TableCellHandler<Object, Object, Object>) handler);
+    }
+
+    /**
+     * Method for reading Table content from given stream, passing cells
+     * to given handler grouped by row; stream is closed once content has been read.
+     */
+    public <R, C, V> void readRows(InputStream in, TableRowHandler<R, C, V> handler)
+        throws IOException
+    {
+        JsonParser p = _mapper.getFactory().createParser(in);
+        try {
+            readRows(p, handler);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for reading Table content using given parser, passing cells
+     * to given handler grouped by row. Parser must either point to the START_OBJECT
+     * (or START_ARRAY) token of content, or not yet point to any token. Once method
+     * returns, parser points to the matching END_OBJECT (or END_ARRAY).
+     */
+    public <R, C, V> void readRows(JsonParser p, TableRowHandler<R, C, V> handler)
+        throws IOException
+    {
+        RowGrouper<R, C, V> grouper = new RowGrouper<R, C, V>(handler);
+        readCells(p, grouper);
+        grouper.flush();
+    }
+
+    /**
+     * Adapter that collects consecutive cells of a row, to pass them
+     * to a {@link TableRowHandler}.
+     */
+    private final static class RowGrouper<R, C, V> implements TableCellHandler<R, C, V>
+    {
+        private final TableRowHandler<R, C, V> _handler;
+
+        private final Map<C, V> _row = new LinkedHashMap<C, V>();
+
+        private R _rowKey;
+
+        public RowGrouper(TableRowHandler<R, C, V> handler) {
+            _handler = handler;
+        }
+
+        @Override
+        public void handleCell(R rowKey, C columnKey, V value) throws IOException {
+            if (!_row.isEmpty() && !_rowKey.equals(rowKey)) {
+                flush();
+            }
+            _rowKey = rowKey;
+            _row.put(columnKey, value);
+        }
+
+        public void flush() throws IOException {
+            if (!_row.isEmpty()) {
+                _handler.handleRow(_rowKey, _row);
+                _row.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.fasterxml.jackson.datatype.guava.deser.table;
+
+import java.util.Comparator;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.datatype.guava.TableShape;
+
+import com.google.common.collect.Ordering;
+import com.google.common.collect.TreeBasedTable;
+
+/**
+ * Provides deserialization for the Guava {@link TreeBasedTable} class (and
+ * {@link com.google.common.collect.RowSortedTable}), using natural ordering
+ * of row and column keys.
+ */
+public class TreeBasedTableDeserializer
+    extends GuavaMutableTableDeserializer<TreeBasedTable<Object, Object, Object>>
+{
+    public TreeBasedTableDeserializer(JavaType tableType,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, rowKeyDeser, columnKeyDeser, valueTypeDeser, valueDeser);
+    }
+
+    public TreeBasedTableDeserializer(JavaType tableType, TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        super(tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    protected TreeBasedTableDeserializer withResolved(TableShape shape,
+            KeyDeserializer rowKeyDeser, KeyDeserializer columnKeyDeser,
+            JsonDeserializer<?> rowKeyValueDeser, JsonDeserializer<?> columnKeyValueDeser,
+            TypeDeserializer valueTypeDeser, JsonDeserializer<?> valueDeser)
+    {
+        return new TreeBasedTableDeserializer(_tableType, shape, rowKeyDeser, columnKeyDeser,
+                rowKeyValueDeser, columnKeyValueDeser, valueTypeDeser, valueDeser);
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected TreeBasedTable<Object, Object, Object> createTable() {
+        // key types verified to be Comparable when deserializer is constructed
+        final Comparator<Object> natural = (Comparator) Ordering.natural();
+        return TreeBasedTable.create(natural, natural);
+    }
+}
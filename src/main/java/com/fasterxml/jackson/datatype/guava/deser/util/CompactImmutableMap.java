@@ -0,0 +1,200 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable {@link Map} that only stores its values: keys, and the index for
+ * finding values by key, are stored in a {@link KeyShape} shared by all maps with
+ * same keys. This makes big numbers of maps with same keys (like records
+ * read from JSON Objects) much more compact than with general-purpose maps,
+ * which each have their own hash table and entries. Entries are iterated in the
+ * order of keys of the shape. Null keys and values are not allowed.
+ *
+ * @since 2.7.4
+ */
+public final class CompactImmutableMap<K, V>
+    extends AbstractMap<K, V>
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final KeyShape _shape;
+
+    private final Object[] _values;
+
+    /**
+     * @param values Values in order of keys of given shape; array will be retained as is
+     */
+    public CompactImmutableMap(KeyShape shape, Object[] values)
+    {
+        if (shape.size() != values.length) {
+            throw new IllegalArgumentException("Expected "+shape.size()+" values, got "+values.length);
+        }
+        for (Object value : values) {
+            if (value == null) {
+                throw new NullPointerException("Null values not allowed");
+            }
+        }
+        _shape = shape;
+        _values = values;
+    }
+
+    public KeyShape getShape() { return _shape; }
+
+    /*
+    /**********************************************************
+    /* Map implementation
+    /**********************************************************
+     */
+
+    @Override
+    public int size() { return _values.length; }
+
+    @Override
+    public boolean isEmpty() { return _values.length == 0; }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return _shape.indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (Object v : _values) {
+            if (v.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        int ix = _shape.indexOf(key);
+        return (ix < 0) ? null : (V) _values[ix];
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public int size() { return _values.length; }
+
+            @Override
+            public boolean contains(Object key) { return containsKey(key); }
+
+            @Override
+            public Iterator<K> iterator() {
+                return new Iter<K>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected K get(int index) { return (K) _shape.getKey(index); }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public int size() { return _values.length; }
+
+            @Override
+            public Iterator<V> iterator() {
+                return new Iter<V>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected V get(int index) { return (V) _values[index]; }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public int size() { return _values.length; }
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iter<Map.Entry<K, V>>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    protected Map.Entry<K, V> get(int index) {
+                        return new AbstractMap.SimpleImmutableEntry<K, V>((K) _shape.getKey(index),
+                                (V) _values[index]);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        // same as AbstractMap, but without constructing entries
+        int hash = 0;
+        for (int i = 0; i < _values.length; ++i) {
+            hash += _shape.getKey(i).hashCode() ^ _values[i].hashCode();
+        }
+        return hash;
+    }
+
+    /*
+    /**********************************************************
+    /* Mutators: not supported
+    /**********************************************************
+     */
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    private abstract class Iter<T> implements Iterator<T>
+    {
+        private int _index;
+
+        @Override
+        public boolean hasNext() { return _index < _values.length; }
+
+        @Override
+        public T next() {
+            if (_index >= _values.length) {
+                throw new NoSuchElementException();
+            }
+            return get(_index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        protected abstract T get(int index);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+
+/**
+ * Helper class for resolving <code>Enum</code>-valued Map keys (by their names,
+ * as determined by annotations) using arrays indexed by ordinal, instead of hash
+ * lookups: since field names are usually interned, names can be compared by
+ * identity; and since Enum-keyed Maps (like <code>EnumBiMap</code>) are written
+ * in ordinal order, the next key can usually be found right after the previous one.
+ *
+ * @since 2.7.4
+ */
+public final class EnumKeys
+{
+    private final Enum<?>[] _enums;
+
+    /**
+     * Names of Enum values, interned, by ordinal.
+     */
+    private final String[] _names;
+
+    private EnumKeys(Enum<?>[] enums, String[] names) {
+        _enums = enums;
+        _names = names;
+    }
+
+    /**
+     * Factory method for constructing lookup for given Enum type; returns null
+     * if type is not an Enum type.
+     */
+    public static EnumKeys construct(Class<?> enumType, AnnotationIntrospector intr)
+    {
+        Enum<?>[] enums = (Enum<?>[]) enumType.getEnumConstants();
+        if (enums == null) {
+            return null;
+        }
+        String[] names = new String[enums.length];
+        if (intr != null) {
+            names = intr.findEnumValues(enumType, enums, names);
+        }
+        for (int i = 0; i < enums.length; ++i) {
+            String name = names[i];
+            names[i] = (name == null) ? enums[i].name() : name.intern();
+        }
+        return new EnumKeys(enums, names);
+    }
+
+    /**
+     * Method for finding Enum value with given (interned) name, starting from
+     * given ordinal (usually, one after the previous key).
+     *
+     * @return Enum value with given name, if name is interned and matches one;
+     *    null if not
+     */
+    public Enum<?> find(String name, int fromOrdinal)
+    {
+        final String[] names = _names;
+        final int len = names.length;
+        for (int i = fromOrdinal; i < len; ++i) {
+            if (names[i] == name) {
+                return _enums[i];
+            }
+        }
+        for (int i = 0, end = Math.min(fromOrdinal, len); i < end; ++i) {
+            if (names[i] == name) {
+                return _enums[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.lang.reflect.Method;
+
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+
+/**
+ * A factory for creating builders of Guava immutable types that is compatible
+ * with all supported Guava versions, but uses pre-sized builders when available.
+ *
+ * Guava 23 added <code>builderWithExpectedSize(int)</code> factory methods that avoid
+ * growing (and copying) builder contents when the final size is known, and Guava 33
+ * similar <code>builderWithExpectedKeys(int)</code> and <code>expectedValuesPerKey(int)</code>
+ * methods for immutable Multimaps; with earlier versions the default builders are
+ * used instead. Availability of these methods is checked reflectively, once, similar
+ * to how {@link RangeFactory} checks for legacy factory methods.
+ *
+ * @since 2.7.4
+ */
+public class ImmutableBuilderFactory
+{
+    private static final String EXPECTED_SIZE_METHOD_NAME = "builderWithExpectedSize";
+    private static final String EXPECTED_KEYS_METHOD_NAME = "builderWithExpectedKeys";
+    private static final String EXPECTED_VALUES_PER_KEY_METHOD_NAME = "expectedValuesPerKey";
+
+    private static final Method mapBuilderMethod;
+    private static final Method biMapBuilderMethod;
+    private static final Method listMultimapBuilderMethod;
+    private static final Method setMultimapBuilderMethod;
+    private static final Method expectedValuesPerKeyMethod;
+
+    static
+    {
+        mapBuilderMethod = findMethod(ImmutableMap.class, EXPECTED_SIZE_METHOD_NAME, Integer.TYPE);
+        biMapBuilderMethod = findMethod(ImmutableBiMap.class, EXPECTED_SIZE_METHOD_NAME, Integer.TYPE);
+        listMultimapBuilderMethod = findMethod(ImmutableListMultimap.class, EXPECTED_KEYS_METHOD_NAME, Integer.TYPE);
+        setMultimapBuilderMethod = findMethod(ImmutableSetMultimap.class, EXPECTED_KEYS_METHOD_NAME, Integer.TYPE);
+        expectedValuesPerKeyMethod = findMethod(ImmutableMultimap.Builder.class,
+                EXPECTED_VALUES_PER_KEY_METHOD_NAME, Integer.TYPE);
+    }
+
+    // returns null if the method is not found (or not accessible)
+    private static Method findMethod(Class<?> clazz, String methodName, Class<?> ... paramTypes)
+    {
+        try {
+            return clazz.getMethod(methodName, paramTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Factory method for {@link ImmutableMap.Builder} that is pre-sized for given
+     * number of entries, if supported by the Guava version in use.
+     */
+    public static <K, V> ImmutableMap.Builder<K, V> mapBuilder(int expectedSize)
+    {
+        ImmutableMap.Builder<K, V> builder = invokeFactoryMethod(mapBuilderMethod, expectedSize);
+        if (builder == null) {
+            builder = ImmutableMap.builder();
+        }
+        return builder;
+    }
+
+    /**
+     * Factory method for {@link ImmutableBiMap.Builder} that is pre-sized for given
+     * number of entries, if supported by the Guava version in use.
+     */
+    public static <K, V> ImmutableBiMap.Builder<K, V> biMapBuilder(int expectedSize)
+    {
+        ImmutableBiMap.Builder<K, V> builder = invokeFactoryMethod(biMapBuilderMethod, expectedSize);
+        if (builder == null) {
+            builder = ImmutableBiMap.builder();
+        }
+        return builder;
+    }
+
+    /**
+     * Factory method for {@link ImmutableListMultimap.Builder} that is pre-sized for
+     * given number of keys and values per key (negative if not known), if supported
+     * by the Guava version in use.
+     */
+    public static <K, V> ImmutableListMultimap.Builder<K, V> listMultimapBuilder(int expectedKeys,
+            int expectedValuesPerKey)
+    {
+        ImmutableListMultimap.Builder<K, V> builder = (expectedKeys < 0) ? null
+                : ImmutableBuilderFactory.<ImmutableListMultimap.Builder<K, V>>invokeFactoryMethod(
+                        listMultimapBuilderMethod, expectedKeys);
+        if (builder == null) {
+            builder = ImmutableListMultimap.builder();
+        }
+        setExpectedValuesPerKey(builder, expectedValuesPerKey);
+        return builder;
+    }
+
+    /**
+     * Factory method for {@link ImmutableSetMultimap.Builder} that is pre-sized for
+     * given number of keys and values per key (negative if not known), if supported
+     * by the Guava version in use.
+     */
+    public static <K, V> ImmutableSetMultimap.Builder<K, V> setMultimapBuilder(int expectedKeys,
+            int expectedValuesPerKey)
+    {
+        ImmutableSetMultimap.Builder<K, V> builder = (expectedKeys < 0) ? null
+                : ImmutableBuilderFactory.<ImmutableSetMultimap.Builder<K, V>>invokeFactoryMethod(
+                        setMultimapBuilderMethod, expectedKeys);
+        if (builder == null) {
+            builder = ImmutableSetMultimap.builder();
+        }
+        setExpectedValuesPerKey(builder, expectedValuesPerKey);
+        return builder;
+    }
+
+    private static void setExpectedValuesPerKey(ImmutableMultimap.Builder<?, ?> builder,
+            int expectedValuesPerKey)
+    {
+        if (expectedValuesPerKey >= 0 && expectedValuesPerKeyMethod != null) {
+            try {
+                expectedValuesPerKeyMethod.invoke(builder, Integer.valueOf(expectedValuesPerKey));
+            } catch (Exception e) {
+                // should not happen; but if it does, builder just uses default sizes
+            }
+        }
+    }
+
+    // returns null if the method is not available, or fails for some reason
+    @SuppressWarnings("unchecked")
+    private static <T> T invokeFactoryMethod(Method method, int expectedSize)
+    {
+        if (method != null) {
+            try {
+                return (T) method.invoke(null, Integer.valueOf(expectedSize));
+            } catch (Exception e) {
+                // should not happen; but if it does, just use the default builder
+            }
+        }
+        return null;
+    }
+
+    // prevent instantiation
+    private ImmutableBuilderFactory() { }
+}
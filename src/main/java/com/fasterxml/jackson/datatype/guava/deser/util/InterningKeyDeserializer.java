@@ -0,0 +1,63 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
+
+/**
+ * {@link KeyDeserializer} that canonicalizes <code>String</code> keys produced
+ * by another key deserializer (or, if none, field names as is) using a
+ * {@link ValueInterner}.
+ *
+ * @since 2.7.4
+ */
+public class InterningKeyDeserializer
+    extends KeyDeserializer
+    implements ContextualKeyDeserializer
+{
+    protected final JavaType _keyType;
+
+    /**
+     * Key deserializer to delegate to; if null, one is located during
+     * contextualization.
+     */
+    protected final KeyDeserializer _delegate;
+
+    protected final ValueInterner _interner;
+
+    public InterningKeyDeserializer(JavaType keyType, KeyDeserializer delegate,
+            ValueInterner interner)
+    {
+        _keyType = keyType;
+        _delegate = delegate;
+        _interner = interner;
+    }
+
+    @Override
+    public KeyDeserializer createContextual(DeserializationContext ctxt,
+            BeanProperty property) throws JsonMappingException
+    {
+        KeyDeserializer kd = _delegate;
+        if (kd == null) {
+            kd = ctxt.findKeyDeserializer(_keyType, property);
+        } else if (kd instanceof ContextualKeyDeserializer) {
+            kd = ((ContextualKeyDeserializer) kd).createContextual(ctxt, property);
+        }
+        if (kd == _delegate) {
+            return this;
+        }
+        return new InterningKeyDeserializer(_keyType, kd, _interner);
+    }
+
+    @Override
+    public Object deserializeKey(String key, DeserializationContext ctxt) throws IOException
+    {
+        Object value = (_delegate == null) ? key : _delegate.deserializeKey(key, ctxt);
+        return _interner.internValue(value);
+    }
+}
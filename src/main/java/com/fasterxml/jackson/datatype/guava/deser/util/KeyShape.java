@@ -0,0 +1,77 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.HashMap;
+
+/**
+ * Ordered set of distinct keys shared by {@link CompactImmutableMap}s with
+ * same keys, along with an index for finding positions of keys; each map only
+ * stores its values, in key order.
+ *
+ * @since 2.7.4
+ */
+public final class KeyShape
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] _keys;
+
+    private final HashMap<Object, Integer> _index;
+
+    private KeyShape(Object[] keys, HashMap<Object, Integer> index) {
+        _keys = keys;
+        _index = index;
+    }
+
+    /**
+     * Factory method for constructing shape for given keys (array will be retained
+     * as is); returns null if keys contain nulls or duplicates.
+     */
+    public static KeyShape construct(Object[] keys)
+    {
+        HashMap<Object, Integer> index = new HashMap<Object, Integer>(keys.length + (keys.length >> 1) + 1);
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] == null || index.put(keys[i], Integer.valueOf(i)) != null) {
+                return null;
+            }
+        }
+        return new KeyShape(keys, index);
+    }
+
+    public int size() { return _keys.length; }
+
+    public Object getKey(int index) { return _keys[index]; }
+
+    /**
+     * @return Position of given key, if included in this shape; -1 if not
+     */
+    public int indexOf(Object key)
+    {
+        if (key == null) {
+            return -1;
+        }
+        Integer ix = _index.get(key);
+        return (ix == null) ? -1 : ix.intValue();
+    }
+
+    /**
+     * Method for checking whether keys of given entries (first <code>count</code>
+     * entries of an array of alternating keys and values) are same as keys of
+     * this shape, in same order.
+     */
+    public boolean matches(Object[] keysAndValues, int count)
+    {
+        final Object[] keys = _keys;
+        if (count != keys.length) {
+            return false;
+        }
+        for (int i = 0; i < count; ++i) {
+            Object key = keysAndValues[i+i];
+            // keys are often same instances (like interned field names), so check that first
+            if (key != keys[i] && (key == null || !key.equals(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link KeyShape}s of {@link CompactImmutableMap}s: maps with same
+ * keys (in same order) share one shape. Number of shapes, and number of keys
+ * per shape, are limited, so that maps used as dictionaries (with varying keys)
+ * do not fill the registry; entries that do not fit are to be stored in regular maps.
+ *
+ * @since 2.7.4
+ */
+public final class KeyShapes
+{
+    /**
+     * Maximum number of distinct shapes registered.
+     */
+    public final static int MAX_SHAPES = 256;
+
+    /**
+     * Maximum number of keys of a shape.
+     */
+    public final static int MAX_KEYS = 64;
+
+    private final ConcurrentHashMap<List<Object>, KeyShape> _shapes
+        = new ConcurrentHashMap<List<Object>, KeyShape>();
+
+    /**
+     * Method for finding (or creating) shape for keys of given entries (first
+     * <code>count</code> entries of an array of alternating keys and values).
+     *
+     * @return Shape for keys; null if keys contain nulls or duplicates, or
+     *    if there are too many of them (or too many shapes)
+     */
+    public KeyShape find(Object[] keysAndValues, int count)
+    {
+        if (count > MAX_KEYS) {
+            return null;
+        }
+        Object[] keys = new Object[count];
+        for (int i = 0; i < count; ++i) {
+            keys[i] = keysAndValues[i+i];
+        }
+        final List<Object> keyList = Arrays.asList(keys);
+        KeyShape shape = _shapes.get(keyList);
+        if (shape == null) {
+            if (_shapes.size() >= MAX_SHAPES) {
+                return null;
+            }
+            shape = KeyShape.construct(keys);
+            if (shape != null) {
+                KeyShape old = _shapes.putIfAbsent(keyList, shape);
+                if (old != null) {
+                    shape = old;
+                }
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Accessor for number of shapes registered so far.
+     */
+    public int getShapeCount() {
+        return _shapes.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+
+/**
+ * Helper class for finding number of elements (or entries) of the Array (or
+ * Object) parser points to, for data formats that include it, such as
+ * definite-length Arrays and Maps of CBOR.
+ *<p>
+ * Since <code>jackson-core</code> has no API for this, lengths are accessed from
+ * parsing contexts that have (public) <code>int getExpectedLength()</code> method,
+ * like <code>CBORReadContext</code>, which returns negative value if length is
+ * not known. Methods are looked up reflectively, once per context type.
+ * Since lengths come from content, they are capped to {@link #MAX_LENGTH_HINT},
+ * to avoid pre-allocating excessive amounts of memory for invalid content.
+ *
+ * @since 2.7.4
+ */
+public final class LengthHints
+{
+    /**
+     * Maximum length returned; actual contents may of course be bigger.
+     */
+    public final static int MAX_LENGTH_HINT = (1 << 14);
+
+    private final static String LENGTH_METHOD_NAME = "getExpectedLength";
+
+    /**
+     * Placeholder for context types that do not have method to call.
+     */
+    private final static Method NO_METHOD;
+    static {
+        try {
+            NO_METHOD = Object.class.getMethod("hashCode");
+        } catch (NoSuchMethodException e) { // never happens
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final static ConcurrentHashMap<Class<?>, Method> _lengthMethods
+        = new ConcurrentHashMap<Class<?>, Method>();
+
+    /**
+     * Method for finding expected number of elements of the Array, or entries of the
+     * Object, that is the current parsing context; called when parser points to the
+     * START_ARRAY (or START_OBJECT), or any of its contents (but not the closing
+     * END_ARRAY or END_OBJECT).
+     *
+     * @return Expected length, if known; -1 if not
+     */
+    public static int expectedLength(JsonParser p)
+    {
+        final JsonStreamContext context = p.getParsingContext();
+        // Fast path for textual formats, which do not have lengths
+        if (context == null || context.getClass() == JsonReadContext.class) {
+            return -1;
+        }
+        final Class<?> contextType = context.getClass();
+        Method method = _lengthMethods.get(contextType);
+        if (method == null) {
+            method = _findLengthMethod(contextType);
+            _lengthMethods.putIfAbsent(contextType, method);
+        }
+        if (method == NO_METHOD) {
+            return -1;
+        }
+        try {
+            int length = ((Integer) method.invoke(context)).intValue();
+            return (length < 0) ? -1 : Math.min(length, MAX_LENGTH_HINT);
+        } catch (Exception e) {
+            // should not happen; if it does, length is just not known
+            return -1;
+        }
+    }
+
+    private static Method _findLengthMethod(Class<?> contextType)
+    {
+        try {
+            Method m = contextType.getMethod(LENGTH_METHOD_NAME);
+            if (m.getReturnType() == Integer.TYPE
+                    && Modifier.isPublic(m.getDeclaringClass().getModifiers())) {
+                return m;
+            }
+        } catch (NoSuchMethodException e) {
+        } catch (SecurityException e) {
+        }
+        return NO_METHOD;
+    }
+
+    // prevent instantiation
+    private LengthHints() { }
+}
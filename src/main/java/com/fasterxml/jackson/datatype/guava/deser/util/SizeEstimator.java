@@ -0,0 +1,122 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+/**
+ * Running estimate of sizes of containers produced by a single (contextual)
+ * deserializer, used for pre-sizing the next container it constructs, when
+ * size learning is enabled with
+ * {@link com.fasterxml.jackson.datatype.guava.GuavaModule#configureSizeLearning}.
+ *<p>
+ * Estimates are exponential moving averages (with weight of 1/8 for the latest
+ * sample), kept as fixed-point integers. Samples are capped to
+ * {@link #MAX_ENTRIES} and {@link #MAX_VALUES_PER_KEY}, so that occasional
+ * outliers can neither move estimates much, nor make them grow without bound.
+ *<p>
+ * Updates use no locking or atomic operations: instances are shared by all
+ * threads using the same deserializer, and concurrent updates may occasionally
+ * be lost, which is acceptable for an estimate.
+ *
+ * @since 2.7.4
+ */
+public final class SizeEstimator
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of entries (keys of Multimaps, distinct elements of Multisets)
+     * a sample may contribute; bigger sizes are capped to this.
+     */
+    public final static int MAX_ENTRIES = 1024;
+
+    /**
+     * Maximum number of values per key a sample may contribute; bigger
+     * averages are capped to this.
+     */
+    public final static int MAX_VALUES_PER_KEY = 64;
+
+    /**
+     * Number of fractional bits of fixed-point estimates.
+     */
+    private final static int SCALE_SHIFT = 4;
+
+    /**
+     * Weight of the latest sample, as power of two (3 means 1/8).
+     */
+    private final static int WEIGHT_SHIFT = 3;
+
+    private final String _description;
+
+    private volatile int _scaledEntries = -1;
+
+    private volatile int _scaledValuesPerKey = -1;
+
+    private volatile int _sampleCount;
+
+    public SizeEstimator(String description) {
+        _description = description;
+    }
+
+    /**
+     * Method called with the size of a container that was constructed.
+     *
+     * @param entries Number of entries (keys, distinct elements)
+     * @param values Total number of values, for Multimaps; negative if
+     *    not applicable
+     */
+    public void record(int entries, int values)
+    {
+        if (entries < 0) {
+            return;
+        }
+        _scaledEntries = _update(_scaledEntries, Math.min(entries, MAX_ENTRIES));
+        if (entries > 0 && values >= 0) {
+            int perKey = Math.max(1, (values + entries - 1) / entries);
+            _scaledValuesPerKey = _update(_scaledValuesPerKey, Math.min(perKey, MAX_VALUES_PER_KEY));
+        }
+        int count = _sampleCount;
+        if (count < Integer.MAX_VALUE) {
+            _sampleCount = count + 1;
+        }
+    }
+
+    private static int _update(int scaled, int sample)
+    {
+        sample <<= SCALE_SHIFT;
+        if (scaled < 0) { // first sample
+            return sample;
+        }
+        return scaled + ((sample - scaled) >> WEIGHT_SHIFT);
+    }
+
+    private static int _unscale(int scaled) {
+        return (scaled < 0) ? -1 : ((scaled + (1 << (SCALE_SHIFT - 1))) >> SCALE_SHIFT);
+    }
+
+    /**
+     * Description of what sizes are estimated: usually property name, qualified
+     * with name of the declaring class; or type of root values.
+     */
+    public String getDescription() { return _description; }
+
+    /**
+     * @return Estimated number of entries; -1 if no sizes have been recorded yet
+     */
+    public int getExpectedEntries() { return _unscale(_scaledEntries); }
+
+    /**
+     * @return Estimated number of values per key; -1 if no sizes of Multimaps
+     *    (with at least one key) have been recorded yet
+     */
+    public int getExpectedValuesPerKey() { return _unscale(_scaledValuesPerKey); }
+
+    /**
+     * @return Number of sizes recorded (possibly less, if concurrent updates were lost)
+     */
+    public int getSampleCount() { return _sampleCount; }
+
+    @Override
+    public String toString() {
+        return "[SizeEstimator for "+_description+": entries="+getExpectedEntries()
+                +", valuesPerKey="+getExpectedValuesPerKey()+", samples="+_sampleCount+"]";
+    }
+}
@@ -0,0 +1,78 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+
+/**
+ * Registry of {@link SizeEstimator}s of a
+ * {@link com.fasterxml.jackson.datatype.guava.GuavaModule} with size learning
+ * enabled: one estimator per property (or type of root values), so that
+ * learned sizes can be inspected.
+ *
+ * @since 2.7.4
+ */
+public final class SizeEstimators
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentHashMap<String, SizeEstimator> _estimators
+        = new ConcurrentHashMap<String, SizeEstimator>();
+
+    /**
+     * Method for finding (or creating) estimator for values of given property;
+     * or, if property is null, root values of given type.
+     */
+    public SizeEstimator estimatorFor(JavaType type, BeanProperty property)
+    {
+        final String desc = _describe(type, property);
+        SizeEstimator estimator = _estimators.get(desc);
+        if (estimator == null) {
+            estimator = new SizeEstimator(desc);
+            SizeEstimator old = _estimators.putIfAbsent(desc, estimator);
+            if (old != null) {
+                estimator = old;
+            }
+        }
+        return estimator;
+    }
+
+    /**
+     * Accessor for estimator with given description, if one exists.
+     */
+    public SizeEstimator getEstimator(String description) {
+        return _estimators.get(description);
+    }
+
+    /**
+     * Accessor for all estimators created so far, sorted by description.
+     *
+     * @return Unmodifiable snapshot of estimators
+     */
+    public Map<String, SizeEstimator> getEstimators() {
+        return Collections.unmodifiableMap(new TreeMap<String, SizeEstimator>(_estimators));
+    }
+
+    private static String _describe(JavaType type, BeanProperty property)
+    {
+        if (property == null) {
+            return (type == null) ? "[root value]" : type.toCanonical();
+        }
+        AnnotatedMember member = property.getMember();
+        if (member == null) {
+            return property.getName();
+        }
+        return member.getDeclaringClass().getName() + "#" + property.getName();
+    }
+
+    @Override
+    public String toString() {
+        return "[SizeEstimators: "+_estimators.values()+"]";
+    }
+}
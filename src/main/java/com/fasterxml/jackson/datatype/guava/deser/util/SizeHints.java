@@ -0,0 +1,176 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import com.fasterxml.jackson.annotation.OptBoolean;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.datatype.guava.JsonExpectedSize;
+
+/**
+ * Container for expected sizes of deserialized Guava containers, from
+ * {@link com.fasterxml.jackson.datatype.guava.GuavaModule} defaults, possibly
+ * overridden by {@link JsonExpectedSize} annotation of the property.
+ * If size learning is enabled, sizes not explicitly specified are taken from
+ * the {@link SizeEstimator} of the property, when it has any samples.
+ *<p>
+ * Instances are immutable, except for state of the estimator they refer to.
+ *
+ * @since 2.7.4
+ */
+public final class SizeHints
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Instance that specifies no sizes; Guava defaults are used.
+     */
+    public final static SizeHints NONE = new SizeHints(-1, -1, false, null, null);
+
+    private final int _entries;
+
+    private final int _valuesPerKey;
+
+    private final boolean _trimToSize;
+
+    /**
+     * Registry to find estimators of properties from, if size learning is enabled.
+     */
+    private final SizeEstimators _estimators;
+
+    /**
+     * Estimator of the property instance is for, if size learning is enabled;
+     * null for non-contextual instances.
+     */
+    private final SizeEstimator _estimator;
+
+    private SizeHints(int entries, int valuesPerKey, boolean trimToSize,
+            SizeEstimators estimators, SizeEstimator estimator) {
+        _entries = (entries < 0) ? -1 : entries;
+        _valuesPerKey = (valuesPerKey < 0) ? -1 : valuesPerKey;
+        _trimToSize = trimToSize;
+        _estimators = estimators;
+        _estimator = estimator;
+    }
+
+    /**
+     * Factory method for constructing instances; negative sizes
+     * mean "not specified".
+     */
+    public static SizeHints construct(int entries, int valuesPerKey, boolean trimToSize) {
+        if (entries < 0 && valuesPerKey < 0 && !trimToSize) {
+            return NONE;
+        }
+        return new SizeHints(entries, valuesPerKey, trimToSize, null, null);
+    }
+
+    /**
+     * Fluent factory for creating instances that learn sizes of properties,
+     * using estimators from given registry; or, if null is passed, do not.
+     */
+    public SizeHints withSizeLearning(SizeEstimators estimators) {
+        if (estimators == _estimators) {
+            return this;
+        }
+        return new SizeHints(_entries, _valuesPerKey, _trimToSize, estimators, null);
+    }
+
+    /**
+     * Method for finding hints to use for given property (or, if property is null,
+     * root values of given type): if it has {@link JsonExpectedSize} annotation,
+     * sizes it specifies override ones of this instance; and if size learning
+     * is enabled, estimator of the property is also included.
+     */
+    public SizeHints forProperty(JavaType type, BeanProperty property)
+    {
+        JsonExpectedSize ann = (property == null) ? null
+                : property.getAnnotation(JsonExpectedSize.class);
+        if (ann == null && _estimators == null) {
+            return this;
+        }
+        int entries = _entries;
+        int valuesPerKey = _valuesPerKey;
+        boolean trimToSize = _trimToSize;
+        if (ann != null) {
+            final OptBoolean trim = ann.trimToSize();
+            if (ann.value() >= 0) {
+                entries = ann.value();
+            }
+            if (ann.valuesPerKey() >= 0) {
+                valuesPerKey = ann.valuesPerKey();
+            }
+            if (trim != OptBoolean.DEFAULT) {
+                trimToSize = trim.asPrimitive();
+            }
+        }
+        if (_estimators == null) {
+            return construct(entries, valuesPerKey, trimToSize);
+        }
+        return new SizeHints(entries, valuesPerKey, trimToSize, _estimators,
+                _estimators.estimatorFor(type, property));
+    }
+
+    /**
+     * Method called by deserializers with sizes of constructed containers,
+     * to update learned estimates, if size learning is enabled.
+     *
+     * @param entries Number of entries (keys, distinct elements)
+     * @param values Total number of values, for Multimaps; negative if
+     *    not applicable
+     */
+    public void recordSize(int entries, int values) {
+        if (_estimator != null) {
+            _estimator.record(entries, values);
+        }
+    }
+
+    /**
+     * @return Expected number of entries (keys of Multimaps, distinct elements
+     *   of Multisets), if specified, or learned; otherwise given default
+     */
+    public int getEntries(int defaultValue) {
+        if (_entries >= 0) {
+            return _entries;
+        }
+        if (_estimator != null) {
+            int learned = _estimator.getExpectedEntries();
+            if (learned >= 0) {
+                return learned;
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @return Expected number of values per key of Multimaps, if specified,
+     *   or learned; otherwise given default
+     */
+    public int getValuesPerKey(int defaultValue) {
+        if (_valuesPerKey >= 0) {
+            return _valuesPerKey;
+        }
+        if (_estimator != null) {
+            int learned = _estimator.getExpectedValuesPerKey();
+            if (learned >= 0) {
+                return learned;
+            }
+        }
+        return defaultValue;
+    }
+
+    public boolean hasEntries() { return getEntries(-1) >= 0; }
+
+    public boolean hasValuesPerKey() { return getValuesPerKey(-1) >= 0; }
+
+    public boolean shouldTrimToSize() { return _trimToSize; }
+
+    /**
+     * @return Estimator of the property, if size learning is enabled; otherwise null
+     */
+    public SizeEstimator getSizeEstimator() { return _estimator; }
+
+    @Override
+    public String toString() {
+        return "[SizeHints: entries="+_entries+", valuesPerKey="+_valuesPerKey
+                +", trimToSize="+_trimToSize+", estimator="+_estimator+"]";
+    }
+}
@@ -0,0 +1,277 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Helper class for constructing immutable sorted containers from deserialized
+ * values that are already in order, without sorting them again: Guava has no
+ * public factory methods for sorted arrays, but <code>copyOfSorted()</code>
+ * methods of {@link com.google.common.collect.ImmutableSortedSet} and
+ * {@link com.google.common.collect.ImmutableSortedMap} trust the ordering of
+ * the given {@link SortedSet} or {@link SortedMap}. Views returned by this
+ * class are minimal read-only implementations of those, exposing the first
+ * entries of a value buffer; they are only meant to be passed to these
+ * methods, and must not be retained.
+ *
+ * @since 2.7.4
+ */
+public final class SortedViews
+{
+    /**
+     * Method for checking whether given values are in strictly ascending order
+     * (and contain no nulls), as required by {@link #sortedSet} and {@link #sortedMap}.
+     *
+     * @param values Buffer with values to check
+     * @param count Number of values to check
+     * @param step Distance between values to check: 1 for consecutive values,
+     *    2 for keys of alternating keys and values
+     */
+    public static boolean isStrictlyOrdered(Comparator<Object> comparator,
+            Object[] values, int count, int step)
+    {
+        final int end = count * step;
+        if (end == 0) {
+            return true;
+        }
+        Object prev = values[0];
+        if (prev == null) {
+            return false;
+        }
+        for (int i = step; i < end; i += step) {
+            Object value = values[i];
+            if (value == null || comparator.compare(prev, value) >= 0) {
+                return false;
+            }
+            prev = value;
+        }
+        return true;
+    }
+
+    /**
+     * Factory method for a {@link SortedSet} view of first <code>count</code>
+     * values of given buffer, which must be in strictly ascending order
+     * according to given comparator.
+     */
+    public static SortedSet<Object> sortedSet(Comparator<Object> comparator,
+            Object[] values, int count)
+    {
+        return new SetView(comparator, values, count);
+    }
+
+    /**
+     * Factory method for a {@link SortedMap} view of first <code>count</code>
+     * entries of given buffer, with alternating keys and values; keys must be
+     * in strictly ascending order according to given comparator.
+     */
+    public static SortedMap<Object, Object> sortedMap(Comparator<Object> comparator,
+            Object[] keysAndValues, int count)
+    {
+        return new MapView(comparator, keysAndValues, count);
+    }
+
+    /*
+    /**********************************************************
+    /* Implementations
+    /**********************************************************
+     */
+
+    private final static class SetView extends AbstractSet<Object>
+        implements SortedSet<Object>
+    {
+        private final Comparator<Object> _comparator;
+        private final Object[] _values;
+        private final int _count;
+
+        SetView(Comparator<Object> comparator, Object[] values, int count) {
+            _comparator = comparator;
+            _values = values;
+            _count = count;
+        }
+
+        @Override
+        public int size() { return _count; }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(_values, _count);
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return new ArrayIterator(_values, _count, 1);
+        }
+
+        @Override
+        public Comparator<? super Object> comparator() { return _comparator; }
+
+        @Override
+        public Object first() {
+            if (_count == 0) {
+                throw new NoSuchElementException();
+            }
+            return _values[0];
+        }
+
+        @Override
+        public Object last() {
+            if (_count == 0) {
+                throw new NoSuchElementException();
+            }
+            return _values[_count-1];
+        }
+
+        @Override
+        public SortedSet<Object> subSet(Object fromElement, Object toElement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedSet<Object> headSet(Object toElement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedSet<Object> tailSet(Object fromElement) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final static class MapView extends AbstractMap<Object, Object>
+        implements SortedMap<Object, Object>
+    {
+        private final Comparator<Object> _comparator;
+        private final Object[] _keysAndValues;
+        private final int _count;
+
+        MapView(Comparator<Object> comparator, Object[] keysAndValues, int count) {
+            _comparator = comparator;
+            _keysAndValues = keysAndValues;
+            _count = count;
+        }
+
+        @Override
+        public int size() { return _count; }
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<Object, Object>>() {
+                @Override
+                public int size() { return _count; }
+
+                @Override
+                public Iterator<Map.Entry<Object, Object>> iterator() {
+                    return new EntryIterator(_keysAndValues, _count);
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super Object> comparator() { return _comparator; }
+
+        @Override
+        public Object firstKey() {
+            if (_count == 0) {
+                throw new NoSuchElementException();
+            }
+            return _keysAndValues[0];
+        }
+
+        @Override
+        public Object lastKey() {
+            if (_count == 0) {
+                throw new NoSuchElementException();
+            }
+            return _keysAndValues[(_count-1) << 1];
+        }
+
+        @Override
+        public SortedMap<Object, Object> subMap(Object fromKey, Object toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Object, Object> headMap(Object toKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<Object, Object> tailMap(Object fromKey) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final static class ArrayIterator implements Iterator<Object>
+    {
+        private final Object[] _values;
+        private final int _end;
+        private final int _step;
+        private int _index;
+
+        ArrayIterator(Object[] values, int count, int step) {
+            _values = values;
+            _end = count * step;
+            _step = step;
+        }
+
+        @Override
+        public boolean hasNext() { return _index < _end; }
+
+        @Override
+        public Object next() {
+            if (_index >= _end) {
+                throw new NoSuchElementException();
+            }
+            Object value = _values[_index];
+            _index += _step;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final static class EntryIterator implements Iterator<Map.Entry<Object, Object>>
+    {
+        private final Object[] _keysAndValues;
+        private final int _end;
+        private int _index;
+
+        EntryIterator(Object[] keysAndValues, int count) {
+            _keysAndValues = keysAndValues;
+            _end = count << 1;
+        }
+
+        @Override
+        public boolean hasNext() { return _index < _end; }
+
+        @Override
+        public Map.Entry<Object, Object> next() {
+            if (_index >= _end) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Object, Object> entry = new AbstractMap.SimpleImmutableEntry<Object, Object>(
+                    _keysAndValues[_index], _keysAndValues[_index+1]);
+            _index += 2;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    // prevent instantiation
+    private SortedViews() { }
+}
@@ -0,0 +1,113 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+
+/**
+ * Per-thread recycler of <code>Object[]</code> buffers used for collecting
+ * deserialized values before constructing immutable containers with exact size.
+ *<p>
+ * Buffers are leased and released in stack-like fashion, so nested containers
+ * each get a buffer of their own; a buffer that is not released (due to an
+ * exception) is simply dropped. Unlike
+ * {@link com.fasterxml.jackson.databind.util.ObjectBuffer}, the first buffer is
+ * retained even if it was big enough for all values, which matters for
+ * content with a lot of small containers. Released buffers are cleared so that
+ * no values are retained; and very big buffers are not retained at all.
+ *
+ * @since 2.7.4
+ */
+public final class ValueBufferRecycler
+{
+    private final static int INITIAL_SIZE = 16;
+
+    /**
+     * Maximum size of buffers to retain for reuse.
+     */
+    private final static int MAX_RETAINED_SIZE = (1 << 14);
+
+    /**
+     * Maximum number of released buffers to retain; deeper nesting
+     * than this will allocate new buffers.
+     */
+    private final static int MAX_RETAINED_COUNT = 8;
+
+    private final static ThreadLocal<SoftReference<ValueBufferRecycler>> _recyclerRef
+        = new ThreadLocal<SoftReference<ValueBufferRecycler>>();
+
+    private final Object[][] _free = new Object[MAX_RETAINED_COUNT][];
+
+    private int _freeCount;
+
+    private ValueBufferRecycler() { }
+
+    /**
+     * Accessor for the recycler of the current thread.
+     */
+    public static ValueBufferRecycler instance()
+    {
+        SoftReference<ValueBufferRecycler> ref = _recyclerRef.get();
+        ValueBufferRecycler recycler = (ref == null) ? null : ref.get();
+        if (recycler == null) {
+            recycler = new ValueBufferRecycler();
+            _recyclerRef.set(new SoftReference<ValueBufferRecycler>(recycler));
+        }
+        return recycler;
+    }
+
+    /**
+     * Method for leasing a buffer; caller should release it with
+     * {@link #release} once done.
+     */
+    public Object[] lease()
+    {
+        if (_freeCount > 0) {
+            Object[] buffer = _free[--_freeCount];
+            _free[_freeCount] = null;
+            return buffer;
+        }
+        return new Object[INITIAL_SIZE];
+    }
+
+    /**
+     * Alternative to {@link #lease()} for cases where the number of values is
+     * known (or expected): returned buffer has room for at least
+     * <code>minSize</code> values (rounded up to an even number).
+     */
+    public Object[] lease(int minSize)
+    {
+        if (_freeCount > 0 && _free[_freeCount-1].length >= minSize) {
+            return lease();
+        }
+        if (minSize <= INITIAL_SIZE) {
+            return lease();
+        }
+        // other free buffers are left for nested containers
+        return new Object[(minSize + 1) & ~1];
+    }
+
+    /**
+     * Method called when given (full) buffer needs to be expanded; returns
+     * a bigger copy, and the given buffer is no longer to be used.
+     */
+    public Object[] expand(Object[] buffer)
+    {
+        final int len = buffer.length;
+        // double for smaller, grow by 50% for bigger buffers; size is always kept
+        // even so that callers can store pairs of values
+        return Arrays.copyOf(buffer, (len < MAX_RETAINED_SIZE) ? (len + len) : ((len + (len >> 1)) & ~1));
+    }
+
+    /**
+     * Method for returning a buffer obtained with {@link #lease} (or
+     * {@link #expand}), of which first <code>used</code> elements may have been
+     * set; those are cleared before the buffer is retained for reuse.
+     */
+    public void release(Object[] buffer, int used)
+    {
+        if (buffer.length <= MAX_RETAINED_SIZE && _freeCount < MAX_RETAINED_COUNT) {
+            Arrays.fill(buffer, 0, used, null);
+            _free[_freeCount++] = buffer;
+        }
+    }
+}
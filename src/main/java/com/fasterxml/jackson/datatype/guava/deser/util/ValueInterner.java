@@ -0,0 +1,127 @@
+package com.fasterxml.jackson.datatype.guava.deser.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Helper class for canonicalizing ("interning") deserialized immutable containers,
+ * so that equal containers resolve to a single shared instance, and optionally
+ * also <code>String</code> elements, keys and values. Canonical instances are
+ * only weakly referenced, so they are retained only as long as they are used.
+ *<p>
+ * Containers are interned in separate pools per declared container type
+ * (and ordering, for sorted containers), since containers of different types
+ * may be equal (like an <code>ImmutableSet</code> and an <code>ImmutableSortedSet</code>
+ * with same elements), but are not interchangeable. Only containers up to the
+ * configured maximum size are interned, as big ones are less likely to repeat,
+ * and would be costly to hash and compare.
+ *<p>
+ * Note that interning is only safe for containers of immutable values: mutable
+ * values with value-based <code>equals()</code> would be shared between all
+ * containers that happen to be equal when deserialized.
+ *
+ * @since 2.7.4
+ */
+public final class ValueInterner
+{
+    /**
+     * Default maximum number of elements (or entries) of containers to intern.
+     */
+    public final static int DEFAULT_MAX_SIZE = 32;
+
+    private final int _maxSize;
+
+    /**
+     * Interner for Strings; null if Strings are not to be interned.
+     */
+    private final Interner<String> _strings;
+
+    /**
+     * Pools of interned containers, by container type; shared by all pools,
+     * but only used by the root instance (null for pools).
+     */
+    private final ConcurrentHashMap<Object, ValueInterner> _pools;
+
+    /**
+     * Interner for containers; null for the root instance.
+     */
+    private final Interner<Object> _containers;
+
+    /**
+     * @param maxSize Maximum number of elements (or entries) of containers to intern
+     * @param internStrings Whether <code>String</code> elements, keys and values are
+     *    also interned
+     */
+    public ValueInterner(int maxSize, boolean internStrings) {
+        _maxSize = maxSize;
+        _strings = internStrings ? Interners.<String>newWeakInterner() : null;
+        _pools = new ConcurrentHashMap<Object, ValueInterner>();
+        _containers = null;
+    }
+
+    private ValueInterner(ValueInterner root) {
+        _maxSize = root._maxSize;
+        _strings = root._strings;
+        _pools = null;
+        _containers = Interners.newWeakInterner();
+    }
+
+    /**
+     * Method for finding (or creating) the pool of interned containers of given
+     * declared type; if called on a pool, returns the pool itself.
+     *
+     * @param qualifier Additional distinguishing property of containers, like their
+     *    ordering; null if none
+     */
+    public ValueInterner forType(JavaType type, Object qualifier)
+    {
+        if (_pools == null) {
+            return this;
+        }
+        final Object key = (qualifier == null) ? type : Arrays.asList(type, qualifier);
+        ValueInterner pool = _pools.get(key);
+        if (pool == null) {
+            pool = new ValueInterner(this);
+            ValueInterner old = _pools.putIfAbsent(key, pool);
+            if (old != null) {
+                pool = old;
+            }
+        }
+        return pool;
+    }
+
+    public int getMaxSize() { return _maxSize; }
+
+    public boolean internsStrings() { return _strings != null; }
+
+    /**
+     * Method for finding the canonical instance of given container, of given size;
+     * containers bigger than the maximum size are returned as is. Must only be
+     * called on pools (see {@link #forType}).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T container, int size)
+    {
+        if (size > _maxSize || _containers == null) {
+            return container;
+        }
+        return (T) _containers.intern(container);
+    }
+
+    /**
+     * Method for finding the canonical instance of given element, key or value,
+     * if it is a <code>String</code> and Strings are interned; otherwise returns
+     * value as is.
+     */
+    public Object internValue(Object value)
+    {
+        if (_strings != null && value instanceof String) {
+            return _strings.intern((String) value);
+        }
+        return value;
+    }
+}
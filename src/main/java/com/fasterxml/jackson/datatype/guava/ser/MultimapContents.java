@@ -0,0 +1,97 @@
+package com.fasterxml.jackson.datatype.guava.ser;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.TreeMultimap;
+
+/**
+ * Helper class that encapsulates strategies for accessing contents of {@link Multimap}s,
+ * grouped by key, for serialization. Default strategy just uses {@link Multimap#asMap()};
+ * but for the standard map-based implementations (<code>ArrayListMultimap</code>,
+ * <code>HashMultimap</code>, <code>LinkedHashMultimap</code>, <code>TreeMultimap</code>)
+ * that view wraps every value collection (and its iterator), so their backing
+ * <code>Map</code> is used directly instead, if it can be accessed.
+ *<p>
+ * Note that immutable Multimaps already expose their backing map as is via
+ * {@link Multimap#asMap()}; and that for <code>LinkedListMultimap</code> there is no
+ * backing per-key storage in key order, so the view is used for it as well.
+ */
+abstract class MultimapContents
+{
+    /**
+     * Strategy that uses {@link Multimap#asMap()}; works for all implementations.
+     */
+    final static MultimapContents VIEW = new MultimapContents() {
+        @Override
+        public Map<?, ? extends Collection<?>> entries(Multimap<?, ?> mmap) {
+            return mmap.asMap();
+        }
+    };
+
+    /**
+     * Strategy that uses the backing map of <code>AbstractMapBasedMultimap</code>,
+     * if it could be accessed; otherwise same as {@link #VIEW}.
+     */
+    final static MultimapContents BACKING_MAP;
+    static {
+        final Field f = _findBackingMapField();
+        BACKING_MAP = (f == null) ? VIEW : new MultimapContents() {
+            @Override
+            public Map<?, ? extends Collection<?>> entries(Multimap<?, ?> mmap) {
+                try {
+                    @SuppressWarnings("unchecked")
+                    Map<?, ? extends Collection<?>> map = (Map<?, ? extends Collection<?>>) f.get(mmap);
+                    if (map != null) {
+                        return map;
+                    }
+                } catch (IllegalAccessException e) {
+                } catch (IllegalArgumentException e) { // not map-based after all?
+                }
+                return mmap.asMap();
+            }
+        };
+    }
+
+    /**
+     * Method for accessing contents of given Multimap, as a Map from keys to
+     * (non-empty) value collections. Returned Map must not be modified.
+     */
+    public abstract Map<?, ? extends Collection<?>> entries(Multimap<?, ?> mmap);
+
+    /**
+     * Factory method for choosing the strategy to use for given runtime type
+     * of Multimaps.
+     */
+    public static MultimapContents forClass(Class<?> cls)
+    {
+        if ((cls == ArrayListMultimap.class) || (cls == HashMultimap.class)
+                || (cls == LinkedHashMultimap.class) || (cls == TreeMultimap.class)) {
+            return BACKING_MAP;
+        }
+        return VIEW;
+    }
+
+    private static Field _findBackingMapField()
+    {
+        try {
+            Class<?> base = Class.forName("com.google.common.collect.AbstractMapBasedMultimap");
+            Field f = base.getDeclaredField("map");
+            if (!Map.class.isAssignableFrom(f.getType())
+                    || !base.isAssignableFrom(ArrayListMultimap.class)) {
+                return null;
+            }
+            f.setAccessible(true);
+            return f;
+        } catch (Exception e) {
+            // Class or field not found (different Guava version), or access denied
+            // by security manager or module system: just use views
+            return null;
+        }
+    }
+}
@@ -4,9 +4,14 @@ import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonArrayFormatVisitor;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatTypes;
 import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
 import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonMapFormatVisitor;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
@@ -15,9 +20,13 @@ import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
 import com.fasterxml.jackson.databind.ser.std.MapProperty;
+import com.fasterxml.jackson.databind.ser.std.StdKeySerializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.databind.type.MapLikeType;
+import com.fasterxml.jackson.databind.util.ClassUtil;
 
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Ordering;
 
 /**
  * Serializer for Guava's {@link Multimap} values. Output format encloses all
@@ -26,13 +35,16 @@ import com.google.common.collect.Multimap;
  * would be serialized as arrays (in which cases determining whether given array
  * is a wrapper or value gets complicated and unreliable).
  *<p>
- * Missing features, compared to standard Java Maps:
- *<ul>
- *  <li>Inclusion checks for content entries (non-null, non-empty)
- *   </li>
- *  <li>Sorting of entries
- *   </li>
- * </ul>
+ * Content inclusion (non-null, non-absent, non-empty, non-default) applies to
+ * individual values within value collections, for both filtered and unfiltered
+ * output: keys for which no values remain are omitted altogether.
+ *<p>
+ * Alternatively, with {@link JsonFormat.Shape#ARRAY} (either via
+ * <code>@JsonFormat</code> or as the module default), entries are written as
+ * a JSON Array of <code>[key, [value, ...]]</code> pairs, with keys serialized
+ * as regular values instead of field names. This avoids conversions to and from
+ * Strings for non-String keys; but property filters (<code>@JsonFilter</code>)
+ * are only applied to the Object shape.
  */
 public class MultimapSerializer
     extends ContainerSerializer<Multimap<?, ?>>
@@ -40,6 +52,22 @@ public class MultimapSerializer
 {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Keys are written using {@link #_keySerializer}
+     */
+    protected final static int KEYS_DEFAULT = 0;
+
+    /**
+     * Keys are Strings written directly, as they would be by the default key serializer
+     */
+    protected final static int KEYS_STRING = 1;
+
+    /**
+     * Keys are Enums written using pre-computed names, as they would be
+     * by the default key serializer
+     */
+    protected final static int KEYS_ENUM = 2;
+
     private final MapLikeType _type;
     private final BeanProperty _property;
     private final JsonSerializer<Object> _keySerializer;
@@ -71,16 +99,58 @@ public class MultimapSerializer
     /**
      * Flag set if output is forced to be sorted by keys (usually due
      * to annotation).
-     *<p>
-     * NOTE: not yet used.
      *
      * @since 2.5
      */
     protected final boolean _sortKeys;
-    
+
+    /**
+     * Inclusion criteria for individual values of value collections, if any;
+     * null if all values are to be included.
+     */
+    protected final JsonInclude.Include _contentInclusion;
+
+    /**
+     * Flag set if entries are to be written as a JSON Array of key/values pairs,
+     * instead of as a JSON Object.
+     */
+    protected final boolean _writeAsArray;
+
+    /**
+     * Serializer used for keys written as values (with Array shape), if it could
+     * be statically determined; null if not (or if not needed).
+     */
+    protected final JsonSerializer<Object> _keyValueSerializer;
+
+    /**
+     * If key type can not be statically determined (for Array shape), mapping
+     * from runtime key types to serializers.
+     */
+    protected PropertySerializerMap _dynamicKeyValueSerializers;
+
+    /**
+     * Which of the key writing modes (<code>KEYS_xxx</code>) is used; anything other
+     * than {@link #KEYS_DEFAULT} is only used when the default key serializer would
+     * otherwise be used.
+     */
+    protected final int _keyMode;
+
+    /**
+     * With {@link #KEYS_ENUM}, field names for Enum keys, indexed by ordinal:
+     * using {@link Enum#name()} and {@link Enum#toString()}, respectively.
+     */
+    protected final SerializedString[] _enumKeyNames, _enumKeyToStrings;
+
     public MultimapSerializer(MapLikeType type, BeanDescription beanDesc,
             JsonSerializer<Object> keySerializer, TypeSerializer vts, JsonSerializer<Object> valueSerializer,
             Set<String> ignoredEntries, Object filterId)
+    {
+        this(type, beanDesc, keySerializer, vts, valueSerializer, ignoredEntries, filterId, false);
+    }
+
+    public MultimapSerializer(MapLikeType type, BeanDescription beanDesc,
+            JsonSerializer<Object> keySerializer, TypeSerializer vts, JsonSerializer<Object> valueSerializer,
+            Set<String> ignoredEntries, Object filterId, boolean writeAsArray)
     {
         super(type.getRawClass(), false);
         _type = type;
@@ -91,17 +161,34 @@ public class MultimapSerializer
         _ignoredEntries = ignoredEntries;
         _filterId = filterId;
         _sortKeys = false;
+        _contentInclusion = null;
+        _writeAsArray = writeAsArray;
+        _keyValueSerializer = null;
+        _keyMode = KEYS_DEFAULT;
+        _enumKeyNames = null;
+        _enumKeyToStrings = null;
 
         _dynamicValueSerializers = PropertySerializerMap.emptyForProperties();
+        _dynamicKeyValueSerializers = PropertySerializerMap.emptyForProperties();
     }
 
     /**
      * @since 2.5
      */
-    @SuppressWarnings("unchecked")
     protected MultimapSerializer(MultimapSerializer src, BeanProperty property,
                 JsonSerializer<?> keySerializer, TypeSerializer vts, JsonSerializer<?> valueSerializer,
                 Set<String> ignoredEntries, Object filterId, boolean sortKeys)
+    {
+        this(src, property, keySerializer, vts, valueSerializer, ignoredEntries, filterId,
+                sortKeys, src._contentInclusion, src._writeAsArray, src._keyValueSerializer);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected MultimapSerializer(MultimapSerializer src, BeanProperty property,
+                JsonSerializer<?> keySerializer, TypeSerializer vts, JsonSerializer<?> valueSerializer,
+                Set<String> ignoredEntries, Object filterId, boolean sortKeys,
+                JsonInclude.Include contentInclusion, boolean writeAsArray,
+                JsonSerializer<?> keyValueSerializer)
     {
         super(src);
         _type = src._type;
@@ -110,23 +197,85 @@ public class MultimapSerializer
         _valueTypeSerializer = vts;
         _valueSerializer = (JsonSerializer<Object>) valueSerializer;
         _dynamicValueSerializers = src._dynamicValueSerializers;
+        _dynamicKeyValueSerializers = src._dynamicKeyValueSerializers;
         _ignoredEntries = ignoredEntries;
         _filterId = filterId;
         _sortKeys = sortKeys;
+        // as with Maps, "absent" means "empty" for reference types (like Optional), "null" otherwise
+        if (contentInclusion == JsonInclude.Include.NON_ABSENT) {
+            contentInclusion = _type.getContentType().isReferenceType()
+                    ? JsonInclude.Include.NON_EMPTY : JsonInclude.Include.NON_NULL;
+        }
+        _contentInclusion = contentInclusion;
+        _writeAsArray = writeAsArray;
+        _keyValueSerializer = (JsonSerializer<Object>) keyValueSerializer;
+        // Key writing mode only depends on key serializer, so can often reuse
+        if ((keySerializer == src._keySerializer) && (src._keyMode != KEYS_DEFAULT)) {
+            _keyMode = src._keyMode;
+            _enumKeyNames = src._enumKeyNames;
+            _enumKeyToStrings = src._enumKeyToStrings;
+        } else {
+            _keyMode = _resolveKeyMode(_type.getKeyType().getRawClass(), keySerializer);
+            if (_keyMode == KEYS_ENUM) {
+                Enum<?>[] enums = ClassUtil.findEnumType(_type.getKeyType().getRawClass())
+                        .getEnumConstants();
+                _enumKeyNames = new SerializedString[enums.length];
+                _enumKeyToStrings = new SerializedString[enums.length];
+                for (Enum<?> en : enums) {
+                    _enumKeyNames[en.ordinal()] = new SerializedString(en.name());
+                    _enumKeyToStrings[en.ordinal()] = new SerializedString(en.toString());
+                }
+            } else {
+                _enumKeyNames = null;
+                _enumKeyToStrings = null;
+            }
+        }
+    }
+
+    /**
+     * Helper method for determining whether keys can be written without calling
+     * given key serializer; only true for the default key serializers of
+     * Strings and Enums.
+     */
+    private static int _resolveKeyMode(Class<?> rawKeyType, JsonSerializer<?> keySer)
+    {
+        if (keySer == null) {
+            return KEYS_DEFAULT;
+        }
+        Class<?> serClass = keySer.getClass();
+        if ((rawKeyType == String.class) && (serClass == StdKeySerializers.StringKeySerializer.class)) {
+            return KEYS_STRING;
+        }
+        if (rawKeyType.isEnum() && (serClass == StdKeySerializers.Default.class)
+                && (rawKeyType == keySer.handledType())) {
+            return KEYS_ENUM;
+        }
+        return KEYS_DEFAULT;
     }
 
     protected MultimapSerializer withResolved(BeanProperty property,
             JsonSerializer<?> keySer, TypeSerializer vts, JsonSerializer<?> valueSer,
             Set<String> ignored, Object filterId, boolean sortKeys)
+    {
+        return withResolved(property, keySer, vts, valueSer,
+                ignored, filterId, sortKeys, _contentInclusion, _writeAsArray, _keyValueSerializer);
+    }
+
+    protected MultimapSerializer withResolved(BeanProperty property,
+            JsonSerializer<?> keySer, TypeSerializer vts, JsonSerializer<?> valueSer,
+            Set<String> ignored, Object filterId, boolean sortKeys,
+            JsonInclude.Include contentInclusion, boolean writeAsArray,
+            JsonSerializer<?> keyValueSer)
     {
         return new MultimapSerializer(this, property, keySer, vts, valueSer,
-                ignored, filterId, sortKeys);
+                ignored, filterId, sortKeys, contentInclusion, writeAsArray, keyValueSer);
     }
 
     @Override
     protected ContainerSerializer<?> _withValueTypeSerializer(TypeSerializer typeSer) {
         return new MultimapSerializer(this, _property, _keySerializer,
-                typeSer, _valueSerializer, _ignoredEntries, _filterId, _sortKeys);
+                typeSer, _valueSerializer, _ignoredEntries, _filterId, _sortKeys,
+                _contentInclusion, _writeAsArray, _keyValueSerializer);
     }
 
     /*
@@ -208,8 +357,34 @@ public class MultimapSerializer
             Boolean b = intr.findSerializationSortAlphabetically(propertyAcc);
             sortKeys = (b != null) && b.booleanValue();
         }
+        JsonInclude.Include contentIncl = _contentInclusion;
+        if (property != null) {
+            JsonInclude.Include incl = property.findPropertyInclusion(provider.getConfig(),
+                    Multimap.class).getContentInclusion();
+            if ((incl != null) && (incl != JsonInclude.Include.USE_DEFAULTS)) {
+                contentIncl = (incl == JsonInclude.Include.ALWAYS) ? null : incl;
+            }
+        }
+        boolean asArray = _writeAsArray;
+        JsonFormat.Value format = findFormatOverrides(provider, property, Multimap.class);
+        if ((format != null) && format.hasShape()) {
+            JsonFormat.Shape shape = format.getShape();
+            if (shape == JsonFormat.Shape.ARRAY) {
+                asArray = true;
+            } else if (shape == JsonFormat.Shape.OBJECT) {
+                asArray = false;
+            }
+        }
+        JsonSerializer<?> keyValueSer = null;
+        if (asArray) {
+            // keys written as values: can resolve serializer now if type is static
+            JavaType keyType = _type.getKeyType();
+            if (keyType.isFinal() || keyType.useStaticType()) {
+                keyValueSer = provider.findValueSerializer(keyType, property);
+            }
+        }
         return withResolved(property, keySer, typeSer, valueSer,
-                ignored, filterId, sortKeys);
+                ignored, filterId, sortKeys, contentIncl, asArray, keyValueSer);
     }
 
     /*
@@ -254,17 +429,21 @@ public class MultimapSerializer
     public void serialize(Multimap<?, ?> value, JsonGenerator gen, SerializerProvider provider)
         throws IOException
     {
-        gen.writeStartObject();
+        if (_writeAsArray) {
+            gen.writeStartArray();
+        } else {
+            gen.writeStartObject();
+        }
         // [databind#631]: Assign current value, to be accessible by custom serializers
         gen.setCurrentValue(value);
         if (!value.isEmpty()) {
-            if (_filterId != null) {
-                serializeOptionalFields(value, gen, provider);
-            } else {
-                serializeFields(value, gen, provider);
-            }
-        }        
-        gen.writeEndObject();
+            _serializeContents(value, gen, provider);
+        }
+        if (_writeAsArray) {
+            gen.writeEndArray();
+        } else {
+            gen.writeEndObject();
+        }
     }
 
     @Override
@@ -272,82 +451,151 @@ public class MultimapSerializer
             TypeSerializer typeSer)
         throws IOException
     {
-        typeSer.writeTypePrefixForObject(value, gen);
+        if (_writeAsArray) {
+            typeSer.writeTypePrefixForArray(value, gen);
+        } else {
+            typeSer.writeTypePrefixForObject(value, gen);
+        }
         gen.setCurrentValue(value);
         if (!value.isEmpty()) {
-            if (_filterId != null) {
-                serializeOptionalFields(value, gen, provider);
-            } else {
-                serializeFields(value, gen, provider);
-            }
+            _serializeContents(value, gen, provider);
+        }
+        if (_writeAsArray) {
+            typeSer.writeTypeSuffixForArray(value, gen);
+        } else {
+            typeSer.writeTypeSuffixForObject(value, gen);
         }
-        typeSer.writeTypeSuffixForObject(value, gen);
     }
 
-    private final void serializeFields(Multimap<?, ?> mmap, JsonGenerator gen, SerializerProvider provider)
-            throws IOException
+    private final void _serializeContents(Multimap<?, ?> value, JsonGenerator gen,
+            SerializerProvider provider) throws IOException
+    {
+        // avoid per-key wrappers of asMap() view where possible
+        Map<?, ? extends Collection<?>> entries = MultimapContents.forClass(value.getClass())
+                .entries(value);
+        if (_sortKeys || provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)) {
+            entries = _orderEntries(entries, gen);
+        }
+        if (_writeAsArray) {
+            serializeAsArray(entries, gen, provider);
+        } else if (_filterId != null) {
+            serializeOptionalFields(value, entries, gen, provider);
+        } else {
+            serializeFields(entries, gen, provider);
+        }
+    }
+
+    private final void serializeFields(Map<?, ? extends Collection<?>> entries, JsonGenerator gen,
+            SerializerProvider provider)
+        throws IOException
     {
         final Set<String> ignored = _ignoredEntries;
-        PropertySerializerMap serializers = _dynamicValueSerializers;
-        for (Entry<?, ? extends Collection<?>> entry : mmap.asMap().entrySet()) {
+        final JsonInclude.Include incl = _contentInclusion;
+        final SerializedString[] enumKeys = (_keyMode != KEYS_ENUM) ? null
+                : (provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                        ? _enumKeyToStrings : _enumKeyNames);
+        for (Entry<?, ? extends Collection<?>> entry : entries.entrySet()) {
             // First, serialize key
             Object key = entry.getKey();
             if ((ignored != null) && ignored.contains(key)) {
                 continue;
             }
+            Collection<?> values = entry.getValue();
+            // with content inclusion, need to check there is something to write
+            if ((incl != null) && !_hasIncludedValue(values, incl, provider)) {
+                continue;
+            }
             if (key == null) {
                 provider.findNullKeySerializer(_type.getKeyType(), _property)
                     .serialize(null, gen, provider);
+            } else if (_keyMode == KEYS_STRING) {
+                gen.writeFieldName((String) key);
+            } else if (enumKeys != null) {
+                gen.writeFieldName(enumKeys[((Enum<?>) key).ordinal()]);
             } else {
                 _keySerializer.serialize(key, gen, provider);
             }
-            // note: value is a List, but generic type is for contents... so:
+            _serializeValues(values, gen, provider);
+        }
+    }
+
+    private final void serializeAsArray(Map<?, ? extends Collection<?>> entries, JsonGenerator gen,
+            SerializerProvider provider)
+        throws IOException
+    {
+        final Set<String> ignored = _ignoredEntries;
+        final JsonInclude.Include incl = _contentInclusion;
+        for (Entry<?, ? extends Collection<?>> entry : entries.entrySet()) {
+            Object key = entry.getKey();
+            if ((ignored != null) && ignored.contains(key)) {
+                continue;
+            }
+            Collection<?> values = entry.getValue();
+            if ((incl != null) && !_hasIncludedValue(values, incl, provider)) {
+                continue;
+            }
             gen.writeStartArray();
-            for (Object vv : entry.getValue()) {
-                if (vv == null) {
+            if (key == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                _findKeyValueSerializer(key, provider).serialize(key, gen, provider);
+            }
+            _serializeValues(values, gen, provider);
+            gen.writeEndArray();
+        }
+    }
+
+    private final void _serializeValues(Collection<?> values, JsonGenerator gen,
+            SerializerProvider provider)
+        throws IOException
+    {
+        final JsonInclude.Include incl = _contentInclusion;
+        // note: value is a List, but generic type is for contents... so:
+        gen.writeStartArray();
+        for (Object vv : values) {
+            if (vv == null) {
+                if (incl == null) {
                     provider.defaultSerializeNull(gen);
-                    continue;
-                }
-                JsonSerializer<Object> valueSer = _valueSerializer;
-                if (valueSer == null) {
-                    Class<?> cc = vv.getClass();
-                    valueSer = serializers.serializerFor(cc);
-                    if (valueSer == null) {
-                        valueSer = _findAndAddDynamic(serializers, cc, provider);
-                        serializers = _dynamicValueSerializers;
-                    }
-                }
-                if (_valueTypeSerializer == null) {
-                    valueSer.serialize(vv, gen, provider);
-                } else {
-                    valueSer.serializeWithType(vv, gen, provider, _valueTypeSerializer);
                 }
+                continue;
+            }
+            JsonSerializer<Object> valueSer = _findValueSerializer(vv, provider);
+            if ((incl != null) && !_isIncludedValue(vv, valueSer, incl, provider)) {
+                continue;
+            }
+            if (_valueTypeSerializer == null) {
+                valueSer.serialize(vv, gen, provider);
+            } else {
+                valueSer.serializeWithType(vv, gen, provider, _valueTypeSerializer);
             }
-            gen.writeEndArray();
         }
+        gen.writeEndArray();
     }
 
-    private final void serializeOptionalFields(Multimap<?, ?> mmap, JsonGenerator gen, SerializerProvider provider)
-            throws IOException
+    private final void serializeOptionalFields(Multimap<?, ?> mmap, Map<?, ? extends Collection<?>> entries,
+            JsonGenerator gen, SerializerProvider provider)
+        throws IOException
     {
         final Set<String> ignored = _ignoredEntries;
-        PropertyFilter filter = findPropertyFilter(provider, _filterId, mmap);  
-        final MapProperty prop = new MapProperty(_valueTypeSerializer, _property);
-        for (Entry<?, ? extends Collection<?>> entry : mmap.asMap().entrySet()) {
+        final JsonInclude.Include incl = _contentInclusion;
+        PropertyFilter filter = findPropertyFilter(provider, _filterId, mmap);
+        // value collections are written by this serializer, so content inclusion applies
+        final JsonSerializer<Object> valuesSer = new ValuesSerializer();
+        final MapProperty prop = new MapProperty(null, _property);
+        for (Entry<?, ? extends Collection<?>> entry : entries.entrySet()) {
             // First, serialize key
             Object key = entry.getKey();
             if ((ignored != null) && ignored.contains(key)) {
                 continue;
             }
             Collection<?> value = entry.getValue();
-            JsonSerializer<Object> valueSer;
-            if (value == null) {
-                // !!! TODO: null suppression?
-                valueSer = provider.getDefaultNullValueSerializer();
-            } else {
-                valueSer = _valueSerializer;
+            if ((incl != null) && !_hasIncludedValue(value, incl, provider)) {
+                continue;
             }
-            prop.reset(key, _keySerializer, valueSer);
+            JsonSerializer<Object> keySer = (key == null)
+                    ? provider.findNullKeySerializer(_type.getKeyType(), _property)
+                    : _keySerializer;
+            prop.reset(key, keySer, valuesSer);
             try {
                 filter.serializeAsField(value, gen, provider, prop);
             } catch (Exception e) {
@@ -356,7 +604,26 @@ public class MultimapSerializer
             }
         }
     }
-    
+
+    /**
+     * Serializer passed to property filters for writing value collections.
+     */
+    private final class ValuesSerializer extends StdSerializer<Object>
+    {
+        private static final long serialVersionUID = 1L;
+
+        ValuesSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException
+        {
+            _serializeValues((Collection<?>) value, gen, provider);
+        }
+    }
+
     /*
     /**********************************************************
     /* Schema related functionality
@@ -367,6 +634,13 @@ public class MultimapSerializer
     public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
         throws JsonMappingException
     {
+        if (_writeAsArray) {
+            JsonArrayFormatVisitor v2 = (visitor == null) ? null : visitor.expectArrayFormat(typeHint);
+            if (v2 != null) {
+                v2.itemsFormat(JsonFormatTypes.ARRAY);
+            }
+            return;
+        }
         JsonMapFormatVisitor v2 = (visitor == null) ? null : visitor.expectMapFormat(typeHint);        
         if (v2 != null) {
             v2.keyFormat(_keySerializer, _type.getKeyType());
@@ -385,7 +659,145 @@ public class MultimapSerializer
     /* Internal helper methods
     /**********************************************************
      */
-    
+
+    /**
+     * Helper method for getting entries in natural order of keys: if the
+     * entry map is already sorted that way (as is the case
+     * with {@link com.google.common.collect.TreeMultimap}), it is used as is;
+     * otherwise a {@link TreeMap} referencing the same value collections is built.
+     * Since null keys can not be sorted, entry with null key (if any) is written first.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Map<?, ? extends Collection<?>> _orderEntries(Map<?, ? extends Collection<?>> input,
+            JsonGenerator gen) throws JsonMappingException
+    {
+        if (input instanceof SortedMap<?,?>) {
+            Comparator<?> comp = ((SortedMap<?,?>) input).comparator();
+            if ((comp == null) || Ordering.natural().equals(comp)) {
+                return input;
+            }
+        }
+        TreeMap sorted = new TreeMap();
+        Collection<?> nullKeyValues = null;
+        for (Entry<?, ? extends Collection<?>> entry : input.entrySet()) {
+            Object key = entry.getKey();
+            if (key == null) {
+                nullKeyValues = entry.getValue();
+                continue;
+            }
+            try {
+                sorted.put(key, entry.getValue());
+            } catch (ClassCastException e) {
+                throw JsonMappingException.from(gen, "Can not order Multimap entries by key: key ("
+                        + key + ") of type " + key.getClass().getName()
+                        + " is not Comparable with other keys", e);
+            }
+        }
+        if (nullKeyValues == null) {
+            return sorted;
+        }
+        Map<Object, Collection<?>> result = new LinkedHashMap<Object, Collection<?>>(sorted.size() + 1);
+        result.put(null, nullKeyValues);
+        result.putAll(sorted);
+        return result;
+    }
+
+    /**
+     * Helper method for checking whether given value collection has at least
+     * one value that passes content inclusion criteria; used to avoid writing
+     * keys that would have no values.
+     */
+    protected boolean _hasIncludedValue(Collection<?> values, JsonInclude.Include incl,
+            SerializerProvider provider) throws IOException
+    {
+        for (Object vv : values) {
+            if (vv == null) {
+                continue;
+            }
+            if (_isIncludedValue(vv, _findValueSerializer(vv, provider), incl, provider)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method for checking whether given non-null value passes content
+     * inclusion criteria (all of which exclude nulls). <code>NON_DEFAULT</code> also
+     * excludes default values of wrapper types (like <code>0</code> and
+     * <code>false</code>), and dates of the epoch.
+     */
+    protected boolean _isIncludedValue(Object value, JsonSerializer<Object> valueSer,
+            JsonInclude.Include incl, SerializerProvider provider)
+    {
+        if (incl == JsonInclude.Include.NON_EMPTY) {
+            return !valueSer.isEmpty(provider, value);
+        }
+        if (incl == JsonInclude.Include.NON_DEFAULT) {
+            return !valueSer.isEmpty(provider, value) && !_isDefaultValue(value);
+        }
+        return true;
+    }
+
+    private static boolean _isDefaultValue(Object value)
+    {
+        if ((value instanceof Integer) || (value instanceof Long)
+                || (value instanceof Short) || (value instanceof Byte)) {
+            return ((Number) value).longValue() == 0L;
+        }
+        if ((value instanceof Double) || (value instanceof Float)) {
+            return ((Number) value).doubleValue() == 0.0;
+        }
+        if (value instanceof Boolean) {
+            return !((Boolean) value).booleanValue();
+        }
+        if (value instanceof Character) {
+            return ((Character) value).charValue() == '\0';
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime() == 0L;
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).getTimeInMillis() == 0L;
+        }
+        return false;
+    }
+
+    protected final JsonSerializer<Object> _findValueSerializer(Object value,
+            SerializerProvider provider) throws JsonMappingException
+    {
+        JsonSerializer<Object> ser = _valueSerializer;
+        if (ser == null) {
+            Class<?> cc = value.getClass();
+            PropertySerializerMap serializers = _dynamicValueSerializers;
+            ser = serializers.serializerFor(cc);
+            if (ser == null) {
+                ser = _findAndAddDynamic(serializers, cc, provider);
+            }
+        }
+        return ser;
+    }
+
+    protected final JsonSerializer<Object> _findKeyValueSerializer(Object key,
+            SerializerProvider provider) throws JsonMappingException
+    {
+        JsonSerializer<Object> ser = _keyValueSerializer;
+        if (ser == null) {
+            Class<?> cc = key.getClass();
+            PropertySerializerMap serializers = _dynamicKeyValueSerializers;
+            ser = serializers.serializerFor(cc);
+            if (ser == null) {
+                PropertySerializerMap.SerializerAndMapResult result =
+                        serializers.findAndAddSecondarySerializer(cc, provider, _property);
+                if (serializers != result.map) {
+                    _dynamicKeyValueSerializers = result.map;
+                }
+                ser = result.serializer;
+            }
+        }
+        return ser;
+    }
+
     protected final JsonSerializer<Object> _findAndAddDynamic(PropertySerializerMap map,
             Class<?> type, SerializerProvider provider) throws JsonMappingException
     {
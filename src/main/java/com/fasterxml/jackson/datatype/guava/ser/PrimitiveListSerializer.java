@@ -0,0 +1,254 @@
+package com.fasterxml.jackson.datatype.guava.ser;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatTypes;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+
+/**
+ * Base class for serializers of Lists backed by primitive arrays, as returned by
+ * {@link Ints#asList}, {@link Longs#asList} and {@link Doubles#asList}: values are
+ * written from a copy of the backing array (which Guava provides without boxing),
+ * instead of accessing them one (boxed) element at a time.
+ *<p>
+ * As with standard List serializers, single-element Lists are written as the
+ * element itself if {@link SerializationFeature#WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED}
+ * (or matching {@link JsonFormat.Feature}) is enabled.
+ *
+ * @since 2.7.4
+ */
+public abstract class PrimitiveListSerializer<T extends List<?>>
+    extends StdSerializer<T>
+    implements ContextualSerializer
+{
+    private static final long serialVersionUID = 1L;
+
+    // Implementation types are private, so need to find them from instances
+    private final static Class<?> INT_LIST_TYPE = Ints.asList(0).getClass();
+    private final static Class<?> LONG_LIST_TYPE = Longs.asList(0L).getClass();
+    private final static Class<?> DOUBLE_LIST_TYPE = Doubles.asList(0.0).getClass();
+
+    /**
+     * Whether single-element Lists are to be written without wrapping JSON Array,
+     * as per property format; null if not specified (to use
+     * {@link SerializationFeature#WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED}).
+     */
+    protected final Boolean _unwrapSingle;
+
+    protected PrimitiveListSerializer(Class<?> type, Boolean unwrapSingle) {
+        super(type, false);
+        _unwrapSingle = unwrapSingle;
+    }
+
+    protected abstract PrimitiveListSerializer<T> withUnwrapSingle(Boolean unwrapSingle);
+
+    /**
+     * Factory method for finding serializer for given List type, if it is one of
+     * primitive array-backed types; returns null if not.
+     */
+    public static JsonSerializer<?> find(Class<?> listType)
+    {
+        if (listType == INT_LIST_TYPE) {
+            return IntListSerializer.instance;
+        }
+        if (listType == LONG_LIST_TYPE) {
+            return LongListSerializer.instance;
+        }
+        if (listType == DOUBLE_LIST_TYPE) {
+            return DoubleListSerializer.instance;
+        }
+        return null;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+        throws JsonMappingException
+    {
+        Boolean unwrapSingle = null;
+        if (property != null) {
+            JsonFormat.Value format = property.findPropertyFormat(provider.getConfig(), _handledType);
+            if (format != null) {
+                unwrapSingle = format.getFeature(JsonFormat.Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED);
+            }
+        }
+        if ((unwrapSingle == null) ? (_unwrapSingle == null) : unwrapSingle.equals(_unwrapSingle)) {
+            return this;
+        }
+        return withUnwrapSingle(unwrapSingle);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, T value) {
+        return (value == null) || value.isEmpty();
+    }
+
+    @Override
+    public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException
+    {
+        if ((value.size() == 1) && ((_unwrapSingle == null)
+                ? provider.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)
+                : _unwrapSingle.booleanValue())) {
+            _serializeSingle(value, gen);
+            return;
+        }
+        _serializeContents(value, gen);
+    }
+
+    @Override
+    public void serializeWithType(T value, JsonGenerator gen, SerializerProvider provider,
+            TypeSerializer typeSer) throws IOException
+    {
+        typeSer.writeTypePrefixForArray(value, gen);
+        _serializeContents(value, gen);
+        typeSer.writeTypeSuffixForArray(value, gen);
+    }
+
+    protected abstract void _serializeContents(T value, JsonGenerator gen) throws IOException;
+
+    /**
+     * Method called to write the only element of a single-element List, without
+     * wrapping JSON Array.
+     */
+    protected abstract void _serializeSingle(T value, JsonGenerator gen) throws IOException;
+
+    /*
+    /**********************************************************
+    /* Concrete serializers
+    /**********************************************************
+     */
+
+    public final static class IntListSerializer extends PrimitiveListSerializer<List<Integer>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static IntListSerializer instance = new IntListSerializer();
+
+        public IntListSerializer() { this(null); }
+
+        protected IntListSerializer(Boolean unwrapSingle) { super(List.class, unwrapSingle); }
+
+        @Override
+        protected IntListSerializer withUnwrapSingle(Boolean unwrapSingle) {
+            return new IntListSerializer(unwrapSingle);
+        }
+
+        @Override
+        protected void _serializeContents(List<Integer> value, JsonGenerator gen) throws IOException
+        {
+            final int[] values = Ints.toArray(value);
+            gen.writeStartArray(values.length);
+            for (int i = 0, len = values.length; i < len; ++i) {
+                gen.writeNumber(values[i]);
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        protected void _serializeSingle(List<Integer> value, JsonGenerator gen) throws IOException
+        {
+            gen.writeNumber(value.get(0).intValue());
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+            throws JsonMappingException
+        {
+            visitArrayFormat(visitor, typeHint, JsonFormatTypes.INTEGER);
+        }
+    }
+
+    public final static class LongListSerializer extends PrimitiveListSerializer<List<Long>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static LongListSerializer instance = new LongListSerializer();
+
+        public LongListSerializer() { this(null); }
+
+        protected LongListSerializer(Boolean unwrapSingle) { super(List.class, unwrapSingle); }
+
+        @Override
+        protected LongListSerializer withUnwrapSingle(Boolean unwrapSingle) {
+            return new LongListSerializer(unwrapSingle);
+        }
+
+        @Override
+        protected void _serializeContents(List<Long> value, JsonGenerator gen) throws IOException
+        {
+            final long[] values = Longs.toArray(value);
+            gen.writeStartArray(values.length);
+            for (int i = 0, len = values.length; i < len; ++i) {
+                gen.writeNumber(values[i]);
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        protected void _serializeSingle(List<Long> value, JsonGenerator gen) throws IOException
+        {
+            gen.writeNumber(value.get(0).longValue());
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+            throws JsonMappingException
+        {
+            visitArrayFormat(visitor, typeHint, JsonFormatTypes.INTEGER);
+        }
+    }
+
+    public final static class DoubleListSerializer extends PrimitiveListSerializer<List<Double>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        final static DoubleListSerializer instance = new DoubleListSerializer();
+
+        public DoubleListSerializer() { this(null); }
+
+        protected DoubleListSerializer(Boolean unwrapSingle) { super(List.class, unwrapSingle); }
+
+        @Override
+        protected DoubleListSerializer withUnwrapSingle(Boolean unwrapSingle) {
+            return new DoubleListSerializer(unwrapSingle);
+        }
+
+        @Override
+        protected void _serializeContents(List<Double> value, JsonGenerator gen) throws IOException
+        {
+            final double[] values = Doubles.toArray(value);
+            gen.writeStartArray(values.length);
+            for (int i = 0, len = values.length; i < len; ++i) {
+                gen.writeNumber(values[i]);
+            }
+            gen.writeEndArray();
+        }
+
+        @Override
+        protected void _serializeSingle(List<Double> value, JsonGenerator gen) throws IOException
+        {
+            gen.writeNumber(value.get(0).doubleValue());
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+            throws JsonMappingException
+        {
+            visitArrayFormat(visitor, typeHint, JsonFormatTypes.NUMBER);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.fasterxml.jackson.datatype.guava.ser;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+
+/**
+ * Helper class that encapsulates strategies for accessing contents of {@link Table}s,
+ * grouped by row (or column), for serialization. Default strategy just uses {@link Table#rowMap()};
+ * but for <code>HashBasedTable</code> and <code>TreeBasedTable</code> that view
+ * creates a row wrapper (and iterator over it) for every row, so their backing
+ * <code>Map</code> of rows is used directly instead, if it can be accessed.
+ *<p>
+ * Similarly for contents grouped by column, {@link Table#columnMap()} is used by
+ * default, but since for <code>HashBasedTable</code> and <code>TreeBasedTable</code>
+ * iterating over each column of that view scans all rows, those are instead
+ * transposed with a single pass over rows.
+ *
+ * @see MultimapContents
+ */
+abstract class TableContents
+{
+    /**
+     * Strategy that uses {@link Table#rowMap()}; works for all implementations.
+     */
+    final static TableContents VIEW = new TableContents() {
+        @Override
+        public Map<?, ? extends Map<?, ?>> rows(Table<?, ?, ?> table) {
+            return table.rowMap();
+        }
+    };
+
+    /**
+     * Strategy that uses the backing map of <code>StandardTable</code>
+     * for rows, if it could be accessed (otherwise {@link Table#rowMap()}),
+     * and transposes rows for columns.
+     */
+    final static TableContents BACKING_MAP;
+    static {
+        final Field f = _findBackingMapField();
+        BACKING_MAP = new TableContents() {
+            @Override
+            public Map<?, ? extends Map<?, ?>> rows(Table<?, ?, ?> table) {
+                if (f != null) {
+                    try {
+                        @SuppressWarnings("unchecked")
+                        Map<?, ? extends Map<?, ?>> map = (Map<?, ? extends Map<?, ?>>) f.get(table);
+                        if (map != null) {
+                            return map;
+                        }
+                    } catch (IllegalAccessException e) {
+                    } catch (IllegalArgumentException e) { // not StandardTable after all?
+                    }
+                }
+                return table.rowMap();
+            }
+
+            @Override
+            public Map<?, ? extends Map<?, ?>> columns(Table<?, ?, ?> table) {
+                final Comparator<?> comp = (table instanceof TreeBasedTable<?, ?, ?>)
+                        ? ((TreeBasedTable<?, ?, ?>) table).columnComparator() : null;
+                return _transpose(rows(table), comp);
+            }
+        };
+    }
+
+    /**
+     * Method for accessing contents of given Table, as a Map from row keys to
+     * rows (Maps from column keys to values). Returned Map must not be modified.
+     */
+    public abstract Map<?, ? extends Map<?, ?>> rows(Table<?, ?, ?> table);
+
+    /**
+     * Method for accessing contents of given Table, as a Map from column keys to
+     * columns (Maps from row keys to values). Returned Map must not be modified.
+     */
+    public Map<?, ? extends Map<?, ?>> columns(Table<?, ?, ?> table) {
+        return table.columnMap();
+    }
+
+    /**
+     * Factory method for choosing the strategy to use for given runtime type
+     * of Tables.
+     */
+    public static TableContents forClass(Class<?> cls)
+    {
+        if ((cls == HashBasedTable.class) || (cls == TreeBasedTable.class)) {
+            return BACKING_MAP;
+        }
+        return VIEW;
+    }
+
+    /**
+     * Helper method for building a Map of columns from a Map of rows; columns
+     * are sorted using given comparator, if any, otherwise in order of first
+     * appearance, same as with <code>columnKeySet()</code> of standard Tables.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<Object, Map<Object, Object>> _transpose(Map<?, ? extends Map<?, ?>> rows,
+            Comparator<?> columnComparator)
+    {
+        final Map<Object, Map<Object, Object>> columns = (columnComparator == null)
+                ? new LinkedHashMap<Object, Map<Object, Object>>()
+                : new TreeMap<Object, Map<Object, Object>>((Comparator<Object>) columnComparator);
+        for (Map.Entry<?, ? extends Map<?, ?>> row : rows.entrySet()) {
+            final Object rowKey = row.getKey();
+            for (Map.Entry<?, ?> cell : row.getValue().entrySet()) {
+                Map<Object, Object> column = columns.get(cell.getKey());
+                if (column == null) {
+                    column = new LinkedHashMap<Object, Object>();
+                    columns.put(cell.getKey(), column);
+                }
+                column.put(rowKey, cell.getValue());
+            }
+        }
+        return columns;
+    }
+
+    private static Field _findBackingMapField()
+    {
+        try {
+            Class<?> base = Class.forName("com.google.common.collect.StandardTable");
+            Field f = base.getDeclaredField("backingMap");
+            if (!Map.class.isAssignableFrom(f.getType())
+                    || !base.isAssignableFrom(HashBasedTable.class)
+                    || !base.isAssignableFrom(TreeBasedTable.class)) {
+                return null;
+            }
+            f.setAccessible(true);
+            return f;
+        } catch (Exception e) {
+            // Class or field not found (different Guava version), or access denied
+            // by security manager or module system: just use views
+            return null;
+        }
+    }
+}
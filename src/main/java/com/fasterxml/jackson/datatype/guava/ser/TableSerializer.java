@@ -1,21 +1,29 @@
 package com.fasterxml.jackson.datatype.guava.ser;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.*;
 
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.ContainerSerializer;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
-import com.fasterxml.jackson.databind.ser.std.MapSerializer;
-import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.guava.TableShape;
 
+import com.google.common.collect.ArrayTable;
+import com.google.common.collect.Ordering;
 import com.google.common.collect.Table;
 
 /**
+ * Serializer for Guava {@link Table}s; supports shapes enumerated by {@link TableShape}.
+ *
  * @author stevenmhood (via hyandell) - Initial implementation
  * @author tatu - Some refactoring to streamline code
  */
@@ -37,15 +45,53 @@ public class TableSerializer
     private final TypeSerializer _valueTypeSerializer;
     private final JsonSerializer<Object> _valueSerializer;
 
-    private final MapSerializer _rowMapSerializer;
+    /**
+     * Shape to serialize Tables as; null for default ({@link TableShape#ROWS}).
+     *
+     * @since 2.7.4
+     */
+    private final TableShape _shape;
+
+    /**
+     * Value serializers for row and column keys, used with shapes that write
+     * keys as regular values instead of field names, if types of keys
+     * can be statically determined.
+     *
+     * @since 2.7.4
+     */
+    private final JsonSerializer<Object> _rowKeyValueSerializer, _columnKeyValueSerializer;
+
+    /**
+     * If value type can not be statically determined, mapping from
+     * runtime value types to serializers are stored in this object.
+     *
+     * @since 2.7.4
+     */
+    private PropertySerializerMap _dynamicValueSerializers;
+
+    /**
+     * Dynamic serializers for row and column keys written as values, similar
+     * to {@link #_dynamicValueSerializers}.
+     *
+     * @since 2.7.4
+     */
+    private PropertySerializerMap _dynamicKeyValueSerializers;
 
     /*
     /**********************************************************
     /* Serializer lifecycle
     /**********************************************************
      */
-    
+
     public TableSerializer(final JavaType type)
+    {
+        this(type, null);
+    }
+
+    /**
+     * @since 2.7.4
+     */
+    public TableSerializer(final JavaType type, final TableShape shape)
     {
         super(type);
         _type = type;
@@ -54,16 +100,41 @@ public class TableSerializer
         _columnSerializer = null;
         _valueTypeSerializer = null;
         _valueSerializer = null;
+        _shape = shape;
+        _rowKeyValueSerializer = null;
+        _columnKeyValueSerializer = null;
+        _dynamicValueSerializers = PropertySerializerMap.emptyForProperties();
+        _dynamicKeyValueSerializers = PropertySerializerMap.emptyForProperties();
+    }
 
-        _rowMapSerializer = null;
+    /**
+     * @param typeFactory Not used since 2.7.4 (was used for constructing
+     *    nested <code>MapSerializer</code>s)
+     */
+    protected TableSerializer(final TableSerializer src,
+            final BeanProperty property,
+            final TypeFactory typeFactory,
+            final JsonSerializer<?> rowKeySerializer,
+            final JsonSerializer<?> columnKeySerializer,
+            final TypeSerializer valueTypeSerializer,
+            final JsonSerializer<?> valueSerializer)
+    {
+        this(src, property, src._shape, rowKeySerializer, columnKeySerializer,
+                src._rowKeyValueSerializer, src._columnKeyValueSerializer,
+                valueTypeSerializer, valueSerializer);
     }
 
+    /**
+     * @since 2.7.4
+     */
     @SuppressWarnings( "unchecked" )
     protected TableSerializer(final TableSerializer src,
             final BeanProperty property,
-            final TypeFactory typeFactory,
+            final TableShape shape,
             final JsonSerializer<?> rowKeySerializer,
             final JsonSerializer<?> columnKeySerializer,
+            final JsonSerializer<?> rowKeyValueSerializer,
+            final JsonSerializer<?> columnKeyValueSerializer,
             final TypeSerializer valueTypeSerializer,
             final JsonSerializer<?> valueSerializer)
     {
@@ -74,28 +145,11 @@ public class TableSerializer
         _columnSerializer = (JsonSerializer<Object>) columnKeySerializer;
         _valueTypeSerializer = valueTypeSerializer;
         _valueSerializer = (JsonSerializer<Object>) valueSerializer;
-        
-        final MapType columnAndValueType = typeFactory.constructMapType(Map.class,
-                _type.containedTypeOrUnknown(1), _type.containedTypeOrUnknown(2));
-        JsonSerializer<?> columnAndValueSerializer = 
-                MapSerializer.construct(null,
-                                        columnAndValueType,
-                                        false,
-                                        _valueTypeSerializer,
-                                        _columnSerializer,
-                                        _valueSerializer,
-                                        null);
-
-        final MapType rowMapType = typeFactory.constructMapType(Map.class,
-                _type.containedTypeOrUnknown(0), columnAndValueType);
-        _rowMapSerializer =
-                MapSerializer.construct(null,
-                                        rowMapType,
-                                        false,
-                                        null,
-                                        _rowSerializer,
-                                        (JsonSerializer<Object>) columnAndValueSerializer,
-                                        null);
+        _shape = shape;
+        _rowKeyValueSerializer = (JsonSerializer<Object>) rowKeyValueSerializer;
+        _columnKeyValueSerializer = (JsonSerializer<Object>) columnKeyValueSerializer;
+        _dynamicValueSerializers = src._dynamicValueSerializers;
+        _dynamicKeyValueSerializers = src._dynamicKeyValueSerializers;
     }
 
     protected TableSerializer(final TableSerializer src, TypeSerializer typeSer)
@@ -107,9 +161,11 @@ public class TableSerializer
         _columnSerializer = src._columnSerializer;
         _valueTypeSerializer = typeSer;
         _valueSerializer = src._valueSerializer;
-
-        _rowMapSerializer = src._rowMapSerializer;
-
+        _shape = src._shape;
+        _rowKeyValueSerializer = src._rowKeyValueSerializer;
+        _columnKeyValueSerializer = src._columnKeyValueSerializer;
+        _dynamicValueSerializers = src._dynamicValueSerializers;
+        _dynamicKeyValueSerializers = src._dynamicKeyValueSerializers;
     }
 
     protected TableSerializer withResolved(final BeanProperty property,
@@ -123,6 +179,22 @@ public class TableSerializer
                 rowKeySer, columnKeySer, vts, valueSer);
     }
 
+    /**
+     * @since 2.7.4
+     */
+    protected TableSerializer withResolved(final BeanProperty property,
+            final TableShape shape,
+            final JsonSerializer<?> rowKeySer,
+            final JsonSerializer<?> columnKeySer,
+            final JsonSerializer<?> rowKeyValueSer,
+            final JsonSerializer<?> columnKeyValueSer,
+            final TypeSerializer vts,
+            final JsonSerializer<?> valueSer )
+    {
+        return new TableSerializer(this, property, shape, rowKeySer, columnKeySer,
+                rowKeyValueSer, columnKeyValueSer, vts, valueSer);
+    }
+
     @Override
     protected ContainerSerializer<?> _withValueTypeSerializer(final TypeSerializer typeSer)
     {
@@ -161,7 +233,48 @@ public class TableSerializer
         if (typeSer != null) {
             typeSer = typeSer.forProperty(property);
         }
-        return withResolved(property, provider.getTypeFactory(), rowKeySer, columnKeySer, typeSer, valueSer);
+
+        // Shape may be overridden by property annotations
+        TableShape shape = _shape;
+        JsonFormat.Value format = findFormatOverrides(provider, property, Table.class);
+        if (format != null) {
+            try {
+                TableShape overrideShape = TableShape.from(format);
+                if (overrideShape != null) {
+                    shape = overrideShape;
+                }
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(provider, e.getMessage());
+            }
+        }
+        // and if keys are to be written as values, need value serializers for them
+        JsonSerializer<?> rowKeyValueSer = _rowKeyValueSerializer;
+        JsonSerializer<?> columnKeyValueSer = _columnKeyValueSerializer;
+        if (_writeKeysAsValues(shape)) {
+            rowKeyValueSer = _findKeyValueSerializer(provider, property, rowKeyValueSer, 0);
+            columnKeyValueSer = _findKeyValueSerializer(provider, property, columnKeyValueSer, 1);
+        }
+        return withResolved(property, shape, rowKeySer, columnKeySer,
+                rowKeyValueSer, columnKeyValueSer, typeSer, valueSer);
+    }
+
+    private JsonSerializer<?> _findKeyValueSerializer(SerializerProvider provider,
+            BeanProperty property, JsonSerializer<?> ser, int typeIndex)
+        throws JsonMappingException
+    {
+        if (ser == null) {
+            final JavaType keyType = _type.containedTypeOrUnknown(typeIndex);
+            if (keyType.isFinal()) {
+                ser = provider.findValueSerializer(keyType, property);
+            }
+        } else if (ser instanceof ContextualSerializer) {
+            ser = ((ContextualSerializer) ser).createContextual(provider, property);
+        }
+        return ser;
+    }
+
+    private static boolean _writeKeysAsValues(TableShape shape) {
+        return (shape == TableShape.MATRIX) || (shape == TableShape.CELLS);
     }
 
     /*
@@ -169,7 +282,7 @@ public class TableSerializer
     /* Simple accessor API
     /**********************************************************
      */
-    
+
     @Override
     public JavaType getContentType() {
         return _type.getContentType();
@@ -201,14 +314,22 @@ public class TableSerializer
     /* Main serialization methods
     /**********************************************************
      */
-    
+
     @Override
     public void serialize(final Table<?, ?, ?> value,
             final JsonGenerator gen, final SerializerProvider provider)
         throws IOException
     {
+        if (_shape == TableShape.CELLS) {
+            gen.writeStartArray();
+            serializeCells(value, gen, provider);
+            gen.writeEndArray();
+            return;
+        }
         gen.writeStartObject();
-        if ( !value.isEmpty()) {
+        if (_shape == TableShape.MATRIX) {
+            serializeMatrix(value, gen, provider);
+        } else if ( !value.isEmpty()) {
             serializeFields(value, gen, provider);
         }
         gen.writeEndObject();
@@ -220,14 +341,244 @@ public class TableSerializer
             final SerializerProvider provider,
             final TypeSerializer typeSer) throws IOException
     {
+        if (_shape == TableShape.CELLS) {
+            typeSer.writeTypePrefixForArray(value, gen);
+            serializeCells(value, gen, provider);
+            typeSer.writeTypeSuffixForArray(value, gen);
+            return;
+        }
         typeSer.writeTypePrefixForObject(value, gen);
-        serializeFields(value, gen, provider);
+        if (_shape == TableShape.MATRIX) {
+            serializeMatrix(value, gen, provider);
+        } else {
+            serializeFields(value, gen, provider);
+        }
         typeSer.writeTypeSuffixForObject(value, gen);
     }
 
     private final void serializeFields( final Table<?, ?, ?> table, final JsonGenerator jgen, final SerializerProvider provider )
         throws IOException
     {
-        _rowMapSerializer.serializeFields(table.rowMap(), jgen, provider);
+        final TableContents contents = TableContents.forClass(table.getClass());
+        if (_shape == TableShape.COLUMNS) {
+            serializeNested(table, contents.columns(table), _columnSerializer, _rowSerializer,
+                    true, jgen, provider);
+        } else {
+            serializeNested(table, contents.rows(table), _rowSerializer, _columnSerializer,
+                    false, jgen, provider);
+        }
+    }
+
+    /**
+     * Method for serializing contents as nested JSON Objects: either rows
+     * of columns (default), or columns of rows (for {@link TableShape#COLUMNS}).
+     */
+    private final void serializeNested(final Table<?, ?, ?> table, final Map<?, ? extends Map<?, ?>> outer,
+            final JsonSerializer<Object> outerKeySer, final JsonSerializer<Object> innerKeySer,
+            final boolean byColumn,
+            final JsonGenerator jgen, final SerializerProvider provider)
+        throws IOException
+    {
+        // Outer entries are written in table order, but (as with earlier nested Map-based
+        // serialization) entries of each row (or column) are sorted if so configured
+        final boolean sortInner = provider.isEnabled(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        final boolean writeNulls = provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES);
+
+        for (Map.Entry<?, ? extends Map<?, ?>> outerEntry : outer.entrySet()) {
+            final Object outerKey = outerEntry.getKey();
+            outerKeySer.serialize(outerKey, jgen, provider);
+            Map<?, ?> inner = outerEntry.getValue();
+            if (sortInner) {
+                inner = _orderInner(inner);
+            }
+            jgen.writeStartObject();
+            for (Map.Entry<?, ?> cell : inner.entrySet()) {
+                final Object value = cell.getValue();
+                if (value == null) {
+                    if (writeNulls) {
+                        innerKeySer.serialize(cell.getKey(), jgen, provider);
+                        provider.defaultSerializeNull(jgen);
+                    }
+                    continue;
+                }
+                innerKeySer.serialize(cell.getKey(), jgen, provider);
+                if (byColumn) {
+                    _serializeValue(table, cell.getKey(), outerKey, value, jgen, provider);
+                } else {
+                    _serializeValue(table, outerKey, cell.getKey(), value, jgen, provider);
+                }
+            }
+            jgen.writeEndObject();
+        }
+    }
+
+    /**
+     * Method for serializing contents using {@link TableShape#CELLS} shape.
+     */
+    private final void serializeCells(final Table<?, ?, ?> table, final JsonGenerator jgen,
+            final SerializerProvider provider)
+        throws IOException
+    {
+        // null values only exist for ArrayTable; handled same as with other shapes
+        final boolean writeNulls = provider.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES);
+        for (Map.Entry<?, ? extends Map<?, ?>> rowEntry
+                : TableContents.forClass(table.getClass()).rows(table).entrySet()) {
+            final Object rowKey = rowEntry.getKey();
+            for (Map.Entry<?, ?> cell : rowEntry.getValue().entrySet()) {
+                final Object value = cell.getValue();
+                if (value == null && !writeNulls) {
+                    continue;
+                }
+                jgen.writeStartArray();
+                _serializeKeyValue(rowKey, _rowKeyValueSerializer, jgen, provider);
+                _serializeKeyValue(cell.getKey(), _columnKeyValueSerializer, jgen, provider);
+                if (value == null) {
+                    jgen.writeNull();
+                } else {
+                    _serializeValue(table, rowKey, cell.getKey(), value, jgen, provider);
+                }
+                jgen.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Method for serializing contents using {@link TableShape#MATRIX} shape.
+     */
+    private final void serializeMatrix(final Table<?, ?, ?> table, final JsonGenerator jgen,
+            final SerializerProvider provider)
+        throws IOException
+    {
+        final Map<?, ? extends Map<?, ?>> rows = TableContents.forClass(table.getClass()).rows(table);
+        final Object[] columnKeys = table.columnKeySet().toArray();
+
+        jgen.writeFieldName(TableShape.PROP_ROW_KEYS);
+        jgen.writeStartArray();
+        for (Object rowKey : rows.keySet()) {
+            _serializeKeyValue(rowKey, _rowKeyValueSerializer, jgen, provider);
+        }
+        jgen.writeEndArray();
+        jgen.writeFieldName(TableShape.PROP_COLUMN_KEYS);
+        jgen.writeStartArray();
+        for (Object columnKey : columnKeys) {
+            _serializeKeyValue(columnKey, _columnKeyValueSerializer, jgen, provider);
+        }
+        jgen.writeEndArray();
+
+        jgen.writeFieldName(TableShape.PROP_VALUES);
+        jgen.writeStartArray();
+        if (table instanceof ArrayTable<?, ?, ?>) { // can access cells by index
+            final ArrayTable<?, ?, ?> arrayTable = (ArrayTable<?, ?, ?>) table;
+            for (int r = 0, rowCount = arrayTable.rowKeyList().size(); r < rowCount; ++r) {
+                jgen.writeStartArray();
+                for (int c = 0; c < columnKeys.length; ++c) {
+                    final Object value = arrayTable.at(r, c);
+                    if (value == null) {
+                        jgen.writeNull();
+                    } else {
+                        _serializeValue(table, arrayTable.rowKeyList().get(r), columnKeys[c],
+                                value, jgen, provider);
+                    }
+                }
+                jgen.writeEndArray();
+            }
+        } else {
+            for (Map.Entry<?, ? extends Map<?, ?>> rowEntry : rows.entrySet()) {
+                final Map<?, ?> row = rowEntry.getValue();
+                jgen.writeStartArray();
+                for (Object columnKey : columnKeys) {
+                    final Object value = row.get(columnKey);
+                    if (value == null) {
+                        jgen.writeNull();
+                    } else {
+                        _serializeValue(table, rowEntry.getKey(), columnKey, value, jgen, provider);
+                    }
+                }
+                jgen.writeEndArray();
+            }
+        }
+        jgen.writeEndArray();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal helper methods
+    /**********************************************************
+     */
+
+    private final void _serializeValue(Table<?, ?, ?> table, Object rowKey, Object columnKey,
+            Object value, JsonGenerator jgen, SerializerProvider provider)
+        throws IOException
+    {
+        final JsonSerializer<Object> valueSer = _findValueSerializer(value, provider);
+        try {
+            if (_valueTypeSerializer == null) {
+                valueSer.serialize(value, jgen, provider);
+            } else {
+                valueSer.serializeWithType(value, jgen, provider, _valueTypeSerializer);
+            }
+        } catch (Exception e) {
+            wrapAndThrow(provider, e, table, String.valueOf(rowKey)+","+columnKey);
+        }
+    }
+
+    private final void _serializeKeyValue(Object key, JsonSerializer<Object> ser,
+            JsonGenerator jgen, SerializerProvider provider)
+        throws IOException
+    {
+        if (ser == null) {
+            final Class<?> cc = key.getClass();
+            final PropertySerializerMap serializers = _dynamicKeyValueSerializers;
+            ser = serializers.serializerFor(cc);
+            if (ser == null) {
+                PropertySerializerMap.SerializerAndMapResult result =
+                        serializers.findAndAddSecondarySerializer(cc, provider, _property);
+                if (serializers != result.map) {
+                    _dynamicKeyValueSerializers = result.map;
+                }
+                ser = result.serializer;
+            }
+        }
+        ser.serialize(key, jgen, provider);
+    }
+
+    protected final JsonSerializer<Object> _findValueSerializer(Object value,
+            SerializerProvider provider) throws JsonMappingException
+    {
+        JsonSerializer<Object> ser = _valueSerializer;
+        if (ser == null) {
+            final Class<?> cc = value.getClass();
+            final PropertySerializerMap serializers = _dynamicValueSerializers;
+            ser = serializers.serializerFor(cc);
+            if (ser == null) {
+                final JavaType valueType = _type.containedTypeOrUnknown(2);
+                PropertySerializerMap.SerializerAndMapResult result = valueType.hasGenericTypes()
+                        ? serializers.findAndAddSecondarySerializer(
+                                provider.constructSpecializedType(valueType, cc), provider, _property)
+                        : serializers.findAndAddSecondarySerializer(cc, provider, _property);
+                // did we get a new map of serializers? If so, start using it
+                if (serializers != result.map) {
+                    _dynamicValueSerializers = result.map;
+                }
+                ser = result.serializer;
+            }
+        }
+        return ser;
+    }
+
+    /**
+     * Helper method for getting cells of a row (or column) in natural order of keys:
+     * rows that are already sorted that way (as is the case with
+     * {@link com.google.common.collect.TreeBasedTable}) are used as is.
+     */
+    private final Map<?, ?> _orderInner(Map<?, ?> cells)
+    {
+        if (cells instanceof SortedMap<?, ?>) {
+            Comparator<?> comp = ((SortedMap<?, ?>) cells).comparator();
+            if ((comp == null) || Ordering.natural().equals(comp)) {
+                return cells;
+            }
+        }
+        return new TreeMap<Object, Object>(cells);
     }
 }
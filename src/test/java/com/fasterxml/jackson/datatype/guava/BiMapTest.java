@@ -0,0 +1,188 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.EnumBiMap;
+import com.google.common.collect.EnumHashBiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableBiMap;
+
+/**
+ * Unit tests for verifying deserialization of mutable {@link BiMap} types,
+ * and handling of duplicate values for all BiMaps.
+ */
+public class BiMapTest extends ModuleTestBase
+{
+    enum Color { RED, GREEN, BLUE, @JsonProperty("dark") BLACK; }
+
+    enum Size { SMALL, MEDIUM, LARGE; }
+
+    // names of constants used as JSON values of others
+    enum Code {
+        A("B"), B("A");
+
+        private final String code;
+
+        private Code(String code) { this.code = code; }
+
+        @JsonValue
+        public String code() { return code; }
+    }
+
+    static class BiMaps {
+        public BiMap<String, Integer> plain;
+        public HashBiMap<Integer, String> hash;
+        public EnumBiMap<Color, Size> enums;
+        public EnumHashBiMap<Color, String> enumHash;
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    public void testRoundTrip() throws Exception
+    {
+        BiMaps maps = new BiMaps();
+        maps.plain = HashBiMap.create();
+        maps.plain.put("a", 1);
+        maps.plain.put("b", 2);
+        maps.hash = HashBiMap.create();
+        maps.hash.put(3, "c");
+        maps.enums = EnumBiMap.create(Color.class, Size.class);
+        maps.enums.put(Color.RED, Size.LARGE);
+        maps.enums.put(Color.BLUE, Size.SMALL);
+        maps.enumHash = EnumHashBiMap.create(Color.class);
+        maps.enumHash.put(Color.GREEN, "x");
+        maps.enumHash.put(Color.BLUE, "y");
+
+        final String json = MAPPER.writeValueAsString(maps);
+        BiMaps result = MAPPER.readValue(json, BiMaps.class);
+        assertEquals(HashBiMap.class, result.plain.getClass());
+        assertEquals(maps.plain, result.plain);
+        assertEquals(maps.hash, result.hash);
+        assertEquals(EnumBiMap.class, result.enums.getClass());
+        assertEquals(Color.class, result.enums.keyType());
+        assertEquals(Size.class, result.enums.valueType());
+        assertEquals(maps.enums, result.enums);
+        assertEquals(EnumHashBiMap.class, result.enumHash.getClass());
+        assertEquals(maps.enumHash, result.enumHash);
+        assertEquals(Color.BLUE, result.enumHash.inverse().get("y"));
+    }
+
+    public void testEnumKeys() throws Exception
+    {
+        // keys not in ordinal order, and renamed key
+        EnumHashBiMap<Color, Integer> map = MAPPER.readValue(
+                aposToQuotes("{'BLUE':1,'dark':2,'RED':3,'GREEN':null,'BLUE':4}"),
+                new TypeReference<EnumHashBiMap<Color, Integer>>() { });
+        assertEquals(4, map.size());
+        assertTrue(map.containsKey(Color.GREEN));
+        assertNull(map.get(Color.GREEN));
+        assertEquals(Integer.valueOf(4), map.get(Color.BLUE));
+        assertEquals(Integer.valueOf(2), map.get(Color.BLACK));
+        assertEquals(Integer.valueOf(3), map.get(Color.RED));
+
+        // and names that are not interned (to be resolved by standard key deserializer)
+        ObjectMapper mapper = new ObjectMapper(new JsonFactory().disable(JsonFactory.Feature.INTERN_FIELD_NAMES))
+            .registerModule(new GuavaModule());
+        EnumHashBiMap<Color, String> map2 = mapper.readValue(aposToQuotes("{'GREEN':'a'}"),
+                new TypeReference<EnumHashBiMap<Color, String>>() { });
+        assertEquals("a", map2.get(Color.GREEN));
+
+        try {
+            MAPPER.readValue(aposToQuotes("{'PURPLE':'a'}"),
+                    new TypeReference<EnumHashBiMap<Color, String>>() { });
+            fail("Expected failure for unknown Enum key");
+        } catch (JsonMappingException e) {
+            verifyException(e, "PURPLE");
+        }
+    }
+
+    public void testJsonValueKeys() throws Exception
+    {
+        // keys resolved same way as for other Maps, using @JsonValue
+        final String json = aposToQuotes("{'A':1}");
+        EnumMap<Code, Integer> expected = MAPPER.readValue(json,
+                new TypeReference<EnumMap<Code, Integer>>() { });
+        assertEquals(Integer.valueOf(1), expected.get(Code.B));
+
+        HashBiMap<Code, Integer> hash = MAPPER.readValue(json,
+                new TypeReference<HashBiMap<Code, Integer>>() { });
+        assertEquals(expected, hash);
+        EnumHashBiMap<Code, Integer> enumHash = MAPPER.readValue(json,
+                new TypeReference<EnumHashBiMap<Code, Integer>>() { });
+        assertEquals(expected, enumHash);
+        EnumBiMap<Code, Size> enums = MAPPER.readValue(aposToQuotes("{'A':'SMALL'}"),
+                new TypeReference<EnumBiMap<Code, Size>>() { });
+        assertEquals(Size.SMALL, enums.get(Code.B));
+    }
+
+    public void testDuplicateValues() throws Exception
+    {
+        final String json = aposToQuotes("{'a':1,'b':2,'c':1}");
+        for (TypeReference<?> type : new TypeReference<?>[] {
+                new TypeReference<BiMap<String, Integer>>() { },
+                new TypeReference<HashBiMap<String, Integer>>() { },
+                new TypeReference<ImmutableBiMap<String, Integer>>() { } }) {
+            try {
+                MAPPER.readValue(json, type);
+                fail("Expected failure for duplicate value, for "+type.getType());
+            } catch (JsonMappingException e) {
+                verifyException(e, "value (1) of key (c) already used for key (a)");
+            }
+        }
+        // but same entry repeated is fine for mutable BiMaps
+        Map<String, Integer> map = MAPPER.readValue(aposToQuotes("{'a':1,'a':1}"),
+                new TypeReference<HashBiMap<String, Integer>>() { });
+        assertEquals(1, map.size());
+        // and for immutable ones, it is a duplicate key (not value)
+        try {
+            MAPPER.readValue(aposToQuotes("{'a':1,'a':1}"),
+                    new TypeReference<ImmutableBiMap<String, Integer>>() { });
+            fail("Expected failure for duplicate key");
+        } catch (Exception e) {
+            verifyException(e, "same key");
+        }
+    }
+
+    public void testNullValues() throws Exception
+    {
+        // kept for BiMaps that allow null values...
+        HashBiMap<String, Integer> map = MAPPER.readValue(aposToQuotes("{'a':1,'b':null}"),
+                new TypeReference<HashBiMap<String, Integer>>() { });
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("b"));
+        assertEquals("b", map.inverse().get(null));
+        // but only once, as with other values
+        try {
+            MAPPER.readValue(aposToQuotes("{'a':null,'b':null}"),
+                    new TypeReference<HashBiMap<String, Integer>>() { });
+            fail("Expected failure for duplicate null value");
+        } catch (JsonMappingException e) {
+            verifyException(e, "value (null) of key (b) already used for key (a)");
+        }
+        // and skipped for ones that do not
+        EnumBiMap<Color, Size> enums = MAPPER.readValue(aposToQuotes("{'RED':'SMALL','BLUE':null}"),
+                new TypeReference<EnumBiMap<Color, Size>>() { });
+        assertEquals(1, enums.size());
+        assertEquals(Size.SMALL, enums.get(Color.RED));
+    }
+
+    public void testNonEnumTypes() throws Exception
+    {
+        try {
+            // (can not be expressed with a TypeReference, due to type bounds)
+            MAPPER.readValue("{}", MAPPER.getTypeFactory().constructMapType(EnumBiMap.class,
+                    Color.class, String.class));
+            fail("Expected failure for non-Enum values");
+        } catch (JsonMappingException e) {
+            verifyException(e, "EnumBiMap with values that are not Enums");
+        }
+    }
+}
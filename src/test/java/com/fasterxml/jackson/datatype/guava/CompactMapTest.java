@@ -0,0 +1,134 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.deser.util.CompactImmutableMap;
+import com.fasterxml.jackson.datatype.guava.deser.util.KeyShapes;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit tests for verifying deserialization of plain Maps of annotated properties
+ * as compact immutable maps with shared keys.
+ */
+public class CompactMapTest extends ModuleTestBase
+{
+    static class Record {
+        @JsonCompactMap
+        public Map<String, Object> fields;
+        @JsonCompactMap
+        public LinkedHashMap<String, Object> other;
+        public Map<String, Object> plain;
+        @JsonCompactMap
+        public Object untyped;
+    }
+
+    static class Rows {
+        @JsonCompactMap
+        public List<Map<String, Object>> rows;
+    }
+
+    static class Dictionary {
+        @JsonCompactMap
+        public Map<String, Object> entries;
+    }
+
+    private final ObjectMapper COMPACT_MAPPER = new ObjectMapper()
+        .registerModule(new GuavaModule().configureCompactMaps(true));
+
+    public void testSharedKeys() throws Exception
+    {
+        final String json = aposToQuotes("{'rows':[{'id':1,'name':'a','tags':['x']},{'id':2,'name':'b','tags':[]},"
+                +"{'name':'c','id':3},{'id':4,'name':null,'tags':[]},{}]}");
+        List<Map<String, Object>> maps = COMPACT_MAPPER.readValue(json, Rows.class).rows;
+        assertEquals(5, maps.size());
+        CompactImmutableMap<?, ?> first = (CompactImmutableMap<?, ?>) maps.get(0);
+        CompactImmutableMap<?, ?> second = (CompactImmutableMap<?, ?>) maps.get(1);
+        assertSame(first.getShape(), second.getShape());
+
+        // Map contract, including equality with other maps
+        Map<String, Object> expected = new LinkedHashMap<String, Object>();
+        expected.put("id", 2);
+        expected.put("name", "b");
+        expected.put("tags", Collections.emptyList());
+        assertEquals(expected, second);
+        assertEquals(second, expected);
+        assertEquals(expected.hashCode(), second.hashCode());
+        assertEquals(expected.toString(), second.toString());
+        assertEquals("b", second.get("name"));
+        assertNull(second.get("x"));
+        assertTrue(second.containsKey("tags"));
+        assertFalse(second.containsKey(null));
+        assertTrue(second.containsValue("b"));
+        assertEquals(expected.keySet(), second.keySet());
+        try {
+            maps.get(1).put("x", 1);
+            fail("Should not pass");
+        } catch (UnsupportedOperationException e) { }
+
+        // different order of keys, different shape
+        CompactImmutableMap<?, ?> third = (CompactImmutableMap<?, ?>) maps.get(2);
+        assertNotSame(first.getShape(), third.getShape());
+        assertEquals(ImmutableMap.of("id", 3, "name", "c"), third);
+        // null values skipped
+        assertEquals(ImmutableMap.of("id", 4, "tags", Collections.emptyList()), maps.get(3));
+        assertEquals(ImmutableMap.of(), maps.get(4));
+
+        // duplicate keys are not allowed
+        try {
+            COMPACT_MAPPER.readValue(aposToQuotes("{'rows':[{'a':1,'a':2}]}"), Rows.class);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "same key");
+        }
+
+        // serialization as any Map
+        assertEquals(aposToQuotes("{'id':2,'name':'b','tags':[]}"), COMPACT_MAPPER.writeValueAsString(second));
+    }
+
+    public void testOtherMaps() throws Exception
+    {
+        Record r = COMPACT_MAPPER.readValue(aposToQuotes(
+                "{'fields':{'a':1},'other':{'a':1},'plain':{'a':1,'b':null},'untyped':{'a':{'b':1}}}"),
+                Record.class);
+        assertTrue(r.fields instanceof CompactImmutableMap<?, ?>);
+        // sub-types, properties without annotation, and untyped values as usual
+        assertEquals(LinkedHashMap.class, r.other.getClass());
+        assertEquals(LinkedHashMap.class, r.plain.getClass());
+        assertEquals(2, r.plain.size());
+        r.plain.put("c", 3);
+        assertEquals(LinkedHashMap.class, r.untyped.getClass());
+        assertEquals(LinkedHashMap.class, ((Map<?, ?>) r.untyped).get("a").getClass());
+
+        // as are root values, both typed and untyped
+        Map<String, Object> root = COMPACT_MAPPER.readValue(aposToQuotes("{'a':1,'b':null}"),
+                new TypeReference<Map<String, Object>>() { });
+        assertEquals(LinkedHashMap.class, root.getClass());
+        assertEquals(2, root.size());
+        Object untyped = COMPACT_MAPPER.readValue(aposToQuotes("{'a':{'b':1}}"), Object.class);
+        assertEquals(LinkedHashMap.class, untyped.getClass());
+        assertEquals(LinkedHashMap.class, ((Map<?, ?>) untyped).get("a").getClass());
+
+        // too many keys
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i <= KeyShapes.MAX_KEYS; ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"k").append(i).append("\":").append(i);
+        }
+        sb.append('}');
+        Map<String, Object> big = COMPACT_MAPPER.readValue("{\"entries\":"+sb+"}", Dictionary.class).entries;
+        assertTrue(big instanceof ImmutableMap<?, ?>);
+        assertEquals(KeyShapes.MAX_KEYS + 1, big.size());
+
+        // and not enabled by default
+        r = mapperWithModule().readValue(aposToQuotes("{'fields':{'a':1}}"), Record.class);
+        assertEquals(LinkedHashMap.class, r.fields.getClass());
+    }
+}
@@ -0,0 +1,267 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.OptBoolean;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeEstimator;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeEstimators;
+import com.fasterxml.jackson.datatype.guava.deser.util.SizeHints;
+
+import com.google.common.collect.*;
+
+/**
+ * Unit tests for verifying that expected sizes of containers, from
+ * {@link GuavaModule#defaultExpectedSize} and {@link JsonExpectedSize},
+ * are handled as expected.
+ */
+public class ExpectedSizeTest extends ModuleTestBase
+{
+    static class TrimmedWrapper {
+        @JsonExpectedSize(value=4, valuesPerKey=10, trimToSize=OptBoolean.TRUE)
+        public ArrayListMultimap<String, Integer> multimap;
+    }
+
+    static class SizedWrapper {
+        @JsonExpectedSize(100)
+        public HashMultiset<String> multiset;
+
+        @JsonExpectedSize(value=10, valuesPerKey=2)
+        public ImmutableSetMultimap<String, Integer> multimap;
+
+        @JsonExpectedSize(valuesPerKey=10, trimToSize=OptBoolean.FALSE)
+        public ArrayListMultimap<String, Integer> untrimmed;
+    }
+
+    static class LearningWrapper {
+        public ArrayListMultimap<String, Integer> multimap;
+
+        public HashMultiset<String> multiset;
+
+        @JsonExpectedSize(3)
+        public LinkedHashMultiset<String> sized;
+    }
+
+    /**
+     * Parsing context that exposes a fixed expected length, the way
+     * contexts of formats like CBOR expose actual lengths.
+     */
+    public static class LengthContext extends JsonStreamContext {
+        private final JsonStreamContext _delegate;
+        private final LengthParser _parser;
+
+        LengthContext(JsonStreamContext delegate, LengthParser parser) {
+            _delegate = delegate;
+            _parser = parser;
+        }
+
+        public int getExpectedLength() {
+            ++_parser.calls;
+            return _parser.length;
+        }
+
+        @Override
+        public JsonStreamContext getParent() { return _delegate.getParent(); }
+
+        @Override
+        public String getCurrentName() { return _delegate.getCurrentName(); }
+    }
+
+    static class LengthParser extends JsonParserDelegate {
+        final int length;
+        int calls;
+
+        LengthParser(JsonParser p, int length) {
+            super(p);
+            this.length = length;
+        }
+
+        @Override
+        public JsonStreamContext getParsingContext() {
+            return new LengthContext(delegate.getParsingContext(), this);
+        }
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    public void testTrimToSize() throws Exception
+    {
+        TrimmedWrapper w = MAPPER.readValue(aposToQuotes("{'multimap':{'a':[1,2,3],'b':[4]}}"),
+                TrimmedWrapper.class);
+        assertEquals(ImmutableList.of(1, 2, 3), w.multimap.get("a"));
+        assertEquals(ImmutableList.of(4), w.multimap.get("b"));
+        assertCapacity(3, w.multimap.get("a"));
+
+        // and with module default
+        ObjectMapper mapper = new ObjectMapper().registerModule(new GuavaModule()
+                .defaultExpectedSize(-1, 20).configureTrimToSize(true));
+        ArrayListMultimap<String, Integer> multimap = mapper.readValue(aposToQuotes("{'a':[1,2]}"),
+                new TypeReference<ArrayListMultimap<String, Integer>>() { });
+        assertEquals(ImmutableList.of(1, 2), multimap.get("a"));
+        assertCapacity(2, multimap.get("a"));
+
+        // which property annotations may override
+        SizedWrapper sw = mapper.readValue(aposToQuotes("{'untrimmed':{'a':[1,2]}}"), SizedWrapper.class);
+        assertEquals(ImmutableList.of(1, 2), sw.untrimmed.get("a"));
+        assertCapacity(10, sw.untrimmed.get("a"));
+    }
+
+    public void testSizedContainers() throws Exception
+    {
+        SizedWrapper w = MAPPER.readValue(aposToQuotes(
+                "{'multiset':['a','b','a'],'multimap':{'a':[1,2,1]}}"), SizedWrapper.class);
+        assertEquals(ImmutableMultiset.of("a", "b", "a"), w.multiset);
+        assertEquals(ImmutableSetMultimap.of("a", 1, "a", 2), w.multimap);
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new GuavaModule()
+                .defaultExpectedSize(50, 5));
+        final String json = aposToQuotes("{'a':[1,2],'b':[3]}");
+        assertEquals(ImmutableSetMultimap.of("a", 1, "a", 2, "b", 3),
+                mapper.readValue(json, new TypeReference<HashMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableSetMultimap.of("a", 1, "a", 2, "b", 3),
+                mapper.readValue(json, new TypeReference<LinkedHashMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableListMultimap.of("a", 1, "a", 2, "b", 3),
+                mapper.readValue(json, new TypeReference<LinkedListMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableListMultimap.of("a", 1, "a", 2, "b", 3),
+                mapper.readValue(json, new TypeReference<ImmutableListMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableMultiset.of("a", "b", "a"),
+                mapper.readValue("[\"a\",\"b\",\"a\"]", new TypeReference<LinkedHashMultiset<String>>() { }));
+    }
+
+    public void testSizeLearning() throws Exception
+    {
+        GuavaModule module = new GuavaModule().configureSizeLearning(true);
+        ObjectMapper mapper = new ObjectMapper().registerModule(module);
+        SizeEstimators estimators = module.getSizeEstimators();
+        assertNotNull(estimators);
+        assertTrue(estimators.getEstimators().isEmpty());
+
+        final String json = aposToQuotes("{'multimap':{'a':[1,2,3,4],'b':[5,6],'c':[7,8]},"
+                +"'multiset':['a','b','a'],'sized':['x']}");
+        for (int i = 0; i < 5; ++i) {
+            LearningWrapper w = mapper.readValue(json, LearningWrapper.class);
+            assertEquals(8, w.multimap.size());
+            assertEquals(3, w.multiset.size());
+        }
+        final String prefix = LearningWrapper.class.getName() + "#";
+        SizeEstimator est = estimators.getEstimator(prefix + "multimap");
+        assertNotNull(est);
+        assertEquals(5, est.getSampleCount());
+        assertEquals(3, est.getExpectedEntries());
+        assertEquals(3, est.getExpectedValuesPerKey());
+        est = estimators.getEstimator(prefix + "multiset");
+        assertEquals(2, est.getExpectedEntries());
+        assertEquals(-1, est.getExpectedValuesPerKey());
+        // sizes are learnt for annotated properties too, but annotation has precedence
+        est = estimators.getEstimator(prefix + "sized");
+        assertEquals(1, est.getExpectedEntries());
+
+        // root values are tracked per type
+        HashMultiset<String> root = mapper.readValue("[\"a\",\"b\"]",
+                new TypeReference<HashMultiset<String>>() { });
+        assertEquals(2, root.size());
+        assertEquals(4, estimators.getEstimators().size());
+
+        // and outliers are bounded
+        StringBuilder sb = new StringBuilder("{'multiset':[");
+        for (int i = 0; i < 100000; ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(i);
+        }
+        LearningWrapper w = mapper.readValue(aposToQuotes(sb.append("]}").toString()), LearningWrapper.class);
+        assertEquals(100000, w.multiset.size());
+        est = estimators.getEstimator(prefix + "multiset");
+        assertTrue(est.getExpectedEntries() <= SizeEstimator.MAX_ENTRIES / 8 + 2);
+    }
+
+    public void testLengthHints() throws Exception
+    {
+        _testLengthHints(3);
+        // lengths should only be hints, so invalid ones are not a problem either
+        _testLengthHints(0);
+        _testLengthHints(Integer.MAX_VALUE);
+    }
+
+    private void _testLengthHints(int length) throws Exception
+    {
+        assertEquals(ImmutableList.of(1, 2, 3), _readWithLength("[1,2,3]", length,
+                new TypeReference<ImmutableList<Integer>>() { }));
+        assertEquals(ImmutableMap.of("a", 1, "b", 2, "c", 3), _readWithLength("{'a':1,'b':2,'c':3}", length,
+                new TypeReference<ImmutableMap<String, Integer>>() { }));
+        assertEquals(ImmutableMultiset.of("a", "b", "a"), _readWithLength("['a','b','a']", length,
+                new TypeReference<HashMultiset<String>>() { }));
+        assertEquals(ImmutableMultiset.of("a", "b", "a"), _readWithLength("['a','b','a']", length,
+                new TypeReference<LinkedHashMultiset<String>>() { }));
+        final String json = "{'a':[1,2],'b':[3],'c':[4]}";
+        final ImmutableListMultimap<String, Integer> exp = ImmutableListMultimap.of("a", 1, "a", 2,
+                "b", 3, "c", 4);
+        assertEquals(exp, _readWithLength(json, length,
+                new TypeReference<ArrayListMultimap<String, Integer>>() { }));
+        assertEquals(exp, _readWithLength(json, length,
+                new TypeReference<LinkedListMultimap<String, Integer>>() { }));
+        assertEquals(exp, _readWithLength(json, length,
+                new TypeReference<ImmutableListMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableSetMultimap.copyOf(exp), _readWithLength(json, length,
+                new TypeReference<HashMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableSetMultimap.copyOf(exp), _readWithLength(json, length,
+                new TypeReference<LinkedHashMultimap<String, Integer>>() { }));
+        assertEquals(ImmutableSetMultimap.copyOf(exp), _readWithLength(json, length,
+                new TypeReference<ImmutableSetMultimap<String, Integer>>() { }));
+    }
+
+    private <T> T _readWithLength(String json, int length, TypeReference<T> type) throws Exception
+    {
+        LengthParser p = new LengthParser(MAPPER.getFactory().createParser(aposToQuotes(json)), length);
+        T result = MAPPER.readValue(p, type);
+        assertTrue(p.calls > 0);
+        p.close();
+        return result;
+    }
+
+    public void testSizeHints() throws Exception
+    {
+        assertSame(SizeHints.NONE, SizeHints.construct(-1, -5, false));
+        SizeHints hints = SizeHints.construct(10, -1, false);
+        assertTrue(hints.hasEntries());
+        assertFalse(hints.hasValuesPerKey());
+        assertEquals(10, hints.getEntries(3));
+        assertEquals(3, hints.getValuesPerKey(3));
+        assertSame(hints, hints.forProperty(null, null));
+    }
+
+    private void assertCapacity(int expected, List<Integer> values) throws Exception
+    {
+        // Guava wraps the actual list, and capacity is only visible via reflection,
+        // which may not be allowed on all platforms
+        Object list = values;
+        try {
+            Field f = findField(list.getClass(), "delegate");
+            f.setAccessible(true);
+            list = f.get(list);
+            Field data = ArrayList.class.getDeclaredField("elementData");
+            data.setAccessible(true);
+            assertEquals(expected, ((Object[]) data.get(list)).length);
+        } catch (RuntimeException e) {
+            // e.g. inaccessible JDK internals: skip check
+        } catch (NoSuchFieldException e) {
+        }
+    }
+
+    private static Field findField(Class<?> cls, String name) throws NoSuchFieldException
+    {
+        for (; cls != null; cls = cls.getSuperclass()) {
+            try {
+                return cls.getDeclaredField(name);
+            } catch (NoSuchFieldException e) { }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
@@ -22,12 +22,13 @@ public class HostAndPortTest extends ModuleTestBase
         // old:
         HostAndPort result = MAPPER.readValue(aposToQuotes("{'hostText':'localhost','port':9090}"),
                 HostAndPort.class);
-        assertEquals("localhost", result.getHostText());
+        // (note: compared as a whole since `getHostText()` is not available in Guava 22+)
+        assertEquals(HostAndPort.fromParts("localhost", 9090), result);
         assertEquals(9090, result.getPort());
 
         // and new:
         result = MAPPER.readValue(quote("localhost:7070"), HostAndPort.class);
-        assertEquals("localhost", result.getHostText());
+        assertEquals(HostAndPort.fromParts("localhost", 7070), result);
         assertEquals(7070, result.getPort());
 
         // and ... error (note: numbers, booleans may all be fine)
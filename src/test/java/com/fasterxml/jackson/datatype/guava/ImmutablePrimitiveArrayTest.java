@@ -0,0 +1,189 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+
+/**
+ * Unit tests for verifying handling of immutable primitive arrays of Guava 22+.
+ * Since tests run with an older Guava version by default, conversions are verified
+ * with stand-in types that have the same methods; actual Guava types are tested
+ * only if available (with profile <code>guava-latest</code>).
+ */
+public class ImmutablePrimitiveArrayTest extends ModuleTestBase
+{
+    // Stand-ins for ImmutableIntArray, ImmutableLongArray and ImmutableDoubleArray
+
+    static class IntArray {
+        private final int[] _values;
+
+        private IntArray(int[] values) { _values = values; }
+
+        public static IntArray copyOf(int[] values) { return new IntArray(values.clone()); }
+
+        public int[] toArray() { return _values.clone(); }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof IntArray) && Arrays.equals(_values, ((IntArray) o)._values);
+        }
+
+        @Override
+        public int hashCode() { return Arrays.hashCode(_values); }
+    }
+
+    static class LongArray {
+        private final long[] _values;
+
+        private LongArray(long[] values) { _values = values; }
+
+        public static LongArray copyOf(long[] values) { return new LongArray(values.clone()); }
+
+        public long[] toArray() { return _values.clone(); }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof LongArray) && Arrays.equals(_values, ((LongArray) o)._values);
+        }
+
+        @Override
+        public int hashCode() { return Arrays.hashCode(_values); }
+    }
+
+    static class DoubleArray {
+        private final double[] _values;
+
+        private DoubleArray(double[] values) { _values = values; }
+
+        public static DoubleArray copyOf(double[] values) { return new DoubleArray(values.clone()); }
+
+        public double[] toArray() { return _values.clone(); }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof DoubleArray) && Arrays.equals(_values, ((DoubleArray) o)._values);
+        }
+
+        @Override
+        public int hashCode() { return Arrays.hashCode(_values); }
+    }
+
+    static class Wrapper {
+        public IntArray ints;
+        public LongArray longs;
+        public DoubleArray doubles;
+    }
+
+    // Has expected methods, but of wrong kind
+    static class NotAnArray {
+        public NotAnArray copyOf(int[] values) { return this; }
+
+        public int[] toArray() { return new int[0]; }
+    }
+
+    /*
+    /**********************************************************************
+    /* Test methods
+    /**********************************************************************
+     */
+
+    public void testAvailability() throws Exception
+    {
+        assertNull(ImmutablePrimitiveArrays.forType(int[].class));
+        assertNull(ImmutablePrimitiveArrays.forType(IntArray.class));
+        // either all available (Guava 22+), or none; should not cause problems either way
+        if (ImmutablePrimitiveArrays.INT == null) {
+            assertNull(ImmutablePrimitiveArrays.LONG);
+            assertNull(ImmutablePrimitiveArrays.DOUBLE);
+        } else {
+            assertNotNull(ImmutablePrimitiveArrays.LONG);
+            assertNotNull(ImmutablePrimitiveArrays.DOUBLE);
+            assertSame(ImmutablePrimitiveArrays.INT,
+                    ImmutablePrimitiveArrays.forType(ImmutablePrimitiveArrays.INT.getType()));
+        }
+
+        assertNotNull(ImmutablePrimitiveArrays.forClass(IntArray.class, int[].class));
+        assertNull(ImmutablePrimitiveArrays.forClass(IntArray.class, long[].class));
+        assertNull(ImmutablePrimitiveArrays.forClass(NotAnArray.class, int[].class));
+        assertNull(ImmutablePrimitiveArrays.forClass(String.class, int[].class));
+    }
+
+    public void testRoundTrip() throws Exception
+    {
+        final ObjectMapper mapper = _mapperFor(
+                ImmutablePrimitiveArrays.forClass(IntArray.class, int[].class),
+                ImmutablePrimitiveArrays.forClass(LongArray.class, long[].class),
+                ImmutablePrimitiveArrays.forClass(DoubleArray.class, double[].class));
+
+        IntArray ints = IntArray.copyOf(new int[] { 1, -2, 300000 });
+        assertEquals("[1,-2,300000]", mapper.writeValueAsString(ints));
+        assertEquals(ints, mapper.readValue("[1,-2,300000]", IntArray.class));
+
+        Wrapper w = new Wrapper();
+        w.ints = ints;
+        w.longs = LongArray.copyOf(new long[] { Long.MIN_VALUE, 0L });
+        w.doubles = DoubleArray.copyOf(new double[] { 0.25, -1.5 });
+        final String json = mapper.writeValueAsString(w);
+        assertEquals(aposToQuotes("{'ints':[1,-2,300000],'longs':[-9223372036854775808,0],'doubles':[0.25,-1.5]}"),
+                json);
+        Wrapper result = mapper.readValue(json, Wrapper.class);
+        assertEquals(w.ints, result.ints);
+        assertEquals(w.longs, result.longs);
+        assertEquals(w.doubles, result.doubles);
+
+        // and with standard primitive array handling
+        assertEquals(IntArray.copyOf(new int[0]), mapper.readValue("[]", IntArray.class));
+        assertNull(mapper.readValue(aposToQuotes("{'ints':null}"), Wrapper.class).ints);
+        LongArray single = mapper.reader(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                .forType(LongArray.class).readValue("7");
+        assertEquals(LongArray.copyOf(new long[] { 7L }), single);
+    }
+
+    public void testGuavaTypes() throws Exception
+    {
+        final ObjectMapper mapper = mapperWithModule();
+        for (ImmutablePrimitiveArrays arrays : new ImmutablePrimitiveArrays[] {
+                ImmutablePrimitiveArrays.INT, ImmutablePrimitiveArrays.LONG, ImmutablePrimitiveArrays.DOUBLE }) {
+            if (arrays == null) { // Guava older than 22
+                continue;
+            }
+            Object values = Array.newInstance(arrays.getArrayType().getComponentType(), 3);
+            for (int i = 0; i < 3; ++i) {
+                Array.setInt(values, i, i+1);
+            }
+            Object array = arrays.fromArrayConverter().convert(values);
+            final String json = mapper.writeValueAsString(array);
+            assertEquals((arrays == ImmutablePrimitiveArrays.DOUBLE) ? "[1.0,2.0,3.0]" : "[1,2,3]", json);
+            assertEquals(array, mapper.readValue(json, arrays.getType()));
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    // Registers (de)serializers for given types the same way the module does for Guava types
+    private ObjectMapper _mapperFor(ImmutablePrimitiveArrays... types)
+    {
+        SimpleModule module = new SimpleModule();
+        for (ImmutablePrimitiveArrays arrays : types) {
+            _register(module, arrays);
+        }
+        return mapperWithModule().registerModule(module);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void _register(SimpleModule module, ImmutablePrimitiveArrays arrays)
+    {
+        Class<Object> type = (Class<Object>) arrays.getType();
+        module.addSerializer(type, new StdDelegatingSerializer(arrays.toArrayConverter()));
+        module.addDeserializer(type, new StdDelegatingDeserializer<Object>(arrays.fromArrayConverter()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.deser.util.ValueInterner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Multimap;
+
+/**
+ * Unit tests for verifying that deserialized immutable containers (and Strings
+ * they contain) can be interned.
+ */
+public class InterningTest extends ModuleTestBase
+{
+    static class Event {
+        public ImmutableSet<String> tags;
+        public ImmutableMap<String, String> labels;
+        public ImmutableSortedSet<String> sortedTags;
+    }
+
+    public void testContainers() throws Exception
+    {
+        final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new GuavaModule().configureInterning(true));
+        final String json = aposToQuotes("[{'tags':['a','b'],'labels':{'x':'1','y':'2'},'sortedTags':['a','b']},"
+                +"{'tags':['a','b'],'labels':{'x':'1','y':'2'},'sortedTags':['a','b']},"
+                +"{'tags':['b','a'],'labels':{'x':'1'},'sortedTags':['b','a','c']}]");
+        List<Event> events = mapper.readValue(json, new TypeReference<List<Event>>() { });
+        final Event first = events.get(0);
+        assertSame(first.tags, events.get(1).tags);
+        assertSame(first.labels, events.get(1).labels);
+        assertSame(first.sortedTags, events.get(1).sortedTags);
+        // equal sets are shared regardless of ordering...
+        assertSame(first.tags, events.get(2).tags);
+        assertNotSame(first.labels, events.get(2).labels);
+        assertEquals(ImmutableSortedSet.of("a", "b", "c"), events.get(2).sortedTags);
+        // ... but not with sets of other types, even if equal
+        assertEquals(first.tags, first.sortedTags);
+        assertTrue(first.sortedTags instanceof ImmutableSortedSet<?>);
+
+        // nor are containers bigger than the limit
+        final ObjectMapper smallMapper = new ObjectMapper()
+            .registerModule(new GuavaModule().configureInterning(1, false));
+        final TypeReference<ImmutableList<Integer>> listType = new TypeReference<ImmutableList<Integer>>() { };
+        ImmutableList<Integer> list1 = smallMapper.readValue("[1]", listType);
+        ImmutableList<Integer> list2 = smallMapper.readValue("[1]", listType);
+        assertSame(list1, list2);
+        list1 = smallMapper.readValue("[1,2]", listType);
+        list2 = smallMapper.readValue("[1,2]", listType);
+        assertEquals(list1, list2);
+        assertNotSame(list1, list2);
+
+        // and interning is not enabled by default
+        events = mapperWithModule().readValue(json, new TypeReference<List<Event>>() { });
+        assertNotSame(events.get(0).tags, events.get(1).tags);
+    }
+
+    public void testStrings() throws Exception
+    {
+        final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new GuavaModule().configureInterning(ValueInterner.DEFAULT_MAX_SIZE, true));
+        final TypeReference<List<ImmutableList<String>>> type = new TypeReference<List<ImmutableList<String>>>() { };
+        List<ImmutableList<String>> lists = mapper.readValue("[[\"abc\",\"x\"],[\"abc\"]]", type);
+        assertSame(lists.get(0).get(0), lists.get(1).get(0));
+
+        // Multimap keys, including ones written as values
+        final TypeReference<List<Multimap<String, Integer>>> multimapType
+                = new TypeReference<List<Multimap<String, Integer>>>() { };
+        String json = aposToQuotes("[{'key':[1]},{'key':[2,3]},[['key',[4]]]]");
+        List<Multimap<String, Integer>> multimaps = mapper.readValue(json, multimapType);
+        String key = multimaps.get(0).keySet().iterator().next();
+        assertSame(key, multimaps.get(1).keySet().iterator().next());
+        assertEquals(ImmutableListMultimap.of("key", 4), ImmutableListMultimap.copyOf(multimaps.get(2)));
+
+        // not enabled with containers only
+        lists = new ObjectMapper().registerModule(new GuavaModule().configureInterning(true))
+                .readValue("[[\"abc\",\"x\"],[\"abc\"]]", type);
+        assertNotSame(lists.get(0).get(0), lists.get(1).get(0));
+    }
+}
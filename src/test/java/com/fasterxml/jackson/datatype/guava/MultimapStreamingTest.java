@@ -0,0 +1,107 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.MultimapEntryHandler;
+import com.fasterxml.jackson.datatype.guava.deser.multimap.MultimapStreamReader;
+
+import com.google.common.collect.*;
+
+/**
+ * Unit tests for verifying that Multimap contents can be read without
+ * constructing the Multimap, using {@link MultimapStreamReader}.
+ */
+public class MultimapStreamingTest extends ModuleTestBase
+{
+    static class CollectingHandler<K, V> implements MultimapEntryHandler<K, V>
+    {
+        public final List<K> keys = new ArrayList<K>();
+        public final List<List<V>> batches = new ArrayList<List<V>>();
+
+        @Override
+        public void handleValues(K key, List<V> values) {
+            keys.add(key);
+            batches.add(new ArrayList<V>(values));
+        }
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    private final JavaType INT_LONG_TYPE = MAPPER.getTypeFactory().constructType(
+            new TypeReference<ListMultimap<Integer, Long>>() { });
+
+    private final String JSON = aposToQuotes(
+            "{'1':[1,2,3,4,5],'2':[],'3':[6,null],'1':[7]}");
+
+    public void testReadAllValues() throws IOException
+    {
+        CollectingHandler<Integer, Long> h = new CollectingHandler<Integer, Long>();
+        new MultimapStreamReader(MAPPER, INT_LONG_TYPE).read(
+                new ByteArrayInputStream(JSON.getBytes("UTF-8")), h, 0);
+        // keys with no values are skipped; repeated keys are passed as is
+        assertEquals(ImmutableList.of(1, 3, 1), h.keys);
+        assertEquals(ImmutableList.of(1L, 2L, 3L, 4L, 5L), h.batches.get(0));
+        assertEquals(6L, h.batches.get(1).get(0).longValue());
+        assertNull(h.batches.get(1).get(1));
+        assertEquals(ImmutableList.of(7L), h.batches.get(2));
+    }
+
+    public void testReadInBatches() throws IOException
+    {
+        CollectingHandler<Integer, Long> h = new CollectingHandler<Integer, Long>();
+        JsonParser p = MAPPER.getFactory().createParser(JSON);
+        new MultimapStreamReader(MAPPER, INT_LONG_TYPE).read(p, h, 2);
+        assertEquals(JsonToken.END_OBJECT, p.getCurrentToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        assertEquals(ImmutableList.of(1, 1, 1, 3, 1), h.keys);
+        assertEquals(ImmutableList.of(1L, 2L), h.batches.get(0));
+        assertEquals(ImmutableList.of(3L, 4L), h.batches.get(1));
+        assertEquals(ImmutableList.of(5L), h.batches.get(2));
+        assertEquals(2, h.batches.get(3).size());
+        assertEquals(ImmutableList.of(7L), h.batches.get(4));
+    }
+
+    public void testReadArrayShape() throws IOException
+    {
+        CollectingHandler<Integer, Long> h = new CollectingHandler<Integer, Long>();
+        JsonParser p = MAPPER.getFactory().createParser("[[1,[1,2,3]],[2,[]],[3,[4]]]");
+        new MultimapStreamReader(MAPPER, INT_LONG_TYPE).read(p, h, 2);
+        assertEquals(JsonToken.END_ARRAY, p.getCurrentToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        assertEquals(ImmutableList.of(1, 1, 3), h.keys);
+        assertEquals(ImmutableList.of(1L, 2L), h.batches.get(0));
+        assertEquals(ImmutableList.of(3L), h.batches.get(1));
+        assertEquals(ImmutableList.of(4L), h.batches.get(2));
+    }
+
+    public void testNotMultimapType() throws IOException
+    {
+        try {
+            new MultimapStreamReader(MAPPER, MAPPER.constructType(String.class));
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "not a Multimap type");
+        }
+        try {
+            new MultimapStreamReader(new ObjectMapper(), INT_LONG_TYPE).read(
+                    new ByteArrayInputStream(JSON.getBytes("UTF-8")),
+                    new CollectingHandler<Integer, Long>(), 0);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "No Multimap deserializer", "Can not find a Value deserializer");
+        }
+    }
+}
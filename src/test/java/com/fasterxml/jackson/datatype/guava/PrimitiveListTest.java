@@ -0,0 +1,130 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.guava.ser.PrimitiveListSerializer;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+
+/**
+ * Unit tests for verifying handling of Lists backed by primitive arrays,
+ * like ones from {@link Ints#asList}.
+ */
+public class PrimitiveListTest extends ModuleTestBase
+{
+    static class Vectors {
+        public List<Integer> ints;
+        public List<Long> longs;
+        public List<Double> doubles;
+        public List<String> strings;
+    }
+
+    static class UnwrappedVectors {
+        @JsonFormat(with=JsonFormat.Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)
+        public List<Integer> unwrapped;
+        @JsonFormat(without=JsonFormat.Feature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)
+        public List<Long> wrapped;
+        public List<Double> doubles;
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    private final ObjectMapper PRIMITIVE_MAPPER = new ObjectMapper()
+        .registerModule(new GuavaModule().configurePrimitiveLists(true));
+
+    public void testSerialization() throws Exception
+    {
+        assertEquals("[1,-2,3]", MAPPER.writeValueAsString(Ints.asList(1, -2, 3)));
+        assertEquals("[-2,3]", MAPPER.writeValueAsString(Ints.asList(1, -2, 3).subList(1, 3)));
+        assertEquals("[10000000000,0]", MAPPER.writeValueAsString(Longs.asList(10000000000L, 0L)));
+        assertEquals("[0.5,-1.25]", MAPPER.writeValueAsString(Doubles.asList(0.5, -1.25)));
+
+        // should use specialized serializers (without boxing)
+        for (List<?> list : new List<?>[] { Ints.asList(1), Longs.asList(1L), Doubles.asList(1.0) }) {
+            assertTrue(MAPPER.getSerializerProviderInstance().findValueSerializer(list.getClass(), null)
+                    instanceof PrimitiveListSerializer);
+        }
+
+        Vectors v = new Vectors();
+        v.ints = Ints.asList(1, 2);
+        v.longs = Longs.asList(3L);
+        v.doubles = Doubles.asList(4.0);
+        assertEquals(aposToQuotes("{'ints':[1,2],'longs':[3],'doubles':[4.0],'strings':null}"),
+                MAPPER.writeValueAsString(v));
+    }
+
+    public void testSerializationUnwrapSingle() throws Exception
+    {
+        ObjectWriter w = MAPPER.writer().with(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED);
+        assertEquals("5", w.writeValueAsString(Ints.asList(5)));
+        assertEquals("-3", w.writeValueAsString(Longs.asList(-3L)));
+        assertEquals("0.5", w.writeValueAsString(Doubles.asList(0.5)));
+        assertEquals("[5,6]", w.writeValueAsString(Ints.asList(5, 6)));
+        assertEquals("[5]", MAPPER.writeValueAsString(Ints.asList(5)));
+
+        // and per-property overrides
+        UnwrappedVectors v = new UnwrappedVectors();
+        v.unwrapped = Ints.asList(1);
+        v.wrapped = Longs.asList(2L);
+        v.doubles = Doubles.asList(3.0);
+        assertEquals(aposToQuotes("{'unwrapped':1,'wrapped':[2],'doubles':[3.0]}"),
+                MAPPER.writeValueAsString(v));
+        assertEquals(aposToQuotes("{'unwrapped':1,'wrapped':[2],'doubles':3.0}"),
+                w.writeValueAsString(v));
+    }
+
+    public void testDeserialization() throws Exception
+    {
+        final String json = aposToQuotes("{'ints':[1,null,3],'longs':[10000000000],'doubles':[0.5,2],"
+                +"'strings':['a']}");
+        Vectors v = PRIMITIVE_MAPPER.readValue(json, Vectors.class);
+        assertEquals(Ints.asList(1, 0, 3), v.ints);
+        assertSame(Ints.asList(0).getClass(), v.ints.getClass());
+        assertEquals(Longs.asList(10000000000L), v.longs);
+        assertSame(Longs.asList(0L).getClass(), v.longs.getClass());
+        assertEquals(Doubles.asList(0.5, 2.0), v.doubles);
+        assertSame(Doubles.asList(0.0).getClass(), v.doubles.getClass());
+        assertEquals(ArrayList.class, v.strings.getClass());
+
+        // not enabled by default
+        v = MAPPER.readValue(json, Vectors.class);
+        assertEquals(ArrayList.class, v.ints.getClass());
+        assertNull(v.ints.get(1));
+
+        // empty and single-value variants
+        List<Integer> ints = PRIMITIVE_MAPPER.readValue("[]", new TypeReference<List<Integer>>() { });
+        assertTrue(ints.isEmpty());
+        ints = PRIMITIVE_MAPPER.reader(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                .forType(new TypeReference<List<Integer>>() { }).readValue("42");
+        assertEquals(Ints.asList(42), ints);
+    }
+
+    public void testRoundTripLarge() throws Exception
+    {
+        final int count = 10000;
+        long[] values = new long[count];
+        for (int i = 0; i < count; ++i) {
+            values[i] = i * 1000000007L;
+        }
+        final String json = MAPPER.writeValueAsString(Longs.asList(values));
+        final TypeReference<List<Long>> type = new TypeReference<List<Long>>() { };
+        assertEquals(Longs.asList(values), PRIMITIVE_MAPPER.readValue(json, type));
+
+        // and with length hints from data format, both too small and too big
+        for (int length : new int[] { 1, count - 1, count, count + 1 }) {
+            ExpectedSizeTest.LengthParser p = new ExpectedSizeTest.LengthParser(
+                    PRIMITIVE_MAPPER.getFactory().createParser(json), length);
+            List<Long> result = PRIMITIVE_MAPPER.readValue(p, type);
+            assertEquals(Longs.asList(values), result);
+            assertTrue(p.calls > 0);
+        }
+    }
+}
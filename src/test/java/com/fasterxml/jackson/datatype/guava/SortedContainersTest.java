@@ -0,0 +1,138 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.util.Collections;
+import java.util.Comparator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedMultiset;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Ordering;
+
+/**
+ * Unit tests for verifying ordering of deserialized sorted immutable containers,
+ * for both sorted and unsorted input, and with custom comparators.
+ */
+public class SortedContainersTest extends ModuleTestBase
+{
+    // not Comparable, so can only be used with a comparator
+    static class Point {
+        public int x, y;
+
+        public Point() { }
+        public Point(int x, int y) { this.x = x; this.y = y; }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof Point) && ((Point) o).x == x && ((Point) o).y == y;
+        }
+
+        @Override
+        public int hashCode() { return x * 31 + y; }
+
+        @Override
+        public String toString() { return "("+x+","+y+")"; }
+    }
+
+    static class CountingComparator implements Comparator<Point> {
+        int calls;
+
+        @Override
+        public int compare(Point a, Point b) {
+            ++calls;
+            return (a.x != b.x) ? (a.x < b.x ? -1 : 1) : (a.y < b.y ? -1 : (a.y == b.y ? 0 : 1));
+        }
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    public void testSortedSet() throws Exception
+    {
+        final TypeReference<ImmutableSortedSet<Integer>> type = new TypeReference<ImmutableSortedSet<Integer>>() { };
+        ImmutableSortedSet<Integer> set = MAPPER.readValue("[1,2,5,7]", type);
+        assertEquals(ImmutableSortedSet.of(1, 2, 5, 7), set);
+        assertEquals("[1,2,5,7]", MAPPER.writeValueAsString(set));
+        // unsorted, and with duplicates
+        set = MAPPER.readValue("[7,2,5,1,2]", type);
+        assertEquals("[1,2,5,7]", MAPPER.writeValueAsString(set));
+        assertEquals(Ordering.natural(), set.comparator());
+        set = MAPPER.readValue("[]", type);
+        assertTrue(set.isEmpty());
+        set = MAPPER.readValue("[3]", type);
+        assertEquals(ImmutableSortedSet.of(3), set);
+    }
+
+    public void testSortedMap() throws Exception
+    {
+        final TypeReference<ImmutableSortedMap<String, Integer>> type
+                = new TypeReference<ImmutableSortedMap<String, Integer>>() { };
+        ImmutableSortedMap<String, Integer> map = MAPPER.readValue(aposToQuotes("{'a':1,'b':2,'c':3}"), type);
+        assertEquals(ImmutableSortedMap.of("a", 1, "b", 2, "c", 3), map);
+        assertEquals("a", map.firstKey());
+        assertEquals("c", map.lastKey());
+        assertEquals(ImmutableSortedMap.of("b", 2), map.subMap("b", "c"));
+        // unsorted
+        map = MAPPER.readValue(aposToQuotes("{'c':3,'a':1,'b':2}"), type);
+        assertEquals(aposToQuotes("{'a':1,'b':2,'c':3}"), MAPPER.writeValueAsString(map));
+        // duplicate keys still fail
+        try {
+            MAPPER.readValue(aposToQuotes("{'a':1,'a':2}"), type);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "key");
+        }
+        // null values are skipped
+        map = MAPPER.readValue(aposToQuotes("{'a':1,'b':null,'c':3}"), type);
+        assertEquals(ImmutableSortedMap.of("a", 1, "c", 3), map);
+    }
+
+    public void testCustomComparators() throws Exception
+    {
+        final CountingComparator pointOrder = new CountingComparator();
+        final ObjectMapper mapper = new ObjectMapper().registerModule(new GuavaModule()
+                .addComparator(Point.class, pointOrder)
+                .addComparator(String.class, Collections.<String>reverseOrder()));
+
+        // elements that are not Comparable are fine with a comparator...
+        final TypeReference<ImmutableSortedSet<Point>> setType = new TypeReference<ImmutableSortedSet<Point>>() { };
+        ImmutableSortedSet<Point> points = mapper.readValue(aposToQuotes("[{'x':2,'y':0},{'x':1,'y':5}]"), setType);
+        assertSame(pointOrder, points.comparator());
+        assertEquals(new Point(1, 5), points.first());
+        assertEquals(2, points.size());
+        // ... and values already in order are compared just once per element
+        final String json = mapper.writeValueAsString(points);
+        pointOrder.calls = 0;
+        ImmutableSortedSet<Point> result = mapper.readValue(json, setType);
+        assertEquals(1, pointOrder.calls);
+        assertEquals(points, result);
+
+        // ... but not without one
+        try {
+            MAPPER.readValue("[]", setType);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "not Comparable");
+        }
+
+        ImmutableSortedMultiset<Point> multiset = mapper.readValue(aposToQuotes("[{'x':2,'y':0},{'x':1,'y':5},{'x':2,'y':0}]"),
+                new TypeReference<ImmutableSortedMultiset<Point>>() { });
+        assertSame(pointOrder, multiset.comparator());
+        assertEquals(2, multiset.count(new Point(2, 0)));
+        assertEquals(new Point(1, 5), multiset.firstEntry().getElement());
+
+        ImmutableSortedMap<String, Integer> map = mapper.readValue(aposToQuotes("{'a':1,'c':3,'b':2}"),
+                new TypeReference<ImmutableSortedMap<String, Integer>>() { });
+        assertEquals(Collections.<String>reverseOrder(), map.comparator());
+        assertEquals(aposToQuotes("{'c':3,'b':2,'a':1}"), mapper.writeValueAsString(map));
+        ImmutableSortedMap<String, Integer> map2 = mapper.readValue(mapper.writeValueAsString(map),
+                new TypeReference<ImmutableSortedMap<String, Integer>>() { });
+        assertEquals(map, map2);
+
+        // empty containers also retain comparator
+        ImmutableSortedSet<String> strings = mapper.readValue("[]",
+                new TypeReference<ImmutableSortedSet<String>>() { });
+        assertEquals(Collections.<String>reverseOrder(), strings.comparator());
+    }
+}
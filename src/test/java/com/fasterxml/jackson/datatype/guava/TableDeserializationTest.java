@@ -0,0 +1,109 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.google.common.collect.*;
+
+/**
+ * Unit tests for verifying deserialization of Guava {@link Table}s.
+ */
+public class TableDeserializationTest extends ModuleTestBase
+{
+    static class TableWrapper {
+        public TreeBasedTable<String, Integer, Long> table;
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    private final String JSON = aposToQuotes("{'b':{'2':3,'1':null},'a':{'1':1,'2':2}}");
+
+    public void testHashBasedTable() throws IOException
+    {
+        Table<String, Integer, Long> table = MAPPER.readValue(JSON,
+                new TypeReference<HashBasedTable<String, Integer, Long>>() { });
+        assertTrue(table instanceof HashBasedTable);
+        _verifyCells(table);
+
+        // plain Table defaults to HashBasedTable
+        table = MAPPER.readValue(JSON, new TypeReference<Table<String, Integer, Long>>() { });
+        assertTrue(table instanceof HashBasedTable);
+        _verifyCells(table);
+    }
+
+    public void testTreeBasedTable() throws IOException
+    {
+        TableWrapper w = MAPPER.readValue(aposToQuotes("{'table':"+JSON+"}"), TableWrapper.class);
+        _verifyCells(w.table);
+        assertEquals(ImmutableList.of("a", "b"), ImmutableList.copyOf(w.table.rowKeySet()));
+        assertEquals(ImmutableList.of(1, 2), ImmutableList.copyOf(w.table.columnKeySet()));
+
+        RowSortedTable<String, Integer, Long> sorted = MAPPER.readValue(JSON,
+                new TypeReference<RowSortedTable<String, Integer, Long>>() { });
+        assertTrue(sorted instanceof TreeBasedTable);
+        assertEquals(w.table, sorted);
+        // and should round-trip
+        assertEquals(aposToQuotes("{'a':{'1':1,'2':2},'b':{'2':3}}"), MAPPER.writeValueAsString(sorted));
+    }
+
+    public void testImmutableTable() throws IOException
+    {
+        ImmutableTable<String, Integer, Long> table = MAPPER.readValue(JSON,
+                new TypeReference<ImmutableTable<String, Integer, Long>>() { });
+        _verifyCells(table);
+        // builder retains ordering
+        assertEquals(ImmutableList.of("b", "a"), ImmutableList.copyOf(table.rowKeySet()));
+        table = MAPPER.readValue("{}",
+                new TypeReference<ImmutableTable<String, Integer, Long>>() { });
+        assertTrue(table.isEmpty());
+    }
+
+    public void testArrayTable() throws IOException
+    {
+        ArrayTable<String, Integer, Long> table = MAPPER.readValue(JSON,
+                new TypeReference<ArrayTable<String, Integer, Long>>() { });
+        assertEquals(ImmutableList.of("b", "a"), table.rowKeyList());
+        assertEquals(ImmutableList.of(2, 1), table.columnKeyList());
+        assertEquals(Long.valueOf(1L), table.get("a", 1));
+        assertEquals(Long.valueOf(2L), table.get("a", 2));
+        assertEquals(Long.valueOf(3L), table.get("b", 2));
+        assertNull(table.get("b", 1));
+
+        // round-trip, including nulls for unset cells
+        ArrayTable<String, Integer, Long> result = MAPPER.readValue(MAPPER.writeValueAsString(table),
+                new TypeReference<ArrayTable<String, Integer, Long>>() { });
+        assertEquals(table, result);
+        assertEquals(table.rowKeyList(), result.rowKeyList());
+
+        try {
+            MAPPER.readValue("{}", new TypeReference<ArrayTable<String, Integer, Long>>() { });
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "empty ArrayTable");
+        }
+    }
+
+    public void testInvalidRow() throws IOException
+    {
+        try {
+            MAPPER.readValue(aposToQuotes("{'a':[1]}"),
+                    new TypeReference<HashBasedTable<String, Integer, Long>>() { });
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Expected row");
+        }
+    }
+
+    private void _verifyCells(Table<String, Integer, Long> table)
+    {
+        // null values are skipped
+        assertEquals(3, table.size());
+        assertEquals(Long.valueOf(1L), table.get("a", 1));
+        assertEquals(Long.valueOf(2L), table.get("a", 2));
+        assertEquals(Long.valueOf(3L), table.get("b", 2));
+        assertFalse(table.contains("b", 1));
+    }
+}
@@ -9,7 +9,11 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import com.google.common.collect.ArrayTable;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
 
 public class TableSerializationTest extends ModuleTestBase
 {
@@ -130,13 +134,9 @@ public class TableSerializationTest extends ModuleTestBase
         final String simpleJson = MAPPER.writeValueAsString(simpleTable);
         assertEquals("{\"42\":{\"column42\":\"some value 42\"},\"45\":{\"column45\":\"some value 45\"}}", simpleJson);
 
-        // !!! TODO: support deser
-        
-        /*
         final ImmutableTable<Integer, String, String> reconstitutedTable =
                 this.MAPPER.readValue(simpleJson, new TypeReference<ImmutableTable<Integer, String, String>>() {});
         assertEquals(simpleTable, reconstitutedTable);
-        */
     }
 
     /**
@@ -155,11 +155,45 @@ public class TableSerializationTest extends ModuleTestBase
         final String ckJson = this.MAPPER.writerFor(tableType).writeValueAsString(complexKeyTable);
         assertEquals("{\"42\":{\"field1:field2\":\"some value 42\"},\"45\":{\"field1:field2\":\"some value 45\"}}", ckJson);
 
-        // !!! TODO: support deser
-/*        
-        
         final ImmutableTable<Integer, ComplexKey, String> reconstitutedTable = this.MAPPER.readValue(ckJson, tableType);
         assertEquals(complexKeyTable, reconstitutedTable);
-        */
+    }
+
+    public void testStandardTables() throws IOException
+    {
+        final Table<String, String, Object> hashTable = HashBasedTable.create();
+        hashTable.put("r1", "c2", Integer.valueOf(1));
+        hashTable.put("r1", "c1", "a");
+        hashTable.put("r2", "c1", Boolean.TRUE);
+        // remove to verify empty rows are not left in backing map
+        hashTable.put("r3", "c1", Integer.valueOf(3));
+        hashTable.remove("r3", "c1");
+        // HashBasedTable has no defined ordering, so compare as trees
+        assertEquals(MAPPER.readTree("{\"r1\":{\"c1\":\"a\",\"c2\":1},\"r2\":{\"c1\":true}}"),
+                MAPPER.readTree(MAPPER.writeValueAsString(hashTable)));
+
+        final Table<String, String, Object> treeTable = TreeBasedTable.create();
+        treeTable.putAll(hashTable);
+        assertEquals("{\"r1\":{\"c1\":\"a\",\"c2\":1},\"r2\":{\"c1\":true}}",
+                MAPPER.writeValueAsString(treeTable));
+        // columns (but not rows) sorted if so configured, as with earlier versions
+        final Table<String, String, Object> colTable = HashBasedTable.create();
+        colTable.put("r", "c2", Integer.valueOf(2));
+        colTable.put("r", "c3", Integer.valueOf(3));
+        colTable.put("r", "c1", Integer.valueOf(1));
+        assertEquals("{\"r\":{\"c1\":1,\"c2\":2,\"c3\":3}}",
+                MAPPER.writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(colTable));
+    }
+
+    public void testNullCells() throws IOException
+    {
+        final ArrayTable<String, String, Integer> table = ArrayTable.create(
+                java.util.Arrays.asList("r1"), java.util.Arrays.asList("c1", "c2"));
+        table.put("r1", "c2", Integer.valueOf(2));
+        assertEquals("{\"r1\":{\"c1\":null,\"c2\":2}}", MAPPER.writeValueAsString(table));
+        assertEquals("{\"r1\":{\"c2\":2}}",
+                MAPPER.writer().without(SerializationFeature.WRITE_NULL_MAP_VALUES)
+                    .writeValueAsString(table));
     }
 }
@@ -0,0 +1,255 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.google.common.collect.*;
+
+/**
+ * Unit tests for verifying handling of alternative {@link TableShape}s
+ * of Guava {@link Table}s.
+ */
+public class TableShapeTest extends ModuleTestBase
+{
+    static class MatrixWrapper {
+        @JsonFormat(pattern="matrix")
+        public ArrayTable<String, Integer, Double> table;
+    }
+
+    static class ColumnsWrapper {
+        @JsonFormat(pattern="COLUMNS")
+        public Table<String, String, Integer> table;
+    }
+
+    static class CellsWrapper {
+        @JsonFormat(shape=JsonFormat.Shape.ARRAY)
+        public ImmutableTable<Long, Long, Integer> table;
+    }
+
+    static class BadShapeWrapper {
+        @JsonFormat(pattern="triangle")
+        public HashBasedTable<String, String, String> table = HashBasedTable.create();
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    private final ObjectMapper MATRIX_MAPPER = new ObjectMapper()
+        .registerModule(new GuavaModule().defaultTableShape(TableShape.MATRIX));
+
+    private final ObjectMapper COLUMNS_MAPPER = new ObjectMapper()
+        .registerModule(new GuavaModule().defaultTableShape(TableShape.COLUMNS));
+
+    private final ObjectMapper CELLS_MAPPER = new ObjectMapper()
+        .registerModule(new GuavaModule().defaultTableShape(TableShape.CELLS));
+
+    /*
+    /**********************************************************
+    /* Tests for MATRIX shape
+    /**********************************************************
+     */
+
+    public void testMatrixArrayTable() throws IOException
+    {
+        ArrayTable<String, Integer, Double> table = ArrayTable.create(
+                Arrays.asList("a", "b"), Arrays.asList(1, 2, 3));
+        table.put("a", 1, 0.25);
+        table.put("a", 3, 3.0);
+        table.put("b", 2, -1.5);
+        MatrixWrapper w = new MatrixWrapper();
+        w.table = table;
+        final String json = MAPPER.writeValueAsString(w);
+        assertEquals(aposToQuotes("{'table':{'rowKeys':['a','b'],'columnKeys':[1,2,3],"
+                +"'values':[[0.25,null,3.0],[null,-1.5,null]]}}"), json);
+
+        MatrixWrapper result = MAPPER.readValue(json, MatrixWrapper.class);
+        assertEquals(table, result.table);
+        assertEquals(table.rowKeyList(), result.table.rowKeyList());
+        assertEquals(table.columnKeyList(), result.table.columnKeyList());
+    }
+
+    public void testMatrixDefaultShape() throws IOException
+    {
+        Table<String, String, Integer> table = TreeBasedTable.create();
+        table.put("r1", "c1", 1);
+        table.put("r2", "c2", 4);
+        final String json = MATRIX_MAPPER.writeValueAsString(table);
+        assertEquals(aposToQuotes("{'rowKeys':['r1','r2'],'columnKeys':['c1','c2'],"
+                +"'values':[[1,null],[null,4]]}"), json);
+
+        // missing cells are not added for other types
+        Table<String, String, Integer> result = MATRIX_MAPPER.readValue(json,
+                new TypeReference<TreeBasedTable<String, String, Integer>>() { });
+        assertEquals(table, result);
+        ImmutableTable<String, String, Integer> immutable = MATRIX_MAPPER.readValue(json,
+                new TypeReference<ImmutableTable<String, String, Integer>>() { });
+        assertEquals(table, immutable);
+        result = MATRIX_MAPPER.readValue(json,
+                new TypeReference<Table<String, String, Integer>>() { });
+        assertEquals(table, result);
+
+        // and empty tables work too (except for ArrayTable)
+        table.clear();
+        assertEquals(aposToQuotes("{'rowKeys':[],'columnKeys':[],'values':[]}"),
+                MATRIX_MAPPER.writeValueAsString(table));
+        immutable = MATRIX_MAPPER.readValue("{}",
+                new TypeReference<ImmutableTable<String, String, Integer>>() { });
+        assertTrue(immutable.isEmpty());
+    }
+
+    public void testMatrixInvalid() throws IOException
+    {
+        final TypeReference<?> type = new TypeReference<HashBasedTable<String, String, Integer>>() { };
+        try {
+            MATRIX_MAPPER.readValue(aposToQuotes("{'values':[[1]],'rowKeys':['a'],'columnKeys':['b']}"), type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "must precede");
+        }
+        try {
+            MATRIX_MAPPER.readValue(aposToQuotes("{'rowKeys':['a'],'columnKeys':['b'],'values':[[1,2]]}"), type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "More values in row");
+        }
+        try {
+            MATRIX_MAPPER.readValue(aposToQuotes("{'rowKeys':['a'],'cols':['b']}"), type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Unrecognized property 'cols'");
+        }
+        try {
+            MAPPER.writeValueAsString(new BadShapeWrapper());
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Unrecognized Table shape 'triangle'");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Tests for COLUMNS shape
+    /**********************************************************
+     */
+
+    public void testColumnsStandardTables() throws IOException
+    {
+        Table<String, String, Integer> table = TreeBasedTable.create();
+        table.put("r2", "c1", 3);
+        table.put("r1", "c2", 2);
+        table.put("r1", "c1", 1);
+        final String json = COLUMNS_MAPPER.writeValueAsString(table);
+        assertEquals(aposToQuotes("{'c1':{'r1':1,'r2':3},'c2':{'r1':2}}"), json);
+
+        Table<String, String, Integer> result = COLUMNS_MAPPER.readValue(json,
+                new TypeReference<TreeBasedTable<String, String, Integer>>() { });
+        assertEquals(table, result);
+
+        // HashBasedTable has no defined ordering, so compare as trees
+        Table<String, String, Integer> hashTable = HashBasedTable.create(table);
+        assertEquals(COLUMNS_MAPPER.readTree(json),
+                COLUMNS_MAPPER.readTree(COLUMNS_MAPPER.writeValueAsString(hashTable)));
+        result = COLUMNS_MAPPER.readValue(json,
+                new TypeReference<Table<String, String, Integer>>() { });
+        assertEquals(table, result);
+    }
+
+    public void testColumnsOtherTables() throws IOException
+    {
+        ImmutableTable<String, String, Integer> table = ImmutableTable.<String, String, Integer>builder()
+                .put("r1", "c2", 2)
+                .put("r2", "c1", 3)
+                .build();
+        ColumnsWrapper w = new ColumnsWrapper();
+        w.table = table;
+        final String json = MAPPER.writeValueAsString(w);
+        assertEquals(aposToQuotes("{'table':{'c2':{'r1':2},'c1':{'r2':3}}}"), json);
+        assertEquals(table, MAPPER.readValue(json, ColumnsWrapper.class).table);
+
+        ImmutableTable<String, String, Integer> immutable = COLUMNS_MAPPER.readValue(
+                aposToQuotes("{'c2':{'r1':2},'c1':{'r2':3}}"),
+                new TypeReference<ImmutableTable<String, String, Integer>>() { });
+        assertEquals(table, immutable);
+
+        ArrayTable<String, String, Integer> arrayTable = ArrayTable.create(table);
+        assertEquals(aposToQuotes("{'c2':{'r1':2,'r2':null},'c1':{'r1':null,'r2':3}}"),
+                COLUMNS_MAPPER.writeValueAsString(arrayTable));
+        ArrayTable<String, String, Integer> arrayResult = COLUMNS_MAPPER.readValue(
+                COLUMNS_MAPPER.writeValueAsString(arrayTable),
+                new TypeReference<ArrayTable<String, String, Integer>>() { });
+        assertEquals(arrayTable, arrayResult);
+
+        try {
+            COLUMNS_MAPPER.readValue(aposToQuotes("{'c1':[1]}"),
+                    new TypeReference<HashBasedTable<String, String, Integer>>() { });
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Expected column");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Tests for CELLS shape
+    /**********************************************************
+     */
+
+    public void testCellsNativeKeys() throws IOException
+    {
+        ImmutableTable<Long, Long, Integer> table = ImmutableTable.<Long, Long, Integer>builder()
+                .put(10000000000L, 3L, 1)
+                .put(10000000000L, 7L, 2)
+                .put(-5L, 3L, 3)
+                .build();
+        CellsWrapper w = new CellsWrapper();
+        w.table = table;
+        final String json = MAPPER.writeValueAsString(w);
+        assertEquals("{\"table\":[[10000000000,3,1],[10000000000,7,2],[-5,3,3]]}", json);
+        CellsWrapper result = MAPPER.readValue(json, CellsWrapper.class);
+        assertEquals(table, result.table);
+        assertEquals(table.rowKeySet().asList(), result.table.rowKeySet().asList());
+
+        // and with module default, for other types
+        Table<Long, Long, Integer> hashTable = CELLS_MAPPER.readValue("[[1,2,3],[4,5,null],[1,5,6]]",
+                new TypeReference<Table<Long, Long, Integer>>() { });
+        assertTrue(hashTable instanceof HashBasedTable);
+        assertEquals(2, hashTable.size());
+        assertEquals(Integer.valueOf(3), hashTable.get(1L, 2L));
+        assertEquals(Integer.valueOf(6), hashTable.get(1L, 5L));
+        assertEquals("[]", CELLS_MAPPER.writeValueAsString(HashBasedTable.create()));
+
+        ArrayTable<Long, Long, Integer> arrayTable = CELLS_MAPPER.readValue("[[1,2,3],[4,5,null]]",
+                new TypeReference<ArrayTable<Long, Long, Integer>>() { });
+        assertEquals(Arrays.asList(1L, 4L), arrayTable.rowKeyList());
+        assertEquals(Arrays.asList(2L, 5L), arrayTable.columnKeyList());
+        assertEquals("[[1,2,3],[1,5,null],[4,2,null],[4,5,null]]",
+                CELLS_MAPPER.writeValueAsString(arrayTable));
+    }
+
+    public void testCellsInvalid() throws IOException
+    {
+        final TypeReference<?> type = new TypeReference<HashBasedTable<Long, Long, Integer>>() { };
+        try {
+            CELLS_MAPPER.readValue("{}", type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Expected cells");
+        }
+        try {
+            CELLS_MAPPER.readValue("[[1,2,3,4]]", type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "exactly 3 elements");
+        }
+        try {
+            CELLS_MAPPER.readValue("[[1]]", type);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Missing or null key");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.fasterxml.jackson.datatype.guava;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.deser.table.TableCellHandler;
+import com.fasterxml.jackson.datatype.guava.deser.table.TableRowHandler;
+import com.fasterxml.jackson.datatype.guava.deser.table.TableStreamReader;
+
+import com.google.common.collect.*;
+
+/**
+ * Unit tests for verifying that Table contents can be read without
+ * constructing the Table, using {@link TableStreamReader}.
+ */
+public class TableStreamingTest extends ModuleTestBase
+{
+    static class CellHandler<R, C, V> implements TableCellHandler<R, C, V>
+    {
+        public final List<Table.Cell<R, C, V>> cells = new ArrayList<Table.Cell<R, C, V>>();
+
+        @Override
+        public void handleCell(R rowKey, C columnKey, V value) {
+            cells.add(Tables.immutableCell(rowKey, columnKey, value));
+        }
+    }
+
+    static class RowHandler<R, C, V> implements TableRowHandler<R, C, V>
+    {
+        public final List<R> keys = new ArrayList<R>();
+        public final List<Map<C, V>> rows = new ArrayList<Map<C, V>>();
+
+        @Override
+        public void handleRow(R rowKey, Map<C, V> row) {
+            keys.add(rowKey);
+            rows.add(new LinkedHashMap<C, V>(row));
+        }
+    }
+
+    private final ObjectMapper MAPPER = mapperWithModule();
+
+    private final JavaType INT_STRING_TYPE = MAPPER.getTypeFactory().constructType(
+            new TypeReference<Table<Integer, String, Long>>() { });
+
+    private final String JSON = aposToQuotes(
+            "{'1':{'a':1,'b':2},'2':{},'3':{'a':null,'c':3}}");
+
+    public void testReadCells() throws IOException
+    {
+        CellHandler<Integer, String, Long> h = new CellHandler<Integer, String, Long>();
+        JsonParser p = MAPPER.getFactory().createParser(JSON);
+        new TableStreamReader(MAPPER, INT_STRING_TYPE).readCells(p, h);
+        assertEquals(JsonToken.END_OBJECT, p.getCurrentToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        // null cells are skipped
+        assertEquals(ImmutableList.of(Tables.immutableCell(1, "a", 1L),
+                Tables.immutableCell(1, "b", 2L),
+                Tables.immutableCell(3, "c", 3L)), h.cells);
+    }
+
+    public void testReadRows() throws IOException
+    {
+        RowHandler<Integer, String, Long> h = new RowHandler<Integer, String, Long>();
+        new TableStreamReader(MAPPER, INT_STRING_TYPE).readRows(
+                new ByteArrayInputStream(JSON.getBytes("UTF-8")), h);
+        // rows with no values are skipped
+        assertEquals(ImmutableList.of(1, 3), h.keys);
+        assertEquals(ImmutableMap.of("a", 1L, "b", 2L), h.rows.get(0));
+        assertEquals(ImmutableMap.of("c", 3L), h.rows.get(1));
+    }
+
+    public void testReadOtherShapes() throws IOException
+    {
+        final ObjectMapper cellsMapper = new ObjectMapper()
+            .registerModule(new GuavaModule().defaultTableShape(TableShape.CELLS));
+        JavaType type = cellsMapper.getTypeFactory().constructType(
+                new TypeReference<ImmutableTable<Integer, String, Long>>() { });
+        RowHandler<Integer, String, Long> h = new RowHandler<Integer, String, Long>();
+        new TableStreamReader(cellsMapper, type).readRows(cellsMapper.getFactory().createParser(
+                aposToQuotes("[[1,'a',1],[1,'b',2],[2,'a',3],[1,'c',4]]")), h);
+        // only consecutive cells are grouped
+        assertEquals(ImmutableList.of(1, 2, 1), h.keys);
+        assertEquals(ImmutableMap.of("a", 1L, "b", 2L), h.rows.get(0));
+        assertEquals(ImmutableMap.of("c", 4L), h.rows.get(2));
+
+        final ObjectMapper matrixMapper = new ObjectMapper()
+            .registerModule(new GuavaModule().defaultTableShape(TableShape.MATRIX));
+        CellHandler<Integer, String, Long> ch = new CellHandler<Integer, String, Long>();
+        new TableStreamReader(matrixMapper, INT_STRING_TYPE).readCells(matrixMapper.getFactory().createParser(
+                aposToQuotes("{'rowKeys':[1,2],'columnKeys':['a','b'],'values':[[1,null],[null,4]]}")), ch);
+        assertEquals(ImmutableList.of(Tables.immutableCell(1, "a", 1L),
+                Tables.immutableCell(2, "b", 4L)), ch.cells);
+    }
+
+    public void testInvalid() throws IOException
+    {
+        try {
+            new TableStreamReader(MAPPER, MAPPER.constructType(String.class));
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "not a Table type");
+        }
+        try {
+            new TableStreamReader(new ObjectMapper(), INT_STRING_TYPE).readCells(
+                    MAPPER.getFactory().createParser(JSON), new CellHandler<Integer, String, Long>());
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "is GuavaModule registered");
+        }
+    }
+}
@@ -240,5 +240,45 @@ public class TestImmutables extends ModuleTestBase
         assertEquals(map.get(12), Boolean.TRUE);
         assertEquals(map.get(4), Boolean.FALSE);
     }
-    
+
+    // Immutable types are created from recycled buffers with exact size, so verify
+    // sizes around buffer chunk boundaries, as well as nested collections
+    public void testImmutableSizes() throws Exception
+    {
+        final int[] sizes = new int[] { 0, 1, 2, 3, 4, 11, 12, 13, 100, 1000 };
+        for (int size : sizes) {
+            ImmutableList.Builder<Integer> b = ImmutableList.builder();
+            ImmutableMap.Builder<String, Integer> mb = ImmutableMap.builder();
+            for (int i = 0; i < size; ++i) {
+                b.add(size - i);
+                mb.put(String.valueOf(i), size - i);
+            }
+            final ImmutableList<Integer> list = b.build();
+            final ImmutableMap<String, Integer> map = mb.build();
+            final String listJson = MAPPER.writeValueAsString(list);
+            final String mapJson = MAPPER.writeValueAsString(map);
+
+            assertEquals(list, MAPPER.readValue(listJson, new TypeReference<ImmutableList<Integer>>() { }));
+            assertEquals(ImmutableSet.copyOf(list),
+                    MAPPER.readValue(listJson, new TypeReference<ImmutableSet<Integer>>() { }));
+            ImmutableSortedSet<Integer> sortedSet = MAPPER.readValue(listJson,
+                    new TypeReference<ImmutableSortedSet<Integer>>() { });
+            assertEquals(ImmutableSortedSet.copyOf(list).asList(), sortedSet.asList());
+            assertEquals(ImmutableMultiset.copyOf(list),
+                    MAPPER.readValue(listJson, new TypeReference<ImmutableMultiset<Integer>>() { }));
+            assertEquals(ImmutableSortedMultiset.copyOf(list),
+                    MAPPER.readValue(listJson, new TypeReference<ImmutableSortedMultiset<Integer>>() { }));
+
+            assertEquals(map, MAPPER.readValue(mapJson, new TypeReference<ImmutableMap<String, Integer>>() { }));
+            assertEquals(map, MAPPER.readValue(mapJson, new TypeReference<ImmutableBiMap<String, Integer>>() { }));
+            assertEquals(map, MAPPER.readValue(mapJson, new TypeReference<ImmutableSortedMap<String, Integer>>() { }));
+
+            ImmutableList<ImmutableList<Integer>> nested = ImmutableList.of(list, list.reverse(), list);
+            assertEquals(nested, MAPPER.readValue(MAPPER.writeValueAsString(nested),
+                    new TypeReference<ImmutableList<ImmutableList<Integer>>>() { }));
+            ImmutableMap<String, ImmutableMap<String, Integer>> nestedMap = ImmutableMap.of("a", map, "b", map);
+            assertEquals(nestedMap, MAPPER.readValue(MAPPER.writeValueAsString(nestedMap),
+                    new TypeReference<ImmutableMap<String, ImmutableMap<String, Integer>>>() { }));
+        }
+    }
 }
@@ -1,12 +1,27 @@
 package com.fasterxml.jackson.datatype.guava;
 
 import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.guava.pojo.AddOp;
 import com.fasterxml.jackson.datatype.guava.pojo.MathOp;
 import com.fasterxml.jackson.datatype.guava.pojo.MulOp;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.*;
 
 import java.io.IOException;
@@ -28,6 +43,15 @@ public class TestMultimaps extends ModuleTestBase
         BOO
     }
 
+    public static enum LowerCaseEnum {
+        A, B;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
     // [Issue#41]
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
     static class MultiMapWrapper {
@@ -46,6 +70,89 @@ public class TestMultimaps extends ModuleTestBase
         }
     }
 
+    static class SortedMultimapWrapper {
+        @JsonPropertyOrder(alphabetic=true)
+        public Multimap<String, Integer> map = LinkedListMultimap.create();
+    }
+
+    static class NonNullContentWrapper {
+        @JsonInclude(content=JsonInclude.Include.NON_NULL)
+        public Multimap<String, String> map = LinkedListMultimap.create();
+    }
+
+    static class NonEmptyContentWrapper {
+        @JsonInclude(content=JsonInclude.Include.NON_EMPTY)
+        public Multimap<String, String> map = LinkedListMultimap.create();
+    }
+
+    static class NonAbsentContentWrapper {
+        @JsonInclude(content=JsonInclude.Include.NON_ABSENT)
+        public Multimap<String, Optional<String>> map = LinkedListMultimap.create();
+    }
+
+    static class NonDefaultContentWrapper {
+        @JsonInclude(content=JsonInclude.Include.NON_DEFAULT)
+        public Multimap<String, Integer> map = LinkedListMultimap.create();
+    }
+
+    static class FilteredContentWrapper {
+        @JsonFilter("keys")
+        @JsonInclude(content=JsonInclude.Include.NON_EMPTY)
+        public Multimap<String, String> map = LinkedListMultimap.create();
+    }
+
+    static class ArrayShapeWrapper {
+        @JsonFormat(shape=JsonFormat.Shape.ARRAY)
+        public ListMultimap<Integer, String> map = LinkedListMultimap.create();
+    }
+
+    static class DateKeyWrapper {
+        @JsonFormat(shape=JsonFormat.Shape.ARRAY, pattern="dd.MM.yyyy", timezone="UTC")
+        public ListMultimap<java.util.Date, String> map;
+    }
+
+    // key type with a value deserializer that must not be used for JSON Object keys
+    static class StringKey {
+        final String value;
+
+        public StringKey(String value) { this.value = value; }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof StringKey) && value.equals(((StringKey) o).value);
+        }
+
+        @Override
+        public int hashCode() { return value.hashCode(); }
+    }
+
+    static class FailingStringKeyDeserializer extends StdScalarDeserializer<StringKey>
+        implements ContextualDeserializer
+    {
+        private static final long serialVersionUID = 1L;
+
+        public FailingStringKeyDeserializer() { super(StringKey.class); }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            throw new IllegalStateException("Should not be resolved");
+        }
+
+        @Override
+        public StringKey deserialize(JsonParser p, DeserializationContext ctxt) {
+            throw new IllegalStateException("Should not be called");
+        }
+    }
+
+    static class StringKeyWrapper {
+        public ListMultimap<StringKey, String> map;
+    }
+
+    static class ObjectShapeWrapper {
+        @JsonFormat(shape=JsonFormat.Shape.OBJECT)
+        public Multimap<String, Integer> map = LinkedListMultimap.create();
+    }
+
     public static class ImmutableMultimapWrapper {
 
         private ImmutableMultimap<String, MathOp> multimap;
@@ -181,6 +288,34 @@ public class TestMultimaps extends ModuleTestBase
         assertEquals(map, MAPPER.readValue(serializedForm, type));
     }
 
+    public void testEnumKeyNames() throws Exception
+    {
+        final TypeReference<ListMultimap<LowerCaseEnum, Integer>> type =
+                new TypeReference<ListMultimap<LowerCaseEnum, Integer>>() {};
+        final ListMultimap<LowerCaseEnum, Integer> map = LinkedListMultimap.create();
+        map.put(LowerCaseEnum.B, 1);
+        map.put(LowerCaseEnum.A, 2);
+
+        assertEquals(aposToQuotes("{'B':[1],'A':[2]}"),
+                MAPPER.writerFor(type).writeValueAsString(map));
+        assertEquals(aposToQuotes("{'b':[1],'a':[2]}"),
+                MAPPER.writerFor(type).with(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                    .writeValueAsString(map));
+        // and with custom key serializer, should not use precomputed names
+        ObjectMapper mapper = mapperWithModule();
+        SimpleModule module = new SimpleModule();
+        module.addKeySerializer(LowerCaseEnum.class, new JsonSerializer<LowerCaseEnum>() {
+            @Override
+            public void serialize(LowerCaseEnum value, JsonGenerator gen,
+                    SerializerProvider provider) throws IOException {
+                gen.writeFieldName("key-"+value.ordinal());
+            }
+        });
+        mapper.registerModule(module);
+        assertEquals(aposToQuotes("{'key-1':[1],'key-0':[2]}"),
+                mapper.writerFor(type).writeValueAsString(map));
+    }
+
     // [Issue#41]
     public void testEmptyMapExclusion() throws Exception
     {
@@ -202,14 +337,40 @@ public class TestMultimaps extends ModuleTestBase
     /**********************************************************************
      */
 
-    /*
     public void testTreeMultimap() throws IOException {
+        SetMultimap<String, String> map =
+                _verifyMultiMapRead(new TypeReference<TreeMultimap<String, String>>() {
+                });
+        assertTrue(map instanceof TreeMultimap);
+        // sorted regardless of input ordering
+        assertEquals(ImmutableList.of("abc", "foo"), ImmutableList.copyOf(map.get("first")));
+
+        // and input that is already sorted (with both duplicate and repeated keys)
+        TreeMultimap<Integer, Integer> sorted = MAPPER.readValue(
+                "{\"3\":[1,2,3],\"1\":[5,5,6],\"2\":[],\"3\":[0,4]}",
+                new TypeReference<TreeMultimap<Integer, Integer>>() {});
+        assertEquals(ImmutableList.of(1, 3), ImmutableList.copyOf(sorted.keySet()));
+        assertEquals(ImmutableList.of(5, 6), ImmutableList.copyOf(sorted.get(1)));
+        assertEquals(ImmutableList.of(0, 1, 2, 3, 4), ImmutableList.copyOf(sorted.get(3)));
+        assertEquals(7, sorted.size());
+        // must remain fully functional Multimap
+        assertTrue(sorted.put(3, 10));
+        assertTrue(sorted.remove(3, 2));
+        assertEquals(ImmutableList.of(0, 1, 3, 4, 10), ImmutableList.copyOf(sorted.get(3)));
     }
 
     public void testForwardingSortedSetMultimap() throws IOException {
+        SetMultimap<String, String> map =
+                _verifyMultiMapRead(new TypeReference<ForwardingSortedSetMultimap<String, String>>() {
+                });
+        assertTrue(map instanceof ForwardingSortedSetMultimap);
+        assertEquals(ImmutableList.of("abc", "foo"), ImmutableList.copyOf(map.get("first")));
 
+        // and plain SortedSetMultimap should be deserializable as well
+        map = _verifyMultiMapRead(new TypeReference<SortedSetMultimap<String, String>>() {
+        });
+        assertTrue(map instanceof TreeMultimap);
     }
-    */
 
     public void testImmutableSetMultimap() throws IOException {
         SetMultimap<String, String> map =
@@ -232,10 +393,12 @@ public class TestMultimaps extends ModuleTestBase
         assertTrue(map instanceof LinkedHashMultimap);
     }
 
-    /*
-    public void testForwardingSetMultimap() {
+    public void testForwardingSetMultimap() throws IOException {
+        SetMultimap<String, String> map =
+                _verifyMultiMapRead(new TypeReference<ForwardingSetMultimap<String, String>>() {
+                });
+        assertTrue(map instanceof ForwardingSetMultimap);
     }
-    */
 
     private SetMultimap<String, String> _verifyMultiMapRead(TypeReference<?> type)
         throws IOException
@@ -268,10 +431,198 @@ public class TestMultimaps extends ModuleTestBase
         assertTrue(map instanceof LinkedListMultimap);
     }
 
+    public void testForwardingListMultimap() throws IOException {
+        ListMultimap<String, String> map =
+                listBasedHelper(new TypeReference<ForwardingListMultimap<String, String>>() {
+                });
+        assertTrue(map instanceof ForwardingListMultimap);
+    }
+
+    public void testMapBasedAfterRemovals() throws IOException {
+        _verifyAfterRemovals(ArrayListMultimap.<String, Integer>create());
+        _verifyAfterRemovals(HashMultimap.<String, Integer>create());
+        _verifyAfterRemovals(LinkedHashMultimap.<String, Integer>create());
+        _verifyAfterRemovals(TreeMultimap.<String, Integer>create());
+        _verifyAfterRemovals(LinkedListMultimap.<String, Integer>create());
+    }
+
+    private void _verifyAfterRemovals(Multimap<String, Integer> mmap) throws IOException {
+        mmap.put("a", 1);
+        mmap.put("b", 2);
+        mmap.put("a", 3);
+        mmap.get("c").add(4);
+        mmap.remove("b", 2);
+        mmap.get("c").clear();
+        assertEquals(aposToQuotes("{'a':[1,3]}"), MAPPER.writeValueAsString(mmap));
+    }
+
     public void testMultimapWithIgnores() throws IOException {
         assertEquals("{\"map\":{\"a\":[\"foo\"]}}",
                 MAPPER.writeValueAsString(new MultiMapWithIgnores()));
     }
+
+    public void testSortedKeys() throws IOException
+    {
+        SortedMultimapWrapper w = new SortedMultimapWrapper();
+        w.map.put("c", 1);
+        w.map.put("a", 2);
+        w.map.put("b", 3);
+        w.map.put("a", 4);
+        assertEquals(aposToQuotes("{'map':{'a':[2,4],'b':[3],'c':[1]}}"),
+                MAPPER.writeValueAsString(w));
+
+        // also via global feature
+        assertEquals(aposToQuotes("{'a':[2,4],'b':[3],'c':[1]}"),
+                MAPPER.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(w.map));
+        // and already sorted ones should stay as they are
+        TreeMultimap<String, Integer> tree = TreeMultimap.create();
+        tree.putAll(w.map);
+        assertEquals(aposToQuotes("{'a':[2,4],'b':[3],'c':[1]}"),
+                MAPPER.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(tree));
+    }
+
+    public void testSortedKeysWithNull() throws IOException
+    {
+        ObjectMapper mapper = mapperWithModule();
+        mapper.getSerializerProvider().setNullKeySerializer(new JsonSerializer<Object>() {
+            @Override
+            public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+                    throws IOException {
+                gen.writeFieldName("null");
+            }
+        });
+        Multimap<String, Integer> map = LinkedListMultimap.create();
+        map.put("b", 1);
+        map.put(null, 2);
+        map.put("a", 3);
+        // null key can not be sorted, so it is written first, using the null key serializer
+        assertEquals(aposToQuotes("{'null':[2],'a':[3],'b':[1]}"),
+                mapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(map));
+    }
+
+    public void testSortedKeysNotComparable() throws IOException
+    {
+        Multimap<Object, Integer> map = LinkedListMultimap.create();
+        map.put("a", 1);
+        map.put(2, 2);
+        try {
+            MAPPER.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(map);
+            fail("Expected failure for keys that are not mutually Comparable");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Can not order Multimap entries by key", "is not Comparable");
+        }
+    }
+
+    public void testArrayShape() throws IOException
+    {
+        ArrayShapeWrapper w = new ArrayShapeWrapper();
+        w.map.put(3, "a");
+        w.map.put(3, null);
+        w.map.put(1, "b");
+        String json = MAPPER.writeValueAsString(w);
+        assertEquals(aposToQuotes("{'map':[[3,['a',null]],[1,['b']]]}"), json);
+
+        ArrayShapeWrapper result = MAPPER.readValue(json, ArrayShapeWrapper.class);
+        assertEquals(w.map, result.map);
+
+        // Object shape is accepted for these properties as well
+        result = MAPPER.readValue(aposToQuotes("{'map':{'3':['a',null],'1':['b']}}"),
+                ArrayShapeWrapper.class);
+        assertEquals(w.map, result.map);
+    }
+
+    // keys written as values must be read using property annotations too
+    public void testArrayShapeContextualKeys() throws IOException
+    {
+        DateKeyWrapper result = MAPPER.readValue(aposToQuotes("{'map':[['01.05.2016',['a']]]}"),
+                DateKeyWrapper.class);
+        assertEquals(ImmutableList.of(new java.util.Date(1462060800000L)),
+                ImmutableList.copyOf(result.map.keySet()));
+        assertEquals(ImmutableList.of("a"), ImmutableList.copyOf(result.map.values()));
+    }
+
+    // but are only resolved when needed
+    public void testObjectShapeKeysNotValues() throws IOException
+    {
+        ObjectMapper mapper = mapperWithModule().registerModule(new SimpleModule()
+                .addDeserializer(StringKey.class, new FailingStringKeyDeserializer()));
+        StringKeyWrapper result = mapper.readValue(aposToQuotes("{'map':{'x':['a','b']}}"),
+                StringKeyWrapper.class);
+        assertEquals(ImmutableList.of("a", "b"), result.map.get(new StringKey("x")));
+    }
+
+    public void testArrayShapeDefault() throws IOException
+    {
+        ObjectMapper mapper = new ObjectMapper().registerModule(
+                new GuavaModule().defaultMultimapShape(JsonFormat.Shape.ARRAY));
+        ImmutableSetMultimap<Long, Long> input = ImmutableSetMultimap.of(5L, 1L, 5L, 2L, 4L, 3L);
+        String json = mapper.writeValueAsString(input);
+        assertEquals("[[5,[1,2]],[4,[3]]]", json);
+
+        ImmutableSetMultimap<Long, Long> immutable = mapper.readValue(json,
+                new TypeReference<ImmutableSetMultimap<Long, Long>>() { });
+        assertEquals(input, immutable);
+        TreeMultimap<Long, Long> tree = mapper.readValue(json,
+                new TypeReference<TreeMultimap<Long, Long>>() { });
+        assertEquals(input, tree);
+
+        // property annotation overrides module default
+        ObjectShapeWrapper w = new ObjectShapeWrapper();
+        w.map.put("a", 1);
+        assertEquals(aposToQuotes("{'map':{'a':[1]}}"), mapper.writeValueAsString(w));
+    }
+
+    public void testContentInclusion() throws IOException
+    {
+        NonNullContentWrapper nonNull = new NonNullContentWrapper();
+        nonNull.map.put("a", null);
+        nonNull.map.put("a", "");
+        nonNull.map.put("b", null);
+        nonNull.map.put("c", "x");
+        assertEquals(aposToQuotes("{'map':{'a':[''],'c':['x']}}"),
+                MAPPER.writeValueAsString(nonNull));
+
+        NonEmptyContentWrapper nonEmpty = new NonEmptyContentWrapper();
+        nonEmpty.map.putAll(nonNull.map);
+        nonEmpty.map.put("c", "");
+        assertEquals(aposToQuotes("{'map':{'c':['x']}}"),
+                MAPPER.writeValueAsString(nonEmpty));
+
+        NonAbsentContentWrapper nonAbsent = new NonAbsentContentWrapper();
+        nonAbsent.map.put("a", Optional.<String>absent());
+        nonAbsent.map.put("b", Optional.of("x"));
+        nonAbsent.map.put("b", Optional.<String>absent());
+        nonAbsent.map.put("c", null);
+        assertEquals(aposToQuotes("{'map':{'b':['x']}}"),
+                MAPPER.writeValueAsString(nonAbsent));
+
+        NonDefaultContentWrapper nonDefault = new NonDefaultContentWrapper();
+        nonDefault.map.put("a", 0);
+        nonDefault.map.put("b", 1);
+        nonDefault.map.put("b", 0);
+        nonDefault.map.put("c", null);
+        assertEquals(aposToQuotes("{'map':{'b':[1]}}"),
+                MAPPER.writeValueAsString(nonDefault));
+    }
+
+    public void testContentInclusionFiltered() throws IOException
+    {
+        FilteredContentWrapper w = new FilteredContentWrapper();
+        w.map.put("a", "");
+        w.map.put("b", "x");
+        w.map.put("b", null);
+        w.map.put("c", "y");
+        w.map.put("d", "z");
+        ObjectMapper mapper = mapperWithModule();
+        mapper.setFilterProvider(new SimpleFilterProvider().addFilter("keys",
+                SimpleBeanPropertyFilter.serializeAllExcept("c")));
+        assertEquals(aposToQuotes("{'map':{'b':['x'],'d':['z']}}"),
+                mapper.writeValueAsString(w));
+    }
     
     private ListMultimap<String, String> listBasedHelper(TypeReference<?> type) throws IOException {
         ListMultimap<String, String> map = MAPPER.readValue(STRING_STRING_MULTIMAP, type);
@@ -301,6 +652,30 @@ public class TestMultimaps extends ModuleTestBase
         assertEquals(Maps.immutableEntry("a", 8), iterator.next());
     }
     
+    public void testImmutableListMultimap() throws IOException
+    {
+        ImmutableListMultimap<String, String> map = MAPPER.readValue(STRING_STRING_MULTIMAP,
+                new TypeReference<ImmutableListMultimap<String, String>>() {});
+        assertEquals(4, map.size());
+        assertEquals(ImmutableList.of("abc", "abc", "foo"), map.get("first"));
+        assertEquals(ImmutableList.of("bar"), map.get("second"));
+
+        // and plain ImmutableMultimap should use same implementation
+        ImmutableMultimap<String, String> map2 = MAPPER.readValue(STRING_STRING_MULTIMAP,
+                new TypeReference<ImmutableMultimap<String, String>>() {});
+        assertTrue(map2 instanceof ImmutableListMultimap);
+        assertEquals(map, map2);
+    }
+
+    public void testImmutableMultimapNulls() throws IOException
+    {
+        // nulls are not allowed by immutable Multimaps; skipped, similar to ImmutableMaps
+        ImmutableSetMultimap<String, Integer> map = MAPPER.readValue(
+                "{\"a\":[1,null,2],\"b\":[null]}",
+                new TypeReference<ImmutableSetMultimap<String, Integer>>() {});
+        assertEquals(ImmutableSetMultimap.of("a", 1, "a", 2), map);
+    }
+
     public void testPolymorphicValue() throws IOException {
         ImmutableMultimapWrapper input = new ImmutableMultimapWrapper(ImmutableMultimap.of("add", new AddOp(3, 2), "mul", new MulOp(4, 6)));
 